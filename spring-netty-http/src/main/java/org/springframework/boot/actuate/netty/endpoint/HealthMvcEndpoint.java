@@ -6,6 +6,7 @@ import io.netty.handler.codec.http.FullHttpRequest;
 import org.springframework.boot.actuate.endpoint.HealthEndpoint;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.netty.http.HttpRequestHandler;
+import org.springframework.netty.http.NonBlockingHandler;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 
@@ -20,7 +21,7 @@ import java.security.Principal;
  */
 //@Controller
 //@RequestMapping(value = "/health", produces = MediaType.APPLICATION_JSON_VALUE)
-public class HealthMvcEndpoint implements HttpRequestHandler<Object> {
+public class HealthMvcEndpoint implements HttpRequestHandler<Object>, NonBlockingHandler {
 
     @Resource
     private HealthEndpoint healthEndpoint;
@@ -42,6 +43,19 @@ public class HealthMvcEndpoint implements HttpRequestHandler<Object> {
         return (R) health;
     }
 
+    /**
+     * Static and cached health are answered on the I/O thread, health indicators may block.
+     */
+    @Override
+    public boolean isNonBlocking(FullHttpRequest request) {
+        if (!springHealth) {
+            return true;
+        }
+        long timeToLive = healthEndpoint.getTimeToLive();
+        CachedHealth cached = this.cachedHealth;
+        return (timeToLive > 1000 && cached != null && !cached.isStale(System.currentTimeMillis(), timeToLive));
+    }
+
     private Health getHealth(FullHttpRequest request, Principal principal) {
         if (springHealth) {
             Health currentHealth = getCurrentHealth();
@@ -9,9 +9,9 @@ import org.springframework.boot.logging.LogLevel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.netty.http.HandlerMapping;
 import org.springframework.netty.http.HttpRestHandler;
 import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.RequestContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
@@ -35,8 +35,9 @@ public class LoggersMvcEndpoint extends HttpRestHandler<Map<String, String>> {
     @Resource
     private LoggersEndpoint loggersEndpoint;
 
+    @GetMapping("/{name:.*}")
     @ResponseBody
-    public Object get(@PathVariable String name) {
+    public Object get(@PathVariable("name") String name) {
         if (!this.loggersEndpoint.isEnabled()) {
             // Shouldn't happen - MVC endpoint shouldn't be registered when delegate's
             // disabled
@@ -46,8 +47,9 @@ public class LoggersMvcEndpoint extends HttpRestHandler<Map<String, String>> {
         return (levels != null) ? levels : ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/{name:.*}")
     @ResponseBody
-    public Object set(@PathVariable String name, @RequestBody Map<String, String> configuration) {
+    public Object set(@PathVariable("name") String name, @RequestBody Map<String, String> configuration) {
         if (!this.loggersEndpoint.isEnabled()) {
             // Shouldn't happen - MVC endpoint shouldn't be registered when delegate's
             // disabled
@@ -83,7 +85,7 @@ public class LoggersMvcEndpoint extends HttpRestHandler<Map<String, String>> {
     @Override
     public <R> R post(ChannelHandlerContext ctx, FullHttpRequest request, Map<String, String> configuration)
             throws IOException {
-        QueryDecoder queryDecoder = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
+        QueryDecoder queryDecoder = RequestContextHolder.getRequestQuery(ctx);
         String level = queryDecoder.getParameter("level");
         String[] nameLevel = StringUtils.delimitedListToStringArray(level, "=");
         String name = nameLevel[0].replaceAll(LOGGER_TAG, "");
@@ -94,7 +96,7 @@ public class LoggersMvcEndpoint extends HttpRestHandler<Map<String, String>> {
 
     @Override
     public <R> R get(ChannelHandlerContext ctx, FullHttpRequest request) throws IOException {
-        QueryDecoder queryDecoder = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
+        QueryDecoder queryDecoder = RequestContextHolder.getRequestQuery(ctx);
         String name = queryDecoder.getParameter("name");
         if (StringUtils.hasLength(name)) {
             return (R) get(name.replaceAll(LOGGER_TAG, ""));
@@ -0,0 +1,199 @@
+package org.springframework.netty.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the dispatches in flight on the worker executor to a limit that follows the measured
+ * dispatch latency, in the style of the gradient algorithm of Netflix concurrency-limits.
+ * <p>Latency samples are averaged over a window. At the end of each window the average
+ * ({@code rtt}) is compared with a slowly moving baseline ({@code noLoadRtt}): while they are
+ * close the limit grows by about {@code sqrt(limit)}, once queueing makes the latency rise the
+ * limit shrinks in proportion. The baseline is an average over {@link #setLongWindow(int) longWindow}
+ * windows, so a permanent latency change is eventually accepted as the new normal.
+ * <p>The limiter is used from the I/O thread ({@link #tryAcquire()}) and the worker threads
+ * ({@link #release(long, boolean)}), the limit itself is only updated by the thread closing a window.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private int minLimit = 8;
+
+    private int maxLimit = 1000;
+
+    /**
+     * Accepted ratio between the baseline and the current latency before the limit shrinks
+     */
+    private double rttTolerance = 1.5;
+
+    private double smoothing = 0.2;
+
+    private long minWindowTime = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private int minWindowSamples = 10;
+
+    /**
+     * Number of windows the no-load baseline averages over
+     */
+    private int longWindow = 60;
+
+    private volatile double limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private final LongAdder windowRttSum = new LongAdder();
+
+    private final AtomicInteger windowSamples = new AtomicInteger();
+
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private volatile long rtt;
+
+    private volatile double noLoadRtt;
+
+    public AdaptiveConcurrencyLimiter() {
+        this(20);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit) {
+        this.limit = initialLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public void setMinWindowTime(long minWindowTime, TimeUnit unit) {
+        this.minWindowTime = unit.toNanos(minWindowTime);
+    }
+
+    public void setMinWindowSamples(int minWindowSamples) {
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    /**
+     * Acquire a slot for a dispatch, counts it as rejected if the limit is reached.
+     * An acquired slot must be released with {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                int max = windowMaxInFlight.get();
+                while (current + 1 > max && !windowMaxInFlight.compareAndSet(max, current + 1)) {
+                    max = windowMaxInFlight.get();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot.
+     *
+     * @param rttNanos the dispatch latency including the wait for a worker
+     * @param sample   whether the latency is a valid sample, {@code false} e.g. if the
+     *                 dispatch never ran
+     */
+    public void release(long rttNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample) {
+            return;
+        }
+        windowRttSum.add(rttNanos);
+        int samples = windowSamples.incrementAndGet();
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (samples >= minWindowSamples && now - start >= minWindowTime && windowStart.compareAndSet(start, now)) {
+            // samples recorded concurrently may land in either window
+            int count = windowSamples.getAndSet(0);
+            long sum = windowRttSum.sumThenReset();
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            if (count > 0) {
+                update(sum / count, maxInFlight);
+            }
+        }
+    }
+
+    private void update(long rtt, int maxInFlight) {
+        rtt = Math.max(rtt, 1);
+        this.rtt = rtt;
+        double noLoadRtt = this.noLoadRtt;
+        if (noLoadRtt == 0) {
+            noLoadRtt = rtt;
+        } else {
+            noLoadRtt += (rtt - noLoadRtt) / longWindow;
+            if (noLoadRtt / rtt > 2) {
+                // latency dropped far below the baseline, follow it faster
+                noLoadRtt *= 0.95;
+            }
+        }
+        this.noLoadRtt = noLoadRtt;
+
+        double limit = this.limit;
+        if (maxInFlight < limit / 2) {
+            // not using the limit, so the samples do not tell whether it can grow
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * noLoadRtt / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Average dispatch latency of the last window in milliseconds.
+     */
+    public double getRtt() {
+        return rtt / 1000000.0;
+    }
+
+    /**
+     * The no-load latency baseline in milliseconds.
+     */
+    public double getNoLoadRtt() {
+        return noLoadRtt / 1000000.0;
+    }
+}
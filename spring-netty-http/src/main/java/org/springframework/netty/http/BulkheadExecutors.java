@@ -0,0 +1,101 @@
+package org.springframework.netty.http;
+
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Dedicated worker executors for selected routes or handler types, so one slow endpoint can only
+ * exhaust its own threads and queue. Requests of other routes keep using the shared worker executor
+ * of the {@link DispatcherHandler}.
+ * <p>The assignments are made at startup and read without locking afterwards.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see org.springframework.netty.http.config.annotation.ExecutorRegistry
+ */
+public class BulkheadExecutors {
+
+    private final Map<String, ExecutorService> executors = new LinkedHashMap<String, ExecutorService>();
+
+    /**
+     * route pattern -> executor
+     */
+    private final Map<String, ExecutorService> routeExecutors = new HashMap<String, ExecutorService>();
+
+    private final Map<Class<?>, ExecutorService> handlerTypeExecutors = new HashMap<Class<?>, ExecutorService>();
+
+    /**
+     * Add an executor.
+     *
+     * @param name         the bulkhead name, unique
+     * @param executor     the executor
+     * @param routes       the handler mapping patterns served by the executor, e.g. {@code /report/{id}}
+     * @param handlerTypes the handler types served by the executor, for {@code @RequestMapping}
+     *                     methods the type of their bean
+     */
+    public void addExecutor(String name, ExecutorService executor, Collection<String> routes,
+                            Collection<Class<?>> handlerTypes) {
+        Assert.hasText(name, "Bulkhead name must not be empty");
+        Assert.notNull(executor, "Executor must not be null");
+        Assert.isTrue(!executors.containsKey(name), "Duplicate bulkhead name '" + name + "'");
+        executors.put(name, executor);
+        for (String route : routes) {
+            ExecutorService existing = routeExecutors.put(route, executor);
+            Assert.isNull(existing, "Route '" + route + "' is assigned to more than one bulkhead");
+        }
+        for (Class<?> handlerType : handlerTypes) {
+            ExecutorService existing = handlerTypeExecutors.put(handlerType, executor);
+            Assert.isNull(existing, "Handler type [" + handlerType.getName() + "] is assigned to more than one bulkhead");
+        }
+    }
+
+    /**
+     * Return the executor for a request, the route takes precedence over the handler type.
+     *
+     * @param mappedHandler       the resolved handler, may be {@code null}
+     * @param bestMatchingPattern the matched route, may be {@code null}
+     * @return the executor or {@code null} to use the shared worker executor
+     */
+    public ExecutorService getExecutor(HandlerExecutionChain mappedHandler, String bestMatchingPattern) {
+        if (executors.isEmpty()) {
+            return null;
+        }
+        ExecutorService executor = null;
+        if (bestMatchingPattern != null) {
+            executor = routeExecutors.get(bestMatchingPattern);
+        }
+        if (executor == null && mappedHandler != null && mappedHandler.getHandler() != null) {
+            Object handler = mappedHandler.getHandler();
+            Class<?> handlerType = (handler instanceof HandlerMethod ? ((HandlerMethod) handler).getBeanType() :
+                    ClassUtils.getUserClass(handler));
+            executor = handlerTypeExecutors.get(handlerType);
+        }
+        return executor;
+    }
+
+    public boolean isEmpty() {
+        return executors.isEmpty();
+    }
+
+    /**
+     * @return the executors by bulkhead name
+     */
+    public Map<String, ExecutorService> getExecutors() {
+        return Collections.unmodifiableMap(executors);
+    }
+
+    public void shutdown() {
+        for (ExecutorService executor : executors.values()) {
+            executor.shutdown();
+        }
+    }
+}
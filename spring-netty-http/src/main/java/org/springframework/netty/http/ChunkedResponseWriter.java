@@ -0,0 +1,240 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import org.springframework.netty.http.context.HttpExchange;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OutputStream} of a chunked response, used from a worker thread.
+ * <p>Data is collected in a pooled buffer and written as one {@link DefaultHttpContent} frame per
+ * {@link #ChunkedResponseWriter(ChannelHandlerContext, HttpExchange, boolean, int) chunkSize} bytes.
+ * Before each frame the writer waits until the channel is writable, so at most the channel's
+ * write buffer high water mark plus one chunk is held in memory, whatever the size of the body.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChunkedResponseWriter extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    private static final int NEW = 0;
+
+    private static final int STARTED = 1;
+
+    private static final int ABORTED = 2;
+
+    private final ChannelHandlerContext ctx;
+
+    private final HttpExchange exchange;
+
+    private final boolean keepAlive;
+
+    private final int chunkSize;
+
+    private final Object lock = new Object();
+
+    private int state = NEW;
+
+    private long writeTimeout = TimeUnit.SECONDS.toNanos(60);
+
+    private ByteBuf buffer;
+
+    private boolean closed;
+
+    public ChunkedResponseWriter(ChannelHandlerContext ctx, HttpExchange exchange, boolean keepAlive) {
+        this(ctx, exchange, keepAlive, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedResponseWriter(ChannelHandlerContext ctx, HttpExchange exchange, boolean keepAlive, int chunkSize) {
+        this.ctx = ctx;
+        this.exchange = exchange;
+        this.keepAlive = keepAlive;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Set how long a write may wait for the channel to become writable, default is 60 seconds.
+     */
+    public void setWriteTimeout(long writeTimeout, TimeUnit unit) {
+        this.writeTimeout = unit.toNanos(writeTimeout);
+    }
+
+    /**
+     * Queue the response head and wait until all responses before it were written, at most the
+     * {@link #setWriteTimeout(long, TimeUnit) write timeout}, else the response is aborted.
+     */
+    public void start(HttpResponse head) throws IOException {
+        OrderedResponseQueue.get(ctx).writeStream(exchange, head, this);
+        long deadline = System.nanoTime() + writeTimeout;
+        synchronized (lock) {
+            while (state == NEW) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    abort();
+                    throw new IOException("Timed out waiting for earlier responses");
+                }
+                try {
+                    lock.wait(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    abort();
+                    throw new InterruptedIOException("Interrupted waiting for earlier responses");
+                }
+            }
+            if (state == ABORTED) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureBuffer().writeByte(b);
+        if (!buffer.isWritable()) {
+            writeChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuf buffer = ensureBuffer();
+            int n = Math.min(len, buffer.writableBytes());
+            buffer.writeBytes(b, off, n);
+            off += n;
+            len -= n;
+            if (!buffer.isWritable()) {
+                writeChunk();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer != null && buffer.isReadable()) {
+            writeChunk();
+        }
+    }
+
+    /**
+     * Write the rest of the body and end the response.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            releaseBuffer();
+        }
+        OrderedResponseQueue.get(ctx).endStream(exchange, true, !keepAlive);
+    }
+
+    /**
+     * End a response that could not be completed, closing the connection since the client cannot
+     * tell a truncated chunked body from a complete one otherwise.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseBuffer();
+        OrderedResponseQueue.get(ctx).endStream(exchange, false, true);
+    }
+
+    private ByteBuf ensureBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("Response already closed");
+        }
+        if (buffer == null) {
+            buffer = ctx.alloc().buffer(chunkSize, chunkSize);
+        }
+        return buffer;
+    }
+
+    private void writeChunk() throws IOException {
+        awaitWritable();
+        ByteBuf chunk = buffer;
+        buffer = null;
+        ctx.writeAndFlush(new DefaultHttpContent(chunk));
+    }
+
+    private void awaitWritable() throws IOException {
+        Channel channel = ctx.channel();
+        long deadline = System.nanoTime() + writeTimeout;
+        synchronized (lock) {
+            while (!channel.isWritable() && state == STARTED) {
+                if (!channel.isActive()) {
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IOException("Timed out waiting for the client to read the response");
+                }
+                try {
+                    // woken up by writabilityChanged, the timeout also covers a missed event
+                    lock.wait(Math.min(TimeUnit.NANOSECONDS.toMillis(remaining) + 1, 100));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the channel to become writable");
+                }
+            }
+            if (state == ABORTED || !channel.isActive()) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    /**
+     * The response head was written, called on the event loop.
+     */
+    void started() {
+        synchronized (lock) {
+            if (state == NEW) {
+                state = STARTED;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * The connection is closing, called on the event loop.
+     */
+    void aborted() {
+        synchronized (lock) {
+            state = ABORTED;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Called on the event loop.
+     */
+    void writabilityChanged() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes a connection gracefully, after the response of the request in flight, when it
+ * <ul>
+ * <li>was idle, signalled by an {@link io.netty.handler.timeout.IdleStateHandler} in front of it,</li>
+ * <li>served {@code maxRequests} requests, the last response is sent with {@code Connection: close},</li>
+ * <li>reached {@code maxAge}, spread by a random jitter so connections opened together do not
+ * reconnect together.</li>
+ * </ul>
+ * Sits behind the HTTP codec and counts the requests and responses passing it; on an HTTP/2
+ * connection no HTTP/1.1 objects pass, so the close is left to the codec, which sends a GOAWAY.
+ * <p>One instance per channel.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ConnectionLifecycleHandler extends ChannelDuplexHandler {
+
+    private final NioEndpoint nioEndpoint;
+
+    private final int maxRequests;
+
+    private final long maxAge;
+
+    private final double maxAgeJitter;
+
+    private ScheduledFuture<?> maxAgeFuture;
+
+    /**
+     * Requests read, responses started and responses completed
+     */
+    private long requests;
+
+    private long responses;
+
+    private long completed;
+
+    /**
+     * Close after the response with this number, {@code Long.MAX_VALUE} while the connection stays open
+     */
+    private long closeAfter = Long.MAX_VALUE;
+
+    private NioEndpoint.CloseReason closeReason;
+
+    /**
+     * Drop requests after the last one answered
+     */
+    private boolean discarding;
+
+    private ChannelFuture lastWriteFuture;
+
+    /**
+     * @param nioEndpoint  the endpoint counting the closes, may be {@code null}
+     * @param maxRequests  the maximum number of requests per connection, {@code <= 0} for no limit
+     * @param maxAge       the maximum connection age in milliseconds, {@code <= 0} for no limit
+     * @param maxAgeJitter the part of {@code maxAge} the age may randomly deviate by, e.g. {@code 0.1}
+     */
+    public ConnectionLifecycleHandler(NioEndpoint nioEndpoint, int maxRequests, long maxAge, double maxAgeJitter) {
+        this.nioEndpoint = nioEndpoint;
+        this.maxRequests = maxRequests;
+        this.maxAge = maxAge;
+        this.maxAgeJitter = maxAgeJitter;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isActive()) {
+            scheduleMaxAge(ctx);
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        scheduleMaxAge(ctx);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        cancelMaxAge();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        cancelMaxAge();
+    }
+
+    private void scheduleMaxAge(final ChannelHandlerContext ctx) {
+        if (maxAge <= 0 || maxAgeFuture != null) {
+            return;
+        }
+        long jitter = (long) (maxAge * maxAgeJitter);
+        long delay = maxAge + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        maxAgeFuture = ctx.executor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                closeAfterResponse(ctx, NioEndpoint.CloseReason.MAX_AGE);
+            }
+        }, Math.max(delay, 1), TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelMaxAge() {
+        if (maxAgeFuture != null) {
+            maxAgeFuture.cancel(false);
+            maxAgeFuture = null;
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            if (requests >= closeAfter) {
+                // pipelined after the last answered request, the client has to send it again
+                discarding = true;
+            } else {
+                discarding = false;
+                requests++;
+                if (maxRequests > 0 && requests >= maxRequests) {
+                    closeAfterResponse(ctx, NioEndpoint.CloseReason.MAX_REQUESTS);
+                }
+            }
+        }
+        if (discarding && (msg instanceof HttpRequest || msg instanceof HttpContent)) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        boolean last = false;
+        if (msg instanceof HttpResponse && !isInformational((HttpResponse) msg)) {
+            responses++;
+            if (responses >= closeAfter) {
+                ((HttpResponse) msg).headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+            }
+            last = msg instanceof LastHttpContent;
+        } else if (msg instanceof LastHttpContent) {
+            last = true;
+        }
+        if (last) {
+            completed++;
+            if (completed >= closeAfter) {
+                promise = promise.unvoid();
+                promise.addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+        lastWriteFuture = promise;
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            // a request in flight means the server is busy, not that the client went away
+            if (requests == completed) {
+                closeAfterResponse(ctx, NioEndpoint.CloseReason.IDLE);
+            }
+        } else if (evt instanceof HttpServerUpgradeHandler.UpgradeEvent) {
+            // h2c: the rest of the connection is HTTP/2
+            requests = responses = completed = 0;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    /**
+     * Close the connection once the response of the last request read was written, or right away
+     * if no request is in flight.
+     */
+    private void closeAfterResponse(ChannelHandlerContext ctx, NioEndpoint.CloseReason reason) {
+        if (closeReason != null || !ctx.channel().isActive()) {
+            return;
+        }
+        closeReason = reason;
+        if (nioEndpoint != null) {
+            nioEndpoint.connectionClosing(reason);
+        }
+        cancelMaxAge();
+        closeAfter = requests;
+        if (requests == completed) {
+            if (lastWriteFuture != null && !lastWriteFuture.isDone()) {
+                lastWriteFuture.addListener(ChannelFutureListener.CLOSE);
+            } else {
+                ctx.close();
+            }
+        }
+    }
+
+    private static boolean isInformational(HttpResponse response) {
+        return response.status().code() < 200;
+    }
+}
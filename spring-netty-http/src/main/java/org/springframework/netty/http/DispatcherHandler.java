@@ -1,7 +1,6 @@
 package org.springframework.netty.http;
 
 import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -19,17 +18,29 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
 import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.netty.http.handler.StreamingHandlerMapping;
 import org.springframework.netty.http.util.CountSampling;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.NestedServletException;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
@@ -137,8 +148,38 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
 
     private CountSampling countSampling;
 
+    private LoadShedder loadShedder = new LoadShedder();
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private BulkheadExecutors bulkheadExecutors;
+
+    private StreamingHandlerMapping streamingHandlerMapping;
+
+    private ResponseCompressor responseCompressor;
+
     private String[] directBackUrls = {"/favicon.ico"};
 
+    /**
+     * Resolve handlers on the I/O thread and invoke non-blocking ones there
+     */
+    private boolean inlineDispatch = true;
+
+    private long eventLoopBlockingThreshold = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Whether a handler type, or a {@link HandlerMethod}, can be invoked on the I/O thread,
+     * {@code false} once it blocked the event loop
+     */
+    private final ConcurrentMap<Object, Boolean> nonBlockingHandlers = new ConcurrentHashMap<Object, Boolean>();
+
+    private final LongAdder eventLoopBlockedCount = new LongAdder();
+
+    /**
+     * Requests handed to a worker executor and not dispatched yet
+     */
+    private final AtomicInteger activeDispatches = new AtomicInteger();
+
 
     public DispatcherHandler(ExecutorService executorService) {
         this.executorService = executorService;
@@ -151,7 +192,19 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
             @SuppressWarnings("unchecked")
             FullHttpRequest imsg = (FullHttpRequest) msg;
             // channelRead0(ctx, imsg);
-            asyncDispatch(ctx, imsg);
+            HttpExchange exchange = OrderedResponseQueue.get(ctx).newExchange(imsg);
+            if (isDirectBackUrl(imsg)) {
+                directBack(ctx, exchange);
+                return;
+            }
+            // the bulkhead is selected by the resolved handler and route, so resolve even without inline dispatch
+            boolean resolved = ((inlineDispatch || hasBulkheads()) && resolveHandler(ctx, exchange));
+            if (resolved && inlineDispatch &&
+                    isNonBlocking(exchange.getMappedHandler().getHandler(), exchange.getRequest())) {
+                inlineDispatch(ctx, exchange);
+            } else {
+                asyncDispatch(ctx, exchange);
+            }
         } else {
             ctx.fireChannelRead(msg);
         }
@@ -159,11 +212,11 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
-        doDispatch(ctx, request);
+        invokeDoDispatch(ctx, OrderedResponseQueue.get(ctx).newExchange(request));
     }
 
     protected void messageReceived(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
-        doDispatch(ctx, request);
+        invokeDoDispatch(ctx, OrderedResponseQueue.get(ctx).newExchange(request));
     }
 
     @Override
@@ -171,6 +224,18 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
         ctx.flush();
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        OrderedResponseQueue.get(ctx).discard();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        OrderedResponseQueue.get(ctx).writabilityChanged();
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         invokeHandlerException(ctx,cause);
@@ -216,6 +281,114 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
         this.countSampling = countSampling;
     }
 
+    /**
+     * Set the admission control in front of the worker executor.
+     */
+    public void setLoadShedder(LoadShedder loadShedder) {
+        Assert.notNull(loadShedder, "LoadShedder must not be null");
+        this.loadShedder = loadShedder;
+    }
+
+    public LoadShedder getLoadShedder() {
+        return loadShedder;
+    }
+
+    /**
+     * Set an adaptive limit for the dispatches in flight on the worker executor, requests over
+     * the limit are answered like shed requests. Default is none.
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Set the executors of routes isolated from the shared worker executor. Their requests bypass
+     * the load shedder and the concurrency limiter, the bulkhead bounds them itself.
+     */
+    public void setBulkheadExecutors(BulkheadExecutors bulkheadExecutors) {
+        this.bulkheadExecutors = bulkheadExecutors;
+    }
+
+    /**
+     * Set the mapping of handlers receiving request bodies as they arrive instead of aggregated.
+     * @see StreamingRequestDecoder
+     */
+    public void setStreamingHandlerMapping(StreamingHandlerMapping streamingHandlerMapping) {
+        this.streamingHandlerMapping = streamingHandlerMapping;
+    }
+
+    public StreamingHandlerMapping getStreamingHandlerMapping() {
+        return streamingHandlerMapping;
+    }
+
+    /**
+     * Set the compressor of full responses, {@code null} (the default) to send them uncompressed.
+     */
+    public void setResponseCompressor(ResponseCompressor responseCompressor) {
+        this.responseCompressor = responseCompressor;
+    }
+
+    public ResponseCompressor getResponseCompressor() {
+        return responseCompressor;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Set the request paths answered with an empty {@code 404} directly on the I/O thread,
+     * by default {@code /favicon.ico}.
+     */
+    public void setDirectBackUrls(String... directBackUrls) {
+        this.directBackUrls = (directBackUrls != null ? directBackUrls : new String[0]);
+    }
+
+    /**
+     * Set whether to resolve the handler of a request on the I/O thread and invoke handlers
+     * marked with {@link NonBlocking} or implementing {@link NonBlockingHandler} right there,
+     * without the hop to the worker executor.
+     * <p>Default is "true". With {@link #setBulkheadExecutors bulkheads} the handler is resolved
+     * on the I/O thread either way, to select the executor.
+     */
+    public void setInlineDispatch(boolean inlineDispatch) {
+        this.inlineDispatch = inlineDispatch;
+    }
+
+    /**
+     * Set the time an inline dispatch may take on the I/O thread. A handler exceeding it is
+     * reported and dispatched to the worker executor from then on.
+     * <p>Default is 10 milliseconds; {@code 0} turns the check off.
+     */
+    public void setEventLoopBlockingThreshold(long eventLoopBlockingThreshold, TimeUnit unit) {
+        this.eventLoopBlockingThreshold = unit.toNanos(eventLoopBlockingThreshold);
+    }
+
+    /**
+     * @see #setEventLoopBlockingThreshold(long, TimeUnit)
+     */
+    public void setEventLoopBlockingThreshold(long eventLoopBlockingThresholdMillis) {
+        setEventLoopBlockingThreshold(eventLoopBlockingThresholdMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Number of inline dispatches that exceeded the event loop blocking threshold.
+     */
+    public long getEventLoopBlockedCount() {
+        return eventLoopBlockedCount.sum();
+    }
+
+    /**
+     * Number of requests handed to a worker executor whose dispatch has not finished.
+     */
+    public int getActiveDispatchCount() {
+        return activeDispatches.get();
+    }
+
     protected void initStrategies(ApplicationContext context) {
         initHandlerMappings(context);
         initHandlerAdapters(context);
@@ -388,29 +561,273 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
     }
 
 
-    protected void asyncDispatch(ChannelHandlerContext ctx, FullHttpRequest request) {
-        executorService.submit(new Runnable() {
+    protected void asyncDispatch(ChannelHandlerContext ctx, HttpExchange exchange) {
+        if (hasBulkheads()) {
+            QueryDecoder query = exchange.getQuery();
+            ExecutorService bulkhead = bulkheadExecutors.getExecutor(exchange.getMappedHandler(),
+                    (query != null ? query.getBestMatchingPattern() : null));
+            if (bulkhead != null) {
+                activeDispatches.incrementAndGet();
+                try {
+                    bulkhead.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                invokeDoDispatch(ctx, exchange);
+                            } finally {
+                                activeDispatches.decrementAndGet();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    activeDispatches.decrementAndGet();
+                    shed(ctx, exchange);
+                }
+                return;
+            }
+        }
+        boolean admitted = executeAdmitted(new Runnable() {
             @Override
             public void run() {
-                invokeDoDispatch(ctx, request);
+                invokeDoDispatch(ctx, exchange);
             }
         });
+        if (!admitted) {
+            shed(ctx, exchange);
+        }
+    }
+
+    /**
+     * Run a task on the worker executor, admitted through the concurrency limiter and the load shedder.
+     *
+     * @return whether the task was admitted, else the caller answers the request
+     */
+    private boolean executeAdmitted(final Runnable task) {
+        if (!tryAdmit()) {
+            return false;
+        }
+        final long submitTime = System.nanoTime();
+        try {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    admittedStarted(submitTime);
+                    try {
+                        task.run();
+                    } finally {
+                        releaseAdmitted(System.nanoTime() - submitTime, true);
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException ex) {
+            admittedRejected();
+            return false;
+        }
+    }
+
+    /**
+     * Admit a request to the worker executor through the concurrency limiter and the load shedder,
+     * and count it as an active dispatch. An admitted request is followed by
+     * {@link #admittedStarted(long)} or {@link #admittedRejected()}, then released with
+     * {@link #releaseAdmitted(long, boolean)}.
+     * <p>Also used by the {@link StreamingRequestDecoder}, whose requests run in several tasks.
+     */
+    boolean tryAdmit() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = this.concurrencyLimiter;
+        if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+            return false;
+        }
+        if (!loadShedder.tryAcquire()) {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release(0, false);
+            }
+            return false;
+        }
+        activeDispatches.incrementAndGet();
+        return true;
     }
-    private  void invokeDoDispatch(ChannelHandlerContext ctx, FullHttpRequest request){
+
+    /**
+     * A worker started an admitted request.
+     *
+     * @param submitTime {@link System#nanoTime()} when the request was submitted
+     */
+    void admittedStarted(long submitTime) {
+        loadShedder.dequeued(submitTime);
+    }
+
+    /**
+     * The worker executor rejected an admitted request, it is released as well.
+     */
+    void admittedRejected() {
+        loadShedder.rejected();
+        releaseAdmitted(0, false);
+    }
+
+    /**
+     * An admitted request was answered.
+     *
+     * @param rttNanos time from submission to completion
+     * @param sample   whether the time is a latency sample for the concurrency limiter
+     */
+    void releaseAdmitted(long rttNanos, boolean sample) {
+        activeDispatches.decrementAndGet();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = this.concurrencyLimiter;
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.release(rttNanos, sample);
+        }
+    }
+
+    /**
+     * Answer a request the worker executor cannot take with a {@code 503} from the I/O thread.
+     */
+    private void shed(ChannelHandlerContext ctx, HttpExchange exchange) {
+        FullHttpRequest request = exchange.getRequest();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Shedding {} {}, queue depth={}", request.method().name(), request.uri(),
+                    loadShedder.getQueueDepth());
+        }
+        ReferenceCountUtil.release(request);
+        writeShedResponse(ctx, exchange);
+    }
+
+    /**
+     * Answer with a {@code 503}, the request is released by the caller.
+     */
+    private void writeShedResponse(ChannelHandlerContext ctx, HttpExchange exchange) {
+        OrderedResponseQueue.get(ctx).write(exchange, loadShedder.newResponse(exchange.isKeepAlive()),
+                !exchange.isKeepAlive());
+    }
+
+    private boolean hasBulkheads() {
+        return (bulkheadExecutors != null && !bulkheadExecutors.isEmpty());
+    }
+
+    /**
+     * Resolve the handler on the I/O thread.
+     *
+     * @return whether a handler was found
+     */
+    private boolean resolveHandler(ChannelHandlerContext ctx, HttpExchange exchange) {
+        HandlerExecutionChain mappedHandler;
+        RequestContextHolder.setExchange(exchange);
         try {
-            doDispatch(ctx, request);
+            mappedHandler = getHandler(ctx, exchange.getRequest());
+        } catch (Exception ex) {
+            // resolved again and reported by the dispatch
+            return false;
+        } finally {
+            RequestContextHolder.resetExchange();
+        }
+        if (mappedHandler == null || mappedHandler.getHandler() == null) {
+            return false;
+        }
+        exchange.setMappedHandler(mappedHandler);
+        return true;
+    }
+
+    /**
+     * Whether the given handler can handle the request on the I/O thread.
+     */
+    protected boolean isNonBlocking(Object handler, FullHttpRequest request) {
+        Object key = nonBlockingKey(handler);
+        // a handler method is marked on itself or its bean
+        Object bean = (handler instanceof HandlerMethod ? ((HandlerMethod) handler).getBean() : handler);
+        Boolean nonBlocking = nonBlockingHandlers.get(key);
+        if (nonBlocking == null) {
+            nonBlocking = (bean instanceof NonBlockingHandler ||
+                    AnnotationUtils.findAnnotation(bean.getClass(), NonBlocking.class) != null ||
+                    (handler instanceof HandlerMethod &&
+                            AnnotationUtils.findAnnotation(((HandlerMethod) handler).getMethod(), NonBlocking.class) != null));
+            nonBlockingHandlers.putIfAbsent(key, nonBlocking);
+        }
+        if (!nonBlocking) {
+            return false;
+        }
+        return !(bean instanceof NonBlockingHandler) || ((NonBlockingHandler) bean).isNonBlocking(request);
+    }
+
+    /**
+     * Handlers are told apart by type, handler methods one by one: a blocking method does not
+     * demote the other methods of its bean.
+     */
+    private static Object nonBlockingKey(Object handler) {
+        return (handler instanceof HandlerMethod ? handler : handler.getClass());
+    }
+
+    private void inlineDispatch(ChannelHandlerContext ctx, HttpExchange exchange) {
+        Object handler = exchange.getMappedHandler().getHandler();
+        long startTime = System.nanoTime();
+        invokeDoDispatch(ctx, exchange);
+        long elapsed = System.nanoTime() - startTime;
+        if (eventLoopBlockingThreshold > 0 && elapsed > eventLoopBlockingThreshold) {
+            eventLoopBlockedCount.increment();
+            Boolean previous = nonBlockingHandlers.put(nonBlockingKey(handler), Boolean.FALSE);
+            if (!Boolean.FALSE.equals(previous)) {
+                logger.warn("Handler [{}] blocked the event loop for {}ms handling {}, " +
+                                "dispatching it to the worker executor from now on", handler,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), exchange.getRequest().uri());
+            }
+        }
+    }
+
+    private boolean isDirectBackUrl(FullHttpRequest request) {
+        if (directBackUrls.length == 0) {
+            return false;
+        }
+        String uri = request.uri();
+        int queryIndex = uri.indexOf('?');
+        String path = (queryIndex != -1 ? uri.substring(0, queryIndex) : uri);
+        for (String directBackUrl : directBackUrls) {
+            if (directBackUrl.equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void directBack(ChannelHandlerContext ctx, HttpExchange exchange) {
+        ReferenceCountUtil.release(exchange.getRequest());
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, NOT_FOUND, Unpooled.EMPTY_BUFFER);
+        response.headers().set(CONTENT_LENGTH, 0);
+        if (exchange.isKeepAlive()) {
+            response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+        OrderedResponseQueue.get(ctx).write(exchange, response, !exchange.isKeepAlive());
+    }
+
+    private  void invokeDoDispatch(ChannelHandlerContext ctx, HttpExchange exchange){
+        RequestContextHolder.setExchange(exchange);
+        try {
+            doDispatch(ctx, exchange);
         } catch (Exception e) {
             invokeExceptionCaught(ctx,e);
+        } finally {
+            if (!exchange.isResponseWritten()) {
+                // e.g. an exception no resolver handled, answer in place so that later pipelined
+                // responses are not taken for the response of this request
+                writeServerError(ctx, exchange);
+            }
+            RequestContextHolder.resetExchange();
         }
     }
 
-    protected void doDispatch(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+    private void writeServerError(ChannelHandlerContext ctx, HttpExchange exchange) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, INTERNAL_SERVER_ERROR, Unpooled.EMPTY_BUFFER);
+        response.headers().set(CONTENT_LENGTH, 0);
+        response.headers().set(CONNECTION, HttpHeaderValues.CLOSE);
+        OrderedResponseQueue.get(ctx).write(exchange, response, true);
+    }
+
+    protected void doDispatch(ChannelHandlerContext ctx, HttpExchange exchange) throws Exception {
+        FullHttpRequest request = exchange.getRequest();
         long count = countSampling.getCount();
         boolean sampling = countSampling.next();
-        ctx.channel().attr(HandlerMapping.REQUEST_DISPATCH_COUNT_SAMPLING).set(sampling);
+        exchange.setCountSampling(sampling);
         if (logger.isDebugEnabled() && sampling) {
             long startTime = System.currentTimeMillis();
-            ctx.channel().attr(HandlerMapping.REQUEST_DISPATCH_START_TIME).set(startTime);
+            exchange.setDispatchStartTime(startTime);
             logger.debug("---> {} {}, count={}", request.method().name(), request.uri(), count);
             logger.debug("---> http headers : {}", request.headers());
         }
@@ -420,7 +837,10 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
         try {
             Exception dispatchException = null;
             try {
-                mappedHandler = getHandler(ctx, request);
+                mappedHandler = exchange.getMappedHandler();
+                if (mappedHandler == null) {
+                    mappedHandler = getHandler(ctx, request);
+                }
                 if (mappedHandler == null || mappedHandler.getHandler() == null) {
                     noHandlerFound(ctx, request);
                     return;
@@ -431,6 +851,10 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
 
 
                 if (!mappedHandler.applyPreHandle(ctx, request)) {
+                    if (!exchange.isResponseWritten()) {
+                        // an interceptor wrote the response itself, let later pipelined responses through
+                        OrderedResponseQueue.get(ctx).skip(exchange);
+                    }
                     return;
                 }
 
@@ -448,7 +872,7 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
                 dispatchException = new NestedServletException("Handler dispatch failed", err);
             }
 
-            processDispatchResult(ctx, request, mappedHandler, result, dispatchException);
+            processDispatchResult(ctx, exchange, mappedHandler, result, dispatchException);
 
 
         } catch (Exception ex) {
@@ -471,8 +895,9 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
      * Handle the result of handler selection and handler invocation, which is
      * either a ModelAndView or an Exception to be resolved to a ModelAndView.
      */
-    private void processDispatchResult(ChannelHandlerContext ctx, FullHttpRequest request,
+    private void processDispatchResult(ChannelHandlerContext ctx, HttpExchange exchange,
                                        HandlerExecutionChain mappedHandler, Object result, Exception exception) throws Exception {
+        FullHttpRequest request = exchange.getRequest();
 
         Object mv = null;
         if (exception != null) {
@@ -487,18 +912,31 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
             mappedHandler.triggerAfterCompletion(ctx, request, null);
         }
 
-        write(ctx, request, result);
+        write(ctx, exchange, result);
     }
 
     /**
      * write data client
      *
      * @param ctx
-     * @param request
+     * @param exchange
      * @param result
      */
-    private void write(ChannelHandlerContext ctx, FullHttpRequest request, Object result) throws Exception{
-        boolean keepAlive = HttpUtil.isKeepAlive(request);
+    private void write(ChannelHandlerContext ctx, HttpExchange exchange, Object result) throws Exception{
+        boolean keepAlive = exchange.isKeepAlive();
+
+        if (exchange.isResponseWritten()) {
+            // the handler wrote the response through the OrderedResponseQueue itself
+            return;
+        }
+
+        if (result instanceof StreamingResponseBody) {
+            result = new StreamingResponse((StreamingResponseBody) result);
+        }
+        if (result instanceof StreamingResponse) {
+            writeStreaming(ctx, exchange, (StreamingResponse) result);
+            return;
+        }
 
         FullHttpResponse response = null;
 
@@ -517,11 +955,11 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
             httpHeaders.set(CONTENT_LENGTH, response.content().readableBytes());
         }
 
-        Boolean sampling = ctx.channel().attr(HandlerMapping.REQUEST_DISPATCH_COUNT_SAMPLING).get();
-        if (logger.isDebugEnabled() && sampling) {
+        if (logger.isDebugEnabled() && exchange.isCountSampling()) {
             long endTime = System.currentTimeMillis();
-            Long startTime = ctx.channel().attr(HandlerMapping.REQUEST_DISPATCH_START_TIME).get();
-            if (startTime == null) {
+            exchange.setDispatchEndTime(endTime);
+            long startTime = exchange.getDispatchStartTime();
+            if (startTime == 0) {
                 startTime = endTime;
             }
             logger.debug("<--- {} {} ({}ms)", response.protocolVersion(), response.status().code(), endTime - startTime);
@@ -530,11 +968,105 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
         }
 
 
-        if (!keepAlive) {
-            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
-        } else {
+        if (keepAlive) {
             response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
-            ctx.writeAndFlush(response);
+        }
+        if (responseCompressor != null) {
+            HandlerExecutionChain mappedHandler = exchange.getMappedHandler();
+            String encoding = responseCompressor.selectEncoding(exchange.getRequest(), response,
+                    mappedHandler != null ? mappedHandler.getHandler() : null);
+            if (encoding != null) {
+                writeCompressed(ctx, exchange, response, encoding);
+                return;
+            }
+        }
+        OrderedResponseQueue.get(ctx).write(exchange, response, !keepAlive);
+    }
+
+    /**
+     * Compress the response and write it. Compression never runs on the I/O thread, the response
+     * of an inline dispatch is compressed by the worker executor.
+     * <p>The hop goes through the same admission as a dispatch, an inline dispatch was not
+     * admitted yet; when it is refused the response is sent uncompressed instead of shed.
+     */
+    private void writeCompressed(final ChannelHandlerContext ctx, final HttpExchange exchange,
+                                 final FullHttpResponse response, final String encoding) {
+        if (ctx.executor().inEventLoop()) {
+            exchange.setResponseWritten(true);
+            boolean admitted = executeAdmitted(new Runnable() {
+                @Override
+                public void run() {
+                    writeCompressed(ctx, exchange, response, encoding);
+                }
+            });
+            if (!admitted) {
+                OrderedResponseQueue.get(ctx).write(exchange, response, !exchange.isKeepAlive());
+            }
+            return;
+        }
+        FullHttpResponse compressed;
+        try {
+            compressed = responseCompressor.compress(response, encoding, ctx.alloc());
+        } catch (RuntimeException ex) {
+            logger.warn("Compressing the response of {} failed: {}", exchange.getRequest().uri(), ex.toString());
+            compressed = response;
+        }
+        OrderedResponseQueue.get(ctx).write(exchange, compressed, !exchange.isKeepAlive());
+    }
+
+    /**
+     * Write a streamed response with {@code Transfer-Encoding: chunked}. The body producer blocks
+     * while the channel is not writable, so it never runs on the I/O thread.
+     * <p>The hop of an inline dispatch goes through the same admission as a dispatch and is
+     * answered like a shed request when it is refused.
+     */
+    private void writeStreaming(final ChannelHandlerContext ctx, final HttpExchange exchange,
+                                final StreamingResponse streamingResponse) {
+        if (ctx.executor().inEventLoop()) {
+            // e.g. an inline dispatch
+            exchange.setResponseWritten(true);
+            boolean admitted = executeAdmitted(new Runnable() {
+                @Override
+                public void run() {
+                    writeStreaming(ctx, exchange, streamingResponse);
+                }
+            });
+            if (!admitted) {
+                writeShedResponse(ctx, exchange);
+            }
+            return;
+        }
+        boolean keepAlive = exchange.isKeepAlive();
+        HttpResponse head = new DefaultHttpResponse(HTTP_1_1, streamingResponse.getStatus(),
+                streamingResponse.getHeaders());
+        head.headers().remove(CONTENT_LENGTH);
+        HttpUtil.setTransferEncodingChunked(head, true);
+        if (keepAlive) {
+            head.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+        ChunkedResponseWriter writer = new ChunkedResponseWriter(ctx, exchange, keepAlive);
+        try {
+            writer.start(head);
+            streamingResponse.getBody().writeTo(writer);
+            writer.close();
+        } catch (Throwable ex) {
+            logger.warn("Streaming response of {} failed: {}", exchange.getRequest().uri(), ex.toString());
+            writer.abort();
+        }
+    }
+
+    /**
+     * Write a response in request order if a request is being dispatched by the current thread,
+     * else (e.g. a pipeline exception on the event loop) after all responses in flight, closing the
+     * connection.
+     */
+    private void writeResponse(ChannelHandlerContext ctx, FullHttpResponse response, boolean close) {
+        HttpExchange exchange = RequestContextHolder.getExchange();
+        if (exchange != null) {
+            OrderedResponseQueue.get(ctx).write(exchange, response, close);
+        } else {
+            response.headers().set(CONNECTION, HttpHeaderValues.CLOSE);
+            OrderedResponseQueue.writeLast(ctx, response);
         }
     }
 
@@ -579,7 +1111,8 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
 
     private void invokeHandlerException(ChannelHandlerContext ctx, Throwable ex) throws Exception {
         FullHttpRequest request = RequestContextHolder.getRequest(ctx);
-        Object exMv = processHandlerException(ctx,request, (Exception) ex);
+        // no request outside of a dispatch, e.g. a decoder failure
+        Object exMv = (request != null ? processHandlerException(ctx,request, (Exception) ex) : null);
         FullHttpResponse response = null;
         if (exMv instanceof FullHttpResponse) {
             response = (FullHttpResponse) exMv;
@@ -588,7 +1121,7 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
             response = new DefaultFullHttpResponse(HTTP_1_1, BAD_REQUEST, Unpooled.wrappedBuffer(message.getBytes()));
         }
 
-        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        writeResponse(ctx, response, true);
     }
 
     /**
@@ -651,7 +1184,7 @@ public class DispatcherHandler extends SimpleChannelInboundHandler<FullHttpReque
             throw new NoHandlerFoundException(request.method().name(), request.uri(), request.headers());
         } else {
             FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, NOT_FOUND);
-            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            writeResponse(ctx, response, true);
             //response.sendError(HttpServletResponse.SC_NOT_FOUND);
         }
     }
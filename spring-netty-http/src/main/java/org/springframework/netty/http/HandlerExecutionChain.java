@@ -25,6 +25,9 @@ public class HandlerExecutionChain {
 
     private List<HandlerInterceptor> interceptorList;
 
+    /**
+     * Per-request state, the interceptors array may be shared between requests and is never modified
+     */
     private int interceptorIndex = -1;
 
 
@@ -12,7 +12,17 @@ import org.springframework.netty.http.codec.QueryDecoder;
  */
 public interface HandlerMapping {
 
+    /**
+     * @deprecated per-request state is kept in the {@link org.springframework.netty.http.context.HttpExchange},
+     * see {@link org.springframework.netty.http.context.RequestContextHolder#getExchange()}
+     */
+    @Deprecated
     AttributeKey<QueryDecoder> REQUEST_QUERY_URI = AttributeKey.valueOf("request_query_uri");
+    /**
+     * @deprecated per-request state is kept in the {@link org.springframework.netty.http.context.HttpExchange},
+     * see {@link org.springframework.netty.http.context.RequestContextHolder#getExchange()}
+     */
+    @Deprecated
     AttributeKey<FullHttpRequest> HTTP_REQUEST = AttributeKey.valueOf("http_request");
 
 
@@ -31,16 +41,19 @@ public interface HandlerMapping {
     /**
      * 统计抽样
      */
+    @Deprecated
     AttributeKey<Boolean> REQUEST_DISPATCH_COUNT_SAMPLING = AttributeKey.valueOf("request_dispatch_count_sampling");
 
 
     /*
      * 请求调度开始时间戳
      */
+    @Deprecated
     AttributeKey<Long> REQUEST_DISPATCH_START_TIME = AttributeKey.valueOf("request_dispatch_start_time");
     /**
      * 请求调度结束时间戳
      */
+    @Deprecated
     AttributeKey<Long> REQUEST_DISPATCH_END_TIME = AttributeKey.valueOf("request_dispatch_end_time");
 
 
@@ -48,16 +61,19 @@ public interface HandlerMapping {
     /*
      * 请求处理开始时间戳
      */
+    @Deprecated
     AttributeKey<Long> REQUEST_HANDLER_START_TIME = AttributeKey.valueOf("request_handler_start_time");
     /*
      * 请求处理结束时间戳
      */
+    @Deprecated
     AttributeKey<Long> REQUEST_HANDLER_END_TIME = AttributeKey.valueOf("request_handler_end_time");
 
 
     /**
      * 请求处理时间
      */
+    @Deprecated
     AttributeKey<Long> REQUEST_HANDLER_EXECUTE_TIME = AttributeKey.valueOf("request_handler_execute_time");
 
 
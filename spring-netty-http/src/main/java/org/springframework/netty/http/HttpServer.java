@@ -4,12 +4,22 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.slf4j.Logger;
@@ -17,12 +27,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.netty.http.metrics.DrainMetrics;
+import org.springframework.netty.http.metrics.ListenerMetrics;
+import org.springframework.util.ClassUtils;
 
 import javax.annotation.PreDestroy;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ServerProperties
@@ -32,7 +51,7 @@ import java.net.InetSocketAddress;
  * @since 2020-03-11
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
-public class HttpServer implements ApplicationListener<ContextRefreshedEvent> {
+public class HttpServer implements ApplicationListener<ApplicationContextEvent> {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpServer.class);
 
@@ -44,8 +63,73 @@ public class HttpServer implements ApplicationListener<ContextRefreshedEvent> {
     @Value("${server.ssl.enabled:false}")
     private boolean secure = false;
 
+    @Value("${server.netty.http2.enabled:false}")
+    private boolean http2Enabled = false;
+
+    @Value("${server.netty.http2.max-concurrent-streams:100}")
+    private long maxConcurrentStreams = 100;
+
+    @Value("${server.netty.transport:auto}")
+    private String transport = ServerBootstrapFactory.TRANSPORT_AUTO;
+
+    /**
+     * Number of server channels bound to the port with SO_REUSEPORT (epoll only)
+     */
+    @Value("${server.netty.listeners:1}")
+    private int listenerCount = 1;
+
+    /**
+     * Maximum time in milliseconds the shutdown waits for in-flight requests, 0 to close right away
+     */
+    @Value("${server.netty.shutdown.drain-timeout:30000}")
+    private long drainTimeout = 30000;
+
+    @Value("${server.netty.connection.read-idle-timeout:0}")
+    private long readIdleTimeout;
+
+    @Value("${server.netty.connection.write-idle-timeout:0}")
+    private long writeIdleTimeout;
+
+    @Value("${server.netty.connection.max-requests:0}")
+    private int maxRequestsPerConnection;
+
+    @Value("${server.netty.connection.max-age:0}")
+    private long maxConnectionAge;
+
+    @Value("${server.netty.connection.max-age-jitter:0.1}")
+    private double maxConnectionAgeJitter = 0.1;
+
+    @Value("${server.netty.request-decompression.enabled:true}")
+    private boolean requestDecompression = true;
+
+    @Value("${server.netty.request-decompression.max-inflation-ratio:100}")
+    private int maxInflationRatio = 100;
+
+    @Value("${server.netty.connection.max-connections:0}")
+    private int maxConnections;
+
+    @Value("${server.netty.connection.overflow:0}")
+    private int overflowConnections;
+
+    @Value("${server.netty.connection.overflow-sources:127.0.0.1,::1}")
+    private String[] overflowSources = {"127.0.0.1", "::1"};
+
     private ServerBootstrapFactory bootstrapFactory = new ServerBootstrapFactory();
 
+    /**
+     * The accepted connections
+     */
+    private final ChannelGroup connections = new DefaultChannelGroup("nettyHttpConnections", GlobalEventExecutor.INSTANCE);
+
+    private volatile boolean draining;
+
+    private volatile boolean stopped;
+
+    private final List<ListenerAcceptCounter> listeners = new ArrayList<ListenerAcceptCounter>();
+
+    private final static boolean meterRegistryAvailable = ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry",
+            HttpServer.class.getClassLoader());
+
     private DispatcherHandler dispatcherHandler;
 
     @Autowired(required = false)
@@ -74,17 +158,79 @@ public class HttpServer implements ApplicationListener<ContextRefreshedEvent> {
         this.httpServerConfigurer = httpServerConfigurer;
     }
 
+    /**
+     * Set the transport: {@code auto}, {@code io_uring}, {@code epoll} or {@code nio}.
+     */
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Bind the port with this many server channels using {@code SO_REUSEPORT}, so the kernel spreads
+     * the accepts over as many boss threads. Needs the epoll transport, default is 1.
+     */
+    public void setListenerCount(int listenerCount) {
+        this.listenerCount = listenerCount;
+    }
+
+    /**
+     * The accept counters of the bound listeners.
+     */
+    public List<ListenerAcceptCounter> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * Set the maximum time the shutdown waits for in-flight requests, 0 to close the connections right away.
+     */
+    public void setDrainTimeout(long drainTimeout, TimeUnit unit) {
+        this.drainTimeout = unit.toMillis(drainTimeout);
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
     public Channel startup() throws Exception {
         // Configure SSL.
         final SslContext sslCtx;
         if (secure) {
             SelfSignedCertificate ssc = new SelfSignedCertificate();
-            sslCtx = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build();
+            SslContextBuilder sslContextBuilder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
+            if (http2Enabled) {
+                // h2 needs ALPN and the cipher suites allowed by RFC 7540
+                SslProvider provider = (OpenSsl.isAlpnSupported() ? SslProvider.OPENSSL : SslProvider.JDK);
+                sslContextBuilder.sslProvider(provider)
+                        .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                        .applicationProtocolConfig(new ApplicationProtocolConfig(
+                                ApplicationProtocolConfig.Protocol.ALPN,
+                                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                                ApplicationProtocolNames.HTTP_2,
+                                ApplicationProtocolNames.HTTP_1_1));
+            }
+            sslCtx = sslContextBuilder.build();
         } else {
             sslCtx = null;
         }
 
+        if (httpServerConfigurer != null) {
+            httpServerConfigurer.configure(this);
+        }
+
+        bootstrapFactory.setTransport(transport);
+        // only epoll binds several listeners, the other transports keep a single boss thread
+        bootstrapFactory.setAcceptorCount(listenerCount);
         ServerBootstrap bootstrap = bootstrapFactory.newServerBootstrap(-1);
+        int listenerCount = this.listenerCount;
+        if (listenerCount > 1) {
+            if (ServerBootstrapFactory.TRANSPORT_EPOLL.equals(bootstrapFactory.getSelectedTransport())) {
+                bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            } else {
+                logger.warn("SO_REUSEPORT needs the epoll transport, binding a single listener.");
+                listenerCount = 1;
+            }
+        }
 
         //options...
         bootstrap.option(ChannelOption.SO_BACKLOG, 1024);
@@ -102,14 +248,55 @@ public class HttpServer implements ApplicationListener<ContextRefreshedEvent> {
         }
 
 
-        //.handler(new LoggingHandler(LogLevel.ERROR))
-        bootstrap.childHandler(new HttpServerInitializer(sslCtx, dispatcherHandler,nioEndpoint));
+        if (nioEndpoint != null) {
+            nioEndpoint.setMaxConnections(maxConnections);
+            nioEndpoint.setOverflowConnections(overflowConnections, overflowSources);
+        } else if (maxConnections > 0) {
+            logger.warn("server.netty.connection.max-connections is ignored, the NioEndpoint is disabled");
+        }
 
-        ChannelFuture f = bootstrap.bind(new InetSocketAddress(port)).sync();
-        Channel mainChannel = f.channel();
-        allChannels.add(mainChannel);
+        //.handler(new LoggingHandler(LogLevel.ERROR))
+        HttpServerInitializer serverInitializer = new HttpServerInitializer(sslCtx, dispatcherHandler, nioEndpoint);
+        serverInitializer.setHttp2Enabled(http2Enabled);
+        serverInitializer.setMaxConcurrentStreams(maxConcurrentStreams);
+        serverInitializer.setRequestDecompression(requestDecompression, maxInflationRatio);
+        serverInitializer.setConnectionGroup(connections);
+        serverInitializer.setIdleTimeout(readIdleTimeout, writeIdleTimeout, TimeUnit.MILLISECONDS);
+        serverInitializer.setMaxRequestsPerConnection(maxRequestsPerConnection);
+        serverInitializer.setMaxConnectionAge(maxConnectionAge, TimeUnit.MILLISECONDS, maxConnectionAgeJitter);
+        bootstrap.childHandler(serverInitializer);
+
+        final ChannelHandler handler = bootstrap.config().handler();
+        if (handler != null && listenerCount > 1 && !handler.getClass().isAnnotationPresent(ChannelHandler.Sharable.class)) {
+            throw new IllegalStateException("The server channel handler " + handler.getClass().getName()
+                    + " is added to each of the " + listenerCount + " SO_REUSEPORT listeners and must be @Sharable");
+        }
+        Channel mainChannel = null;
+        for (int i = 0; i < listenerCount; i++) {
+            final ListenerAcceptCounter listener = new ListenerAcceptCounter(i);
+            ServerBootstrap listenerBootstrap = bootstrap.clone().handler(new ChannelInitializer<ServerChannel>() {
+                @Override
+                protected void initChannel(ServerChannel channel) throws Exception {
+                    channel.pipeline().addLast("acceptCounter", listener);
+                    if (handler != null) {
+                        channel.pipeline().addLast(handler);
+                    }
+                }
+            });
+            ChannelFuture f = listenerBootstrap.bind(new InetSocketAddress(port)).sync();
+            allChannels.add(f.channel());
+            listeners.add(listener);
+            if (mainChannel == null) {
+                mainChannel = f.channel();
+            }
+        }
+        if (meterRegistryAvailable) {
+            new ListenerMetrics(listeners, Collections.emptyList()).registerMetrics();
+            new DrainMetrics(this, Collections.emptyList()).registerMetrics();
+        }
 
-        logger.info("netty http server start up on port : " + port);
+        logger.info("netty http server start up on port : " + port + (http2Enabled ? " (http/2 enabled)" : "")
+                + (listenerCount > 1 ? " with " + listenerCount + " SO_REUSEPORT listeners" : ""));
 
         //FIXME 会阻塞Spring后处理
         //Wait until the server socket is closed. Thread gets blocked.
@@ -141,20 +328,115 @@ public class HttpServer implements ApplicationListener<ContextRefreshedEvent> {
      * @param shouldWait true if shutdown() should wait for the shutdown of each thread group.
      */
     public void shutdown(boolean shouldWait) {
+        if (stopped) {
+            return;
+        }
+        if (!draining && drainTimeout > 0) {
+            drain(drainTimeout, TimeUnit.MILLISECONDS);
+        }
+        stopped = true;
         ChannelGroupFuture channelFuture = allChannels.close();
+        ChannelGroupFuture connectionsFuture = connections.close();
         bootstrapFactory.shutdownGracefully(shouldWait);
         channelFuture.awaitUninterruptibly();
+        connectionsFuture.awaitUninterruptibly();
+    }
+
+    /**
+     * Drain the server before it is shut down: stop accepting connections, close idle connections,
+     * send {@code Connection: close} with the next response of every other connection and wait until
+     * the dispatches in flight finished and their connections were closed.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return whether the server was drained within the timeout, the remaining connections are left
+     * to {@link #shutdown(boolean)}
+     */
+    public boolean drain(long timeout, TimeUnit unit) {
+        if (draining) {
+            return connections.isEmpty();
+        }
+        draining = true;
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        logger.info("netty http server draining: {} connections, {} dispatches in flight",
+                connections.size(), getActiveDispatchCount());
+
+        // stop accepting
+        allChannels.close().awaitUninterruptibly();
+
+        closeConnectionsAfterResponse();
+
+        long lastSignal = System.nanoTime();
+        while ((!connections.isEmpty() || getActiveDispatchCount() > 0) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (System.nanoTime() - lastSignal > TimeUnit.SECONDS.toNanos(1)) {
+                // connections accepted while the listeners were closing
+                closeConnectionsAfterResponse();
+                lastSignal = System.nanoTime();
+            }
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (connections.isEmpty() && getActiveDispatchCount() == 0) {
+            logger.info("netty http server drained in {}ms", elapsed);
+            return true;
+        }
+        logger.warn("netty http server drain timed out after {}ms: {} connections, {} dispatches in flight left",
+                elapsed, connections.size(), getActiveDispatchCount());
+        return false;
+    }
+
+    private void closeConnectionsAfterResponse() {
+        for (final Channel channel : connections) {
+            channel.eventLoop().execute(new Runnable() {
+                @Override
+                public void run() {
+                    OrderedResponseQueue queue = OrderedResponseQueue.find(channel);
+                    if (queue != null) {
+                        queue.closeAfterResponse();
+                    } else {
+                        // no HTTP/1.1 request read yet, or an HTTP/2 connection (sends GOAWAY on close)
+                        channel.close();
+                    }
+                }
+            });
+        }
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Number of open client connections.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    public int getActiveDispatchCount() {
+        return (dispatcherHandler != null ? dispatcherHandler.getActiveDispatchCount() : 0);
     }
 
 
     @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        //ApplicationContext parent = event.getApplicationContext().getParent();
-        logger.info("netty http server for spring ContextRefreshedEvent");
-        try {
-            this.startup();
-        } catch (Exception e) {
-            throw new RuntimeException("netty http server starting failed.", e);
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            //ApplicationContext parent = event.getApplicationContext().getParent();
+            logger.info("netty http server for spring ContextRefreshedEvent");
+            try {
+                this.startup();
+            } catch (Exception e) {
+                throw new RuntimeException("netty http server starting failed.", e);
+            }
+        } else if (event instanceof ContextClosedEvent && !stopped && drainTimeout > 0) {
+            // before any bean is destroyed, so the worker executor still runs the dispatches in flight
+            drain(drainTimeout, TimeUnit.MILLISECONDS);
         }
 
     }
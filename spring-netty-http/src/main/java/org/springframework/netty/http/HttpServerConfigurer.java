@@ -9,6 +9,13 @@ import io.netty.bootstrap.ServerBootstrap;
  */
 public interface HttpServerConfigurer {
 
+    /**
+     * Customize the server before the bootstrap is created, e.g. the
+     * {@link HttpServer#setListenerCount(int) listener count}.
+     */
+    default void configure(HttpServer httpServer) {
+    }
+
     void configure(ServerBootstrap bootstrap);
 
 }
@@ -3,20 +3,45 @@ package org.springframework.netty.http;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateHandler;
 import org.nbone.spring.boot.actuate.metrics.netty.ByteBufAllocatorMetrics;
 import org.springframework.netty.http.demo.HttpRequestHandlerImpl;
 import org.springframework.netty.http.metrics.ConnectionMetrics;
 import org.springframework.util.ClassUtils;
 
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Builds the pipeline of an accepted connection.
+ * <p>With {@link #setHttp2Enabled(boolean) http2Enabled} the server also speaks HTTP/2: negotiated
+ * with ALPN under TLS, and through the h2c upgrade or with prior knowledge on plaintext. Each HTTP/2
+ * stream becomes a child channel whose frames are converted to HTTP/1.1 objects, so the streams run
+ * through the same aggregator and {@link DispatcherHandler} as HTTP/1.1 requests.
+ *
  * @author thinking
  * @version 1.0
  * @since 2020-03-11
@@ -26,6 +51,9 @@ public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
     // DEFAULT MAX 1MB
     private static final int DEFAULT_MAX_CONTENT_LENGTH = 1024 * 1024;
 
+    private static final String[] HTTP1_HANDLER_NAMES = {"chunkedWriter", "streamingRequestDecoder",
+            "requestDecompressor", "httpAggregator", "dispatcherChannelHandler", "httpRequestHandler"};
+
     private int maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
 
     private final SslContext sslCtx;
@@ -40,6 +68,26 @@ public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
 
     private ConnectionMetrics connectionMetrics;
 
+    private boolean http2Enabled;
+
+    private long maxConcurrentStreams = 100;
+
+    private ChannelGroup connectionGroup;
+
+    private long readIdleTimeout;
+
+    private long writeIdleTimeout;
+
+    private int maxRequestsPerConnection;
+
+    private long maxConnectionAge;
+
+    private double maxConnectionAgeJitter = 0.1;
+
+    private boolean requestDecompression = true;
+
+    private int maxInflationRatio = 100;
+
     private final static boolean meterRegistryAvailable  = ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry",
             HttpServerInitializer.class.getClassLoader());
 
@@ -60,8 +108,77 @@ public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
         }
     }
 
+    public void setMaxContentLength(int maxContentLength) {
+        this.maxContentLength = maxContentLength;
+    }
+
+    /**
+     * Decode gzip and deflate request bodies before they are aggregated, default is on.
+     *
+     * @param maxInflationRatio the maximum ratio of decoded to encoded bytes of a body, {@code <= 0} for no limit
+     * @see RequestDecompressor
+     */
+    public void setRequestDecompression(boolean requestDecompression, int maxInflationRatio) {
+        this.requestDecompression = requestDecompression;
+        this.maxInflationRatio = maxInflationRatio;
+    }
+
+    /**
+     * Accept HTTP/2 next to HTTP/1.1, the {@link SslContext} must then be built with the ALPN
+     * protocols {@code h2} and {@code http/1.1}.
+     */
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    /**
+     * Set the {@code SETTINGS_MAX_CONCURRENT_STREAMS} of an HTTP/2 connection, default is 100.
+     */
+    public void setMaxConcurrentStreams(long maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    /**
+     * Add every accepted connection to the given group, e.g. to drain them on shutdown.
+     */
+    public void setConnectionGroup(ChannelGroup connectionGroup) {
+        this.connectionGroup = connectionGroup;
+    }
+
+    /**
+     * Close a connection that did not read or write anything for the given time, 0 to keep it open.
+     */
+    public void setIdleTimeout(long readIdleTimeout, long writeIdleTimeout, TimeUnit unit) {
+        this.readIdleTimeout = unit.toMillis(readIdleTimeout);
+        this.writeIdleTimeout = unit.toMillis(writeIdleTimeout);
+    }
+
+    /**
+     * Close a keep-alive connection after the given number of requests, 0 for no limit.
+     */
+    public void setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+        this.maxRequestsPerConnection = maxRequestsPerConnection;
+    }
+
+    /**
+     * Close a connection after the given age, 0 for no limit.
+     *
+     * @param jitter the part of the age it randomly deviates by, default is 0.1
+     */
+    public void setMaxConnectionAge(long maxConnectionAge, TimeUnit unit, double jitter) {
+        this.maxConnectionAge = unit.toMillis(maxConnectionAge);
+        this.maxConnectionAgeJitter = jitter;
+    }
+
     @Override
     protected void initChannel(SocketChannel channel) throws Exception {
+        // before any codec or SSL engine is allocated for the connection
+        if (nioEndpoint != null && !nioEndpoint.admit(channel)) {
+            return;
+        }
+        if (connectionGroup != null) {
+            connectionGroup.add(channel);
+        }
         ChannelPipeline pipeline = channel.pipeline();
         if (sslCtx != null) {
             pipeline.addLast(sslCtx.newHandler(channel.alloc()));
@@ -84,8 +201,115 @@ public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
             }
 
         }
-        // http 编解码
-        pipeline.addLast(new HttpServerCodec());
+        if (readIdleTimeout > 0 || writeIdleTimeout > 0) {
+            // in front of the codecs to see all traffic, the events are handled by the ConnectionLifecycleHandler
+            pipeline.addLast("idleState", new IdleStateHandler(readIdleTimeout, writeIdleTimeout, 0, TimeUnit.MILLISECONDS));
+        }
+        if (!http2Enabled) {
+            // http 编解码
+            pipeline.addLast(new HttpServerCodec());
+            addHttp1Handlers(pipeline);
+        } else if (sslCtx != null) {
+            pipeline.addLast("alpnNegotiator", new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(ChannelHandlerContext ctx, String protocol) throws Exception {
+                    if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                        ctx.pipeline().addLast("http2Codec", newHttp2Codec());
+                        addLifecycleHandler(ctx.pipeline());
+                    } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                        ctx.pipeline().addLast(new HttpServerCodec());
+                        addHttp1Handlers(ctx.pipeline());
+                    } else {
+                        throw new IllegalStateException("Unknown protocol: " + protocol);
+                    }
+                }
+            });
+        } else {
+            // h2c: prior knowledge replaces the upgrade handler with the HTTP/2 codec, an
+            // "Upgrade: h2c" request is upgraded, any other request is served as HTTP/1.1
+            final HttpServerCodec sourceCodec = new HttpServerCodec();
+            HttpServerUpgradeHandler.UpgradeCodecFactory upgradeCodecFactory = new HttpServerUpgradeHandler.UpgradeCodecFactory() {
+                @Override
+                public HttpServerUpgradeHandler.UpgradeCodec newUpgradeCodec(CharSequence protocol) {
+                    if (Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME.toString().contentEquals(protocol)) {
+                        return new Http2ServerUpgradeCodec(newHttp2Codec());
+                    }
+                    return null;
+                }
+            };
+            pipeline.addLast("h2cUpgradeHandler", new CleartextHttp2ServerUpgradeHandler(sourceCodec,
+                    new HttpServerUpgradeHandler(sourceCodec, upgradeCodecFactory, maxContentLength),
+                    new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+                            // added on prior knowledge only, most connections stay HTTP/1.1
+                            ctx.pipeline().replace(this, "http2Codec", newHttp2Codec());
+                        }
+                    }));
+            addHttp1Handlers(pipeline);
+            pipeline.addLast("h2cUpgradeListener", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+                    if (evt instanceof HttpServerUpgradeHandler.UpgradeEvent ||
+                            evt instanceof CleartextHttp2ServerUpgradeHandler.PriorKnowledgeUpgradeEvent) {
+                        removeHttp1Handlers(ctx.pipeline());
+                        ctx.pipeline().remove(this);
+                    }
+                    ctx.fireUserEventTriggered(evt);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove the handlers of HTTP/1.1 requests from a connection upgraded to h2c, its streams have their
+     * own. The {@link ConnectionLifecycleHandler} stays like on an ALPN h2 connection, it still closes
+     * the connection when it is idle or too old.
+     */
+    private static void removeHttp1Handlers(ChannelPipeline pipeline) {
+        for (String name : HTTP1_HANDLER_NAMES) {
+            if (pipeline.get(name) != null) {
+                pipeline.remove(name);
+            }
+        }
+    }
+
+    private void addHttp1Handlers(ChannelPipeline pipeline) {
+        addLifecycleHandler(pipeline);
+        // file bodies cannot use a FileRegion under TLS or on a transport without sendfile,
+        // they are written as ChunkedInput
+        if (sslCtx != null || !isFileRegionSupported(pipeline.channel())) {
+            pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());
+        }
+        addRequestHandlers(pipeline);
+    }
+
+    private void addLifecycleHandler(ChannelPipeline pipeline) {
+        if (readIdleTimeout > 0 || writeIdleTimeout > 0 || maxRequestsPerConnection > 0 || maxConnectionAge > 0) {
+            pipeline.addLast("connectionLifecycle", new ConnectionLifecycleHandler(nioEndpoint,
+                    maxRequestsPerConnection, maxConnectionAge, maxConnectionAgeJitter));
+        }
+    }
+
+    private static boolean isFileRegionSupported(Channel channel) {
+        // io_uring does not write FileRegions
+        return channel instanceof NioSocketChannel || channel instanceof EpollSocketChannel;
+    }
+
+    /**
+     * The handlers after the HTTP codec, shared by HTTP/1.1 connections and HTTP/2 streams.
+     */
+    private void addRequestHandlers(ChannelPipeline pipeline) {
+        // streaming routes bypass the aggregator
+        if (dispatcherHandler != null && dispatcherHandler.getStreamingHandlerMapping() != null
+                && !dispatcherHandler.getStreamingHandlerMapping().isEmpty()) {
+            pipeline.addLast("streamingRequestDecoder", new StreamingRequestDecoder(
+                    dispatcherHandler.getStreamingHandlerMapping(), dispatcherHandler));
+        }
+        // decoded before aggregation, streaming routes get the body as it was sent
+        if (requestDecompression) {
+            pipeline.addLast("requestDecompressor", new RequestDecompressor(maxContentLength, maxInflationRatio));
+        }
         // http 消息聚合器  maxContentLength 1024 *1024
         pipeline.addLast("httpAggregator", new HttpObjectAggregator(maxContentLength));
         // 请求处理器
@@ -97,9 +321,27 @@ public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
             if (httpRequestHandler == null) {
                 httpRequestHandler = new HttpRequestHandlerImpl();
             }
-            pipeline.addLast(httpRequestHandler);
+            pipeline.addLast("httpRequestHandler", httpRequestHandler);
         }
+    }
 
+    /**
+     * The HTTP/2 connection handler, every stream gets its own child channel.
+     */
+    private Http2MultiplexCodec newHttp2Codec() {
+        ChannelInitializer<Channel> streamInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel channel) throws Exception {
+                ChannelPipeline pipeline = channel.pipeline();
+                pipeline.addLast("http2StreamCodec", new Http2StreamFrameToHttpObjectCodec(true));
+                // no FileRegion on a stream, file bodies are written as ChunkedInput
+                pipeline.addLast("chunkedWriter", new ChunkedWriteHandler());
+                addRequestHandlers(pipeline);
+            }
+        };
+        return Http2MultiplexCodecBuilder.forServer(streamInitializer)
+                .initialSettings(Http2Settings.defaultSettings().maxConcurrentStreams(maxConcurrentStreams))
+                .build();
     }
 
 }
@@ -16,6 +16,15 @@ import java.util.List;
  */
 public class HttpUtils {
 
+    private static final MediaTypeCache mediaTypeCache = new MediaTypeCache();
+
+    /**
+     * Parse a media type through the shared {@link MediaTypeCache}.
+     */
+    public static MediaType parseMediaType(CharSequence value) {
+        return mediaTypeCache.parseMediaType(value);
+    }
+
     /**
      * Fetch MIME type part from message's Content-Type header as a char sequence.
      *
@@ -40,7 +49,7 @@ public class HttpUtils {
     public static MediaType getContentType(HttpMessage message) {
         CharSequence contentTypeValue = message.headers().get(HttpHeaderNames.CONTENT_TYPE);
         if (contentTypeValue != null) {
-            return MediaType.parseMediaType(contentTypeValue.toString());
+            return mediaTypeCache.parseMediaType(contentTypeValue);
         } else {
             return null;
         }
@@ -83,18 +92,21 @@ public class HttpUtils {
     public static MediaType getAccept(HttpMessage httpMessage) {
         CharSequence accept = httpMessage.headers().get(HttpHeaderNames.ACCEPT);
         if (accept != null) {
-            return MediaType.parseMediaType(accept.toString());
+            return mediaTypeCache.parseMediaType(accept);
         } else {
             return null;
         }
     }
+    /**
+     * Return the media types of the {@code Accept} header sorted by specificity and quality.
+     *
+     * @return an unmodifiable list, empty without an {@code Accept} header
+     */
     public static List<MediaType> getAccepts(HttpMessage httpMessage) {
         CharSequence accept = httpMessage.headers().get(HttpHeaderNames.ACCEPT);
 
         if (accept != null) {
-            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept.toString());
-            MediaType.sortBySpecificityAndQuality(mediaTypes);
-            return mediaTypes;
+            return mediaTypeCache.parseSortedMediaTypes(accept);
         } else {
             return Collections.emptyList();
         }
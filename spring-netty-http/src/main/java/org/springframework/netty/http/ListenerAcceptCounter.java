@@ -0,0 +1,45 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the connections accepted by one server channel, added to the pipeline of each listener
+ * so the accept rates of {@code SO_REUSEPORT} listeners can be compared.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ListenerAcceptCounter extends ChannelInboundHandlerAdapter {
+
+    private final int index;
+
+    private final LongAdder acceptedCount = new LongAdder();
+
+    public ListenerAcceptCounter(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof Channel) {
+            acceptedCount.increment();
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    /**
+     * The position of the listener, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+}
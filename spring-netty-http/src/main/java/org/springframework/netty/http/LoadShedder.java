@@ -0,0 +1,168 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+/**
+ * Admission control in front of the worker executor of the {@link DispatcherHandler}.
+ * <p>A request is shed when the number of requests waiting for a worker reaches
+ * {@link #setMaxQueueDepth(int) maxQueueDepth}, or when requests keep waiting longer than
+ * {@link #setMaxQueueWait(long, TimeUnit) maxQueueWait}: like CoDel, the shortest queue wait seen
+ * within each {@link #setInterval(long, TimeUnit) interval} is compared with the target, so a
+ * burst that drains quickly is not shed but a standing queue is.
+ * <p>Shed requests are answered from the I/O thread with a {@code 503} whose headers and body
+ * are built once.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LoadShedder {
+
+    /**
+     * Requests submitted to the worker executor and not yet started
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder shedCount = new LongAdder();
+
+    /**
+     * &lt;= 0 no limit
+     */
+    private int maxQueueDepth;
+
+    /**
+     * &lt;= 0 queue wait is not checked
+     */
+    private long maxQueueWait;
+
+    private long interval = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong intervalStart = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong intervalMinWait = new AtomicLong(Long.MAX_VALUE);
+
+    private volatile boolean overloaded;
+
+    private ByteBuf content;
+
+    private HttpHeaders headers;
+
+    public LoadShedder() {
+        setRetryAfter(1);
+    }
+
+    /**
+     * Set the number of requests waiting for a worker at which further requests are shed,
+     * e.g. the queue capacity of the worker executor.
+     */
+    public void setMaxQueueDepth(int maxQueueDepth) {
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * Set the queue wait target, requests are shed while it is exceeded for a whole interval.
+     */
+    public void setMaxQueueWait(long maxQueueWait, TimeUnit unit) {
+        this.maxQueueWait = unit.toNanos(maxQueueWait);
+    }
+
+    /**
+     * Set the interval over which the shortest queue wait is measured, default is 100 milliseconds.
+     */
+    public void setInterval(long interval, TimeUnit unit) {
+        this.interval = unit.toNanos(interval);
+    }
+
+    /**
+     * Set the {@code Retry-After} seconds sent with shed requests, default is 1.
+     */
+    public void setRetryAfter(int retryAfterSeconds) {
+        ByteBuf body = Unpooled.copiedBuffer(SERVICE_UNAVAILABLE.toString(), CharsetUtil.US_ASCII);
+        HttpHeaders headers = new DefaultHttpHeaders(false);
+        headers.set(CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+        headers.set(CONTENT_LENGTH, body.readableBytes());
+        headers.set(RETRY_AFTER, retryAfterSeconds);
+        this.content = Unpooled.unreleasableBuffer(body);
+        this.headers = headers;
+    }
+
+    /**
+     * Whether a request may be submitted to the worker executor, counts it as shed otherwise.
+     * An admitted request must be followed by {@link #dequeued(long)} or {@link #rejected()}.
+     */
+    public boolean tryAcquire() {
+        int depth = queued.get();
+        if ((maxQueueDepth > 0 && depth >= maxQueueDepth) || (overloaded && depth > 0)) {
+            shedCount.increment();
+            return false;
+        }
+        queued.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * The worker executor rejected an admitted request.
+     */
+    public void rejected() {
+        queued.decrementAndGet();
+        shedCount.increment();
+    }
+
+    /**
+     * A worker started an admitted request.
+     *
+     * @param submitTime {@link System#nanoTime()} when the request was submitted
+     */
+    public void dequeued(long submitTime) {
+        queued.decrementAndGet();
+        if (maxQueueWait <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = now - submitTime;
+        long minWait = intervalMinWait.get();
+        while (wait < minWait && !intervalMinWait.compareAndSet(minWait, wait)) {
+            minWait = intervalMinWait.get();
+        }
+        long start = intervalStart.get();
+        if (now - start >= interval && intervalStart.compareAndSet(start, now)) {
+            overloaded = intervalMinWait.getAndSet(Long.MAX_VALUE) > maxQueueWait;
+        }
+    }
+
+    /**
+     * Create the {@code 503} response for a shed request.
+     */
+    public FullHttpResponse newResponse(boolean keepAlive) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, SERVICE_UNAVAILABLE, content.duplicate(),
+                headers.copy(), EmptyHttpHeaders.INSTANCE);
+        if (keepAlive) {
+            response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+        return response;
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+}
@@ -0,0 +1,75 @@
+package org.springframework.netty.http;
+
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.util.BoundedCache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bounded concurrent cache from raw {@code Content-Type} and {@code Accept} header values to their
+ * parsed {@link MediaType}s, so the few distinct values clients send are parsed once.
+ * <p>{@code Accept} values map to an unmodifiable list sorted by specificity and quality. Values that
+ * do not parse are not cached. When a cache is full the oldest entries are evicted first.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see HttpUtils#getContentType(io.netty.handler.codec.http.HttpMessage)
+ * @see HttpUtils#getAccepts(io.netty.handler.codec.http.HttpMessage)
+ */
+public class MediaTypeCache {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final BoundedCache<String, MediaType> mediaTypes;
+
+    private final BoundedCache<String, List<MediaType>> sortedMediaTypes;
+
+    public MediaTypeCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public MediaTypeCache(int maxSize) {
+        this.mediaTypes = new BoundedCache<String, MediaType>(maxSize);
+        this.sortedMediaTypes = new BoundedCache<String, List<MediaType>>(maxSize);
+    }
+
+    /**
+     * Parse a single media type, e.g. a {@code Content-Type} value.
+     *
+     * @throws org.springframework.http.InvalidMediaTypeException if the value cannot be parsed
+     */
+    public MediaType parseMediaType(CharSequence value) {
+        String key = value.toString();
+        MediaType mediaType = this.mediaTypes.get(key);
+        if (mediaType == null) {
+            mediaType = MediaType.parseMediaType(key);
+            this.mediaTypes.put(key, mediaType);
+        }
+        return mediaType;
+    }
+
+    /**
+     * Parse a comma-separated list of media types, e.g. an {@code Accept} value, sorted by
+     * specificity and quality.
+     *
+     * @return an unmodifiable list
+     * @throws org.springframework.http.InvalidMediaTypeException if the value cannot be parsed
+     */
+    public List<MediaType> parseSortedMediaTypes(CharSequence value) {
+        String key = value.toString();
+        List<MediaType> mediaTypes = this.sortedMediaTypes.get(key);
+        if (mediaTypes == null) {
+            List<MediaType> parsed = MediaType.parseMediaTypes(key);
+            MediaType.sortBySpecificityAndQuality(parsed);
+            mediaTypes = Collections.unmodifiableList(parsed);
+            this.sortedMediaTypes.put(key, mediaTypes);
+        }
+        return mediaTypes;
+    }
+
+    public int size() {
+        return this.mediaTypes.size() + this.sortedMediaTypes.size();
+    }
+}
@@ -1,13 +1,28 @@
 package org.springframework.netty.http;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.util.NetUtil;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
+ * Counts the connections of the server and {@link #admit(Channel) admits} new ones up to
+ * {@link #setMaxConnections(int) maxConnections}. A small {@link #setOverflowConnections(int, String...)
+ * overflow} above the limit is reserved for given sources, e.g. health checks of the load balancer.
+ *
  * @author thinking
  * @version 1.0
  * @since 2020-11-26
@@ -22,6 +37,129 @@ public class NioEndpoint extends ChannelInboundHandlerAdapter {
 
     private final AtomicInteger errorCount = new AtomicInteger();
 
+    private final AtomicLongArray closeCounts = new AtomicLongArray(CloseReason.values().length);
+
+    /**
+     * &lt;= 0 no limit
+     */
+    private int maxConnections;
+
+    private int overflowConnections;
+
+    private final List<byte[][]> overflowSources = new ArrayList<byte[][]>();
+
+    private final AtomicInteger admittedCount = new AtomicInteger();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final ChannelFutureListener releaseListener = new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) throws Exception {
+            admittedCount.decrementAndGet();
+        }
+    };
+
+    /**
+     * Set the maximum number of open connections, 0 for no limit.
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Admit up to {@code overflowConnections} connections above the limit from the given sources.
+     *
+     * @param sources IP addresses or CIDR ranges, e.g. {@code 10.0.0.0/8}
+     */
+    public void setOverflowConnections(int overflowConnections, String... sources) {
+        this.overflowConnections = overflowConnections;
+        this.overflowSources.clear();
+        for (String source : sources) {
+            source = source.trim();
+            if (source.isEmpty()) {
+                continue;
+            }
+            int slash = source.indexOf('/');
+            byte[] address = NetUtil.createByteArrayFromIpAddressString(slash != -1 ? source.substring(0, slash) : source);
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid overflow source: " + source);
+            }
+            int prefixLength = address.length * 8;
+            if (slash != -1) {
+                int parsed;
+                try {
+                    parsed = Integer.parseInt(source.substring(slash + 1));
+                } catch (NumberFormatException ex) {
+                    parsed = -1;
+                }
+                if (parsed < 0 || parsed > prefixLength) {
+                    throw new IllegalArgumentException("Invalid prefix length of overflow source: " + source +
+                            ", must be 0 to " + prefixLength);
+                }
+                prefixLength = parsed;
+            }
+            overflowSources.add(new byte[][]{address, new byte[]{(byte) prefixLength}});
+        }
+    }
+
+    /**
+     * Admit a new connection before any handler is added to it. A rejected connection is reset
+     * right away; an admitted one is counted until it is closed.
+     *
+     * @return whether the connection was admitted
+     */
+    public boolean admit(Channel channel) {
+        int limit = maxConnections;
+        if (limit <= 0) {
+            return true;
+        }
+        int admitted = admittedCount.incrementAndGet();
+        if (admitted > limit && (admitted > limit + overflowConnections || !isOverflowSource(channel.remoteAddress()))) {
+            admittedCount.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            // RST instead of FIN, no TIME_WAIT for a socket that never served a request
+            channel.config().setOption(ChannelOption.SO_LINGER, 0);
+            channel.close();
+            return false;
+        }
+        channel.closeFuture().addListener(releaseListener);
+        return true;
+    }
+
+    private boolean isOverflowSource(SocketAddress remoteAddress) {
+        if (overflowConnections <= 0 || !(remoteAddress instanceof InetSocketAddress)) {
+            return false;
+        }
+        InetAddress address = ((InetSocketAddress) remoteAddress).getAddress();
+        if (address == null) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        for (byte[][] source : overflowSources) {
+            if (matches(bytes, source[0], source[1][0] & 0xff)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(byte[] address, byte[] network, int prefixLength) {
+        if (address.length != network.length) {
+            return false;
+        }
+        int i = 0;
+        for (; prefixLength >= 8; prefixLength -= 8, i++) {
+            if (address[i] != network[i]) {
+                return false;
+            }
+        }
+        if (prefixLength == 0) {
+            return true;
+        }
+        int mask = (0xff << (8 - prefixLength)) & 0xff;
+        return (address[i] & mask) == (network[i] & mask);
+    }
+
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
         registeredCount.incrementAndGet();
@@ -61,4 +199,58 @@ public class NioEndpoint extends ChannelInboundHandlerAdapter {
         return registeredCount.get();
     }
 
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Number of connections admitted and not closed yet, only counted with a limit.
+     */
+    public int getAdmittedCount() {
+        return admittedCount.get();
+    }
+
+    /**
+     * Number of connections rejected because the limit was reached.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Record that the server started to close a connection for the given reason.
+     */
+    public void connectionClosing(CloseReason reason) {
+        closeCounts.incrementAndGet(reason.ordinal());
+    }
+
+    /**
+     * Number of connections the server closed for the given reason.
+     */
+    public long getCloseCount(CloseReason reason) {
+        return closeCounts.get(reason.ordinal());
+    }
+
+
+    /**
+     * Why the server closed a connection.
+     */
+    public enum CloseReason {
+
+        /**
+         * No data read or written within the idle timeout
+         */
+        IDLE,
+
+        /**
+         * The maximum number of requests per connection was served
+         */
+        MAX_REQUESTS,
+
+        /**
+         * The connection reached its maximum age
+         */
+        MAX_AGE
+    }
+
 }
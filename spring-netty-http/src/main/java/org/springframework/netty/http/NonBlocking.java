@@ -0,0 +1,23 @@
+package org.springframework.netty.http;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a handler that never blocks, so the {@link DispatcherHandler} invokes it directly on the
+ * Netty I/O thread instead of handing the request to the worker executor.
+ * <p>The whole dispatch (interceptors, message conversion, handler) then runs on the event loop,
+ * so it must not wait on I/O, locks or other threads. Handlers that only sometimes block can
+ * implement {@link NonBlockingHandler} instead.
+ * <p>On a {@code @RequestMapping} bean the annotation marks all its handler methods, or a single one.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see DispatcherHandler#setEventLoopBlockingThreshold(long)
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NonBlocking {
+
+}
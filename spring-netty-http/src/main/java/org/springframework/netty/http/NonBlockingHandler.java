@@ -0,0 +1,24 @@
+package org.springframework.netty.http;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+
+/**
+ * Implemented by handlers that can decide per request whether they can be invoked on the
+ * Netty I/O thread, e.g. when serving a cached value.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see NonBlocking
+ */
+public interface NonBlockingHandler {
+
+    /**
+     * Whether handling the given request never blocks, called on the I/O thread.
+     *
+     * @param request current HTTP request
+     * @return {@code true} to handle the request on the I/O thread, {@code false} to use the worker executor
+     */
+    boolean isNonBlocking(FullHttpRequest request);
+
+}
@@ -0,0 +1,411 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import org.springframework.netty.http.context.HttpExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the responses of a connection in the order its requests arrived.
+ * <p>Pipelined HTTP/1.1 requests are dispatched concurrently, so their responses may complete
+ * in any order; a response that completes early is held back until all responses before it were
+ * written. A streamed response holds back all responses after it until its last chunk was written.
+ * All state is confined to the channel's event loop.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OrderedResponseQueue {
+
+    private static final AttributeKey<OrderedResponseQueue> RESPONSE_QUEUE = AttributeKey.valueOf("ordered_response_queue");
+
+    private final ChannelHandlerContext ctx;
+
+    /**
+     * Sequence of the next request read from the connection
+     */
+    private long nextSequence;
+
+    /**
+     * Sequence of the next response to write
+     */
+    private long writeSequence;
+
+    private final Map<Long, PendingResponse> pendingResponses = new HashMap<Long, PendingResponse>(4);
+
+    /**
+     * Interim responses, e.g. {@code 100 Continue}, waiting for the responses before their exchange
+     */
+    private final Map<Long, Object> interimResponses = new HashMap<Long, Object>(2);
+
+    private boolean closing;
+
+    /**
+     * Close the connection after the next response, see {@link #closeAfterResponse()}
+     */
+    private boolean closeRequested;
+
+    /**
+     * The streamed response being written, if any
+     */
+    private ChunkedResponseWriter stream;
+
+
+    private OrderedResponseQueue(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Return the response queue of the given channel, creating it if necessary.
+     * Must be called from the channel's event loop.
+     */
+    public static OrderedResponseQueue get(ChannelHandlerContext ctx) {
+        OrderedResponseQueue queue = ctx.channel().attr(RESPONSE_QUEUE).get();
+        if (queue == null) {
+            queue = new OrderedResponseQueue(ctx);
+            ctx.channel().attr(RESPONSE_QUEUE).set(queue);
+        }
+        return queue;
+    }
+
+    /**
+     * Return the response queue of the given channel, {@code null} if no request was read from it.
+     * Must be called from the channel's event loop.
+     */
+    public static OrderedResponseQueue find(Channel channel) {
+        return channel.attr(RESPONSE_QUEUE).get();
+    }
+
+    /**
+     * Create the exchange of a request read from the connection, on the event loop.
+     */
+    public HttpExchange newExchange(FullHttpRequest request) {
+        return new HttpExchange(request, this.nextSequence++);
+    }
+
+    /**
+     * Number of requests read but not answered yet.
+     */
+    public long getInFlight() {
+        return this.nextSequence - this.writeSequence;
+    }
+
+    /**
+     * Write the response of the given exchange once all responses before it were written.
+     *
+     * @param exchange the exchange
+     * @param response the response message
+     * @param close    whether to close the connection after the response
+     */
+    public void write(final HttpExchange exchange, final Object response, final boolean close) {
+        exchange.setResponseWritten(true);
+        if (this.ctx.executor().inEventLoop()) {
+            complete(exchange.getSequence(), response, close);
+        } else {
+            this.ctx.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    complete(exchange.getSequence(), response, close);
+                }
+            });
+        }
+    }
+
+    /**
+     * Write an interim response of the given exchange, e.g. {@code 100 Continue}, once all responses
+     * before it were written. The exchange keeps its position for the final response.
+     */
+    public void writeInterim(final HttpExchange exchange, final Object response) {
+        if (this.ctx.executor().inEventLoop()) {
+            doWriteInterim(exchange.getSequence(), response);
+        } else {
+            this.ctx.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    doWriteInterim(exchange.getSequence(), response);
+                }
+            });
+        }
+    }
+
+    private void doWriteInterim(long sequence, Object response) {
+        if (this.closing) {
+            release(response);
+        } else if (sequence == this.writeSequence && this.stream == null) {
+            this.ctx.writeAndFlush(response);
+        } else {
+            this.interimResponses.put(sequence, response);
+        }
+    }
+
+    /**
+     * Write a response made of several messages, e.g. a head, a {@link io.netty.channel.FileRegion}
+     * and the last content, once all responses before it were written.
+     */
+    public void writeAll(HttpExchange exchange, boolean close, Object... messages) {
+        write(exchange, new ResponseMessages(messages), close);
+    }
+
+    /**
+     * Write the head of a streamed response once all responses before it were written, then
+     * {@link ChunkedResponseWriter#started() start} the writer. The position of the exchange is
+     * released by {@link #endStream(HttpExchange, boolean, boolean)}.
+     */
+    public void writeStream(HttpExchange exchange, HttpResponse head, ChunkedResponseWriter writer) {
+        write(exchange, new StreamStart(head, writer), false);
+    }
+
+    /**
+     * End the streamed response of the given exchange.
+     *
+     * @param exchange the exchange
+     * @param complete whether to write the last chunk, else the body is left truncated
+     * @param close    whether to close the connection after the response
+     */
+    public void endStream(final HttpExchange exchange, final boolean complete, final boolean close) {
+        if (this.ctx.executor().inEventLoop()) {
+            doEndStream(exchange, complete, close);
+        } else {
+            this.ctx.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    doEndStream(exchange, complete, close);
+                }
+            });
+        }
+    }
+
+    private void doEndStream(HttpExchange exchange, boolean complete, boolean close) {
+        if (this.stream == null || exchange.getSequence() != this.writeSequence) {
+            if (!complete && !this.closing) {
+                // given up before its head was written, the responses after it can never be sent
+                this.closing = true;
+                this.ctx.close();
+                discard();
+            }
+            // else never started, the connection is gone
+            return;
+        }
+        this.stream = null;
+        close |= this.closeRequested;
+        if (!complete) {
+            this.writeSequence++;
+            this.closing = true;
+            this.ctx.close();
+            discard();
+            return;
+        }
+        doWrite(LastHttpContent.EMPTY_LAST_CONTENT, close);
+        writePending();
+    }
+
+    /**
+     * Wake up the writer of a streamed response waiting for the channel to become writable.
+     */
+    public void writabilityChanged() {
+        if (this.stream != null) {
+            this.stream.writabilityChanged();
+        }
+    }
+
+    /**
+     * Close the connection gracefully: the next response is sent with {@code Connection: close} and
+     * the connection is closed after it, a connection without a request in flight is closed right away.
+     * Must be called on the event loop.
+     *
+     * @return whether the connection was closed right away
+     */
+    public boolean closeAfterResponse() {
+        if (this.closing) {
+            return false;
+        }
+        this.closeRequested = true;
+        if (getInFlight() == 0 && this.stream == null) {
+            this.closing = true;
+            this.ctx.close();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Write a response that belongs to no exchange, e.g. the error of a request that could not be
+     * decoded, after all responses in flight and close the connection.
+     */
+    public static void writeLast(final ChannelHandlerContext ctx, final Object response) {
+        if (ctx.executor().inEventLoop()) {
+            OrderedResponseQueue queue = get(ctx);
+            queue.complete(queue.nextSequence++, response, true);
+        } else {
+            ctx.executor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    writeLast(ctx, response);
+                }
+            });
+        }
+    }
+
+    /**
+     * Release the position of an exchange that does not get a response through this queue,
+     * e.g. when an interceptor wrote its own response.
+     */
+    public void skip(HttpExchange exchange) {
+        write(exchange, null, false);
+    }
+
+    private void complete(long sequence, Object response, boolean close) {
+        if (this.closing) {
+            release(response);
+            return;
+        }
+        if (sequence != this.writeSequence) {
+            this.pendingResponses.put(sequence, new PendingResponse(response, close));
+            return;
+        }
+        doWrite(response, close);
+        writePending();
+    }
+
+    private void writePending() {
+        while (!this.closing && this.stream == null) {
+            Object interim = this.interimResponses.remove(this.writeSequence);
+            if (interim != null) {
+                this.ctx.write(interim);
+            }
+            PendingResponse pending = this.pendingResponses.remove(this.writeSequence);
+            if (pending == null) {
+                break;
+            }
+            doWrite(pending.response, pending.close);
+        }
+        this.ctx.flush();
+    }
+
+    private void doWrite(Object response, boolean close) {
+        if (response instanceof StreamStart) {
+            StreamStart start = (StreamStart) response;
+            if (this.closeRequested) {
+                setConnectionClose(start.head);
+            }
+            this.stream = start.writer;
+            this.ctx.write(start.head);
+            start.writer.started();
+            return;
+        }
+        this.writeSequence++;
+        if (response == null) {
+            return;
+        }
+        if (this.closeRequested) {
+            close = true;
+            setConnectionClose(response instanceof ResponseMessages ? ((ResponseMessages) response).messages[0] : response);
+        }
+        if (response instanceof ResponseMessages) {
+            Object[] messages = ((ResponseMessages) response).messages;
+            for (int i = 0; i < messages.length - 1; i++) {
+                this.ctx.write(messages[i]);
+            }
+            response = messages[messages.length - 1];
+        }
+        if (close) {
+            this.closing = true;
+            this.ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            discard();
+        } else {
+            this.ctx.write(response);
+        }
+    }
+
+    private static void setConnectionClose(Object message) {
+        if (message instanceof HttpResponse) {
+            ((HttpResponse) message).headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        }
+    }
+
+    /**
+     * Release all responses still waiting and drop later ones, e.g. when the connection was closed.
+     */
+    public void discard() {
+        this.closing = true;
+        for (PendingResponse pending : this.pendingResponses.values()) {
+            release(pending.response);
+        }
+        this.pendingResponses.clear();
+        for (Object interim : this.interimResponses.values()) {
+            release(interim);
+        }
+        this.interimResponses.clear();
+        if (this.stream != null) {
+            this.stream.aborted();
+        }
+    }
+
+    private static void release(Object response) {
+        if (response instanceof StreamStart) {
+            ((StreamStart) response).writer.aborted();
+        } else if (response instanceof ResponseMessages) {
+            for (Object message : ((ResponseMessages) response).messages) {
+                if (message instanceof ChunkedInput) {
+                    try {
+                        ((ChunkedInput<?>) message).close();
+                    } catch (Exception ex) {
+                        // ignore, the connection is gone
+                    }
+                } else {
+                    ReferenceCountUtil.release(message);
+                }
+            }
+        } else {
+            ReferenceCountUtil.release(response);
+        }
+    }
+
+
+    private static final class ResponseMessages {
+
+        private final Object[] messages;
+
+        ResponseMessages(Object[] messages) {
+            this.messages = messages;
+        }
+    }
+
+
+    private static final class StreamStart {
+
+        private final HttpResponse head;
+
+        private final ChunkedResponseWriter writer;
+
+        StreamStart(HttpResponse head, ChunkedResponseWriter writer) {
+            this.head = head;
+            this.writer = writer;
+        }
+    }
+
+
+    private static final class PendingResponse {
+
+        private final Object response;
+
+        private final boolean close;
+
+        PendingResponse(Object response, boolean close) {
+            this.response = response;
+            this.close = close;
+        }
+    }
+}
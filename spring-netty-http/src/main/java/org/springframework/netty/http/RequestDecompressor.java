@@ -0,0 +1,125 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Decodes request bodies sent with {@code Content-Encoding: gzip} or {@code deflate} before the
+ * {@link io.netty.handler.codec.http.HttpObjectAggregator}, which then aggregates the decoded
+ * chunks, so the converters read the decoded bytes from the aggregated buffer.
+ * <p>Decoding stops with a {@code 413} and the connection is closed as soon as a body inflates
+ * beyond {@code maxContentLength}, or beyond {@code maxInflationRatio} times its encoded size once
+ * it passed {@link #INFLATION_CHECK_SIZE}, so a small compressed body cannot expand into large
+ * amounts of memory or CPU time. The {@code 413} is written through the {@link OrderedResponseQueue},
+ * after the responses of pipelined requests read before.
+ * <p>One instance per channel.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestDecompressor extends HttpContentDecompressor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDecompressor.class);
+
+    /**
+     * Decoded bytes below which the inflation ratio is not checked, small bodies of repeated
+     * values may legitimately compress very well
+     */
+    public static final int INFLATION_CHECK_SIZE = 64 * 1024;
+
+    private final long maxContentLength;
+
+    private final int maxInflationRatio;
+
+    private HttpRequest request;
+
+    private boolean encoded;
+
+    private long encodedBytes;
+
+    private long decodedBytes;
+
+    private boolean rejected;
+
+    /**
+     * @param maxContentLength  the maximum size of a decoded body
+     * @param maxInflationRatio the maximum ratio of decoded to encoded bytes, {@code <= 0} for no limit
+     */
+    public RequestDecompressor(long maxContentLength, int maxInflationRatio) {
+        this.maxContentLength = maxContentLength;
+        this.maxInflationRatio = maxInflationRatio;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        if (rejected) {
+            // the connection is closing, released by MessageToMessageDecoder
+            return;
+        }
+        if (msg instanceof HttpRequest) {
+            request = (HttpRequest) msg;
+            String contentEncoding = ((HttpRequest) msg).headers().get(HttpHeaderNames.CONTENT_ENCODING);
+            encoded = (contentEncoding != null && !HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(contentEncoding.trim()));
+            encodedBytes = 0;
+            decodedBytes = 0;
+        }
+        if (!encoded) {
+            super.decode(ctx, msg, out);
+            return;
+        }
+        if (msg instanceof HttpContent) {
+            encodedBytes += ((HttpContent) msg).content().readableBytes();
+        }
+        int start = out.size();
+        super.decode(ctx, msg, out);
+        for (int i = start; i < out.size(); i++) {
+            Object decoded = out.get(i);
+            if (decoded instanceof HttpContent) {
+                decodedBytes += ((HttpContent) decoded).content().readableBytes();
+            }
+        }
+        if (decodedBytes > maxContentLength || (maxInflationRatio > 0 && decodedBytes > INFLATION_CHECK_SIZE
+                && decodedBytes > encodedBytes * maxInflationRatio)) {
+            while (out.size() > start) {
+                ReferenceCountUtil.release(out.remove(out.size() - 1));
+            }
+            reject(ctx);
+        }
+    }
+
+    private void reject(ChannelHandlerContext ctx) {
+        rejected = true;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Rejecting a request body of {} encoded bytes inflating to more than {} bytes from {}",
+                    encodedBytes, decodedBytes, ctx.channel().remoteAddress());
+        }
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, Unpooled.EMPTY_BUFFER);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        // headers only, the exchange keeps the request order of pipelined responses
+        FullHttpRequest headers = new DefaultFullHttpRequest(request.protocolVersion(), request.method(),
+                request.uri(), Unpooled.EMPTY_BUFFER, request.headers(), EmptyHttpHeaders.INSTANCE);
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+        queue.write(queue.newExchange(headers), response, true);
+    }
+}
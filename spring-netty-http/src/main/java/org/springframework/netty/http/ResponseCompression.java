@@ -0,0 +1,26 @@
+package org.springframework.netty.http;
+
+import java.lang.annotation.*;
+
+/**
+ * Turns response compression on or off for the responses of a handler, e.g. for a handler whose
+ * responses are already compressed or must be streamed byte by byte to the client.
+ * <p>On a {@code @RequestMapping} bean the annotation applies to all its handler methods, and a
+ * handler method may override it with its own.
+ * <p>Only takes effect if the {@link DispatcherHandler} has a {@link ResponseCompressor}.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see ResponseCompressor
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseCompression {
+
+    /**
+     * Whether the responses of the handler are compressed.
+     */
+    boolean value() default true;
+}
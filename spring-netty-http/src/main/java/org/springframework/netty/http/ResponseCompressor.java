@@ -0,0 +1,395 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.netty.http.mvc.HandlerMethod;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses full responses with gzip or deflate, negotiated from the {@code Accept-Encoding}
+ * of the request. Used by the {@link DispatcherHandler} on the worker thread that produced the
+ * response, so the event loop only writes the compressed bytes.
+ * <p>A response is left as it is if it is smaller than {@link #setMinResponseSize(int) minResponseSize},
+ * has an {@link #setExcludedMimeTypes(String...) already compressed} content type, already has a
+ * {@code Content-Encoding} (a handler may set {@code identity} to opt out for one response), or
+ * its handler is annotated with {@code @ResponseCompression(false)}.
+ * <p>The {@link Deflater}s are pooled and reset between responses, not kept per thread: a virtual
+ * thread executor runs every task on a new thread. Deflaters the pool has no room for are ended.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ResponseCompressor {
+
+    public static final int DEFAULT_MIN_RESPONSE_SIZE = 1024;
+
+    public static final String[] DEFAULT_EXCLUDED_MIME_TYPES = {"image/", "video/", "audio/",
+            "application/zip", "application/gzip", "application/x-gzip", "application/x-compress",
+            "application/x-bzip2", "application/x-7z-compressed", "application/x-rar-compressed",
+            "application/pdf", "font/woff", "font/woff2"};
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final String VARY_ACCEPT_ENCODING = "Accept-Encoding";
+
+    private BlockingQueue<Compressors> compressors =
+            new ArrayBlockingQueue<Compressors>(Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Handler type, or handler method, to whether its responses are compressed
+     */
+    private final ConcurrentMap<Object, Boolean> enabledHandlers = new ConcurrentHashMap<Object, Boolean>();
+
+    private int minResponseSize = DEFAULT_MIN_RESPONSE_SIZE;
+
+    private int compressionLevel = 6;
+
+    private String[] excludedMimeTypes = DEFAULT_EXCLUDED_MIME_TYPES;
+
+    private final LongAdder compressedCount = new LongAdder();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    /**
+     * Set the smallest body size to compress, default is 1024 bytes.
+     */
+    public void setMinResponseSize(int minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    /**
+     * Set the compression level from 1 (fastest) to 9 (smallest), default is 6. Set before the
+     * first response is compressed.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("compressionLevel: " + compressionLevel + " (expected: 1-9)");
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Set the number of idle deflater pairs kept for reuse, default is twice the number of processors.
+     * Set before the first response is compressed.
+     */
+    public void setMaxPooledCompressors(int maxPooledCompressors) {
+        if (maxPooledCompressors < 1) {
+            throw new IllegalArgumentException("maxPooledCompressors: " + maxPooledCompressors + " (expected: > 0)");
+        }
+        this.compressors = new ArrayBlockingQueue<Compressors>(maxPooledCompressors);
+    }
+
+    /**
+     * Set the content types not to compress, a type ending with {@code /} matches all its subtypes.
+     */
+    public void setExcludedMimeTypes(String... excludedMimeTypes) {
+        String[] types = new String[excludedMimeTypes.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = excludedMimeTypes[i].trim().toLowerCase(Locale.ENGLISH);
+        }
+        this.excludedMimeTypes = types;
+    }
+
+    /**
+     * Choose the content coding of a response.
+     *
+     * @param handler the handler that produced the response, may be {@code null}
+     * @return {@code gzip} or {@code deflate}, or {@code null} if the response is sent as it is
+     */
+    public String selectEncoding(HttpRequest request, FullHttpResponse response, Object handler) {
+        HttpHeaders headers = response.headers();
+        if (response.content().readableBytes() < minResponseSize ||
+                HttpMethod.HEAD.equals(request.method()) ||
+                !hasBody(response.status()) ||
+                headers.contains(HttpHeaderNames.CONTENT_ENCODING) ||
+                headers.contains(HttpHeaderNames.CONTENT_RANGE) ||
+                isExcluded(headers.get(HttpHeaderNames.CONTENT_TYPE)) ||
+                (handler != null && !isEnabled(handler))) {
+            return null;
+        }
+        return negotiate(request.headers().get(HttpHeaderNames.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Compress the body of the response with the given coding. The response is returned unchanged
+     * if the compressed body would not be smaller.
+     *
+     * @return the response to write, the given one is released if it was replaced
+     */
+    public FullHttpResponse compress(FullHttpResponse response, String encoding, ByteBufAllocator alloc) {
+        ByteBuf content = response.content();
+        int length = content.readableBytes();
+        BlockingQueue<Compressors> pool = this.compressors;
+        Compressors compressors = pool.poll();
+        if (compressors == null) {
+            compressors = new Compressors(compressionLevel);
+        }
+        ByteBuf compressed;
+        try {
+            compressed = compressors.compress(content, HttpHeaderValues.GZIP.contentEquals(encoding), alloc);
+        } finally {
+            if (!pool.offer(compressors)) {
+                compressors.end();
+            }
+        }
+        if (compressed == null) {
+            return response;
+        }
+        compressedCount.increment();
+        bytesIn.add(length);
+        bytesOut.add(compressed.readableBytes());
+
+        HttpHeaders headers = response.headers();
+        headers.set(HttpHeaderNames.CONTENT_ENCODING, encoding);
+        headers.set(HttpHeaderNames.CONTENT_LENGTH, compressed.readableBytes());
+        if (!headers.containsValue(HttpHeaderNames.VARY, VARY_ACCEPT_ENCODING, true)) {
+            headers.add(HttpHeaderNames.VARY, VARY_ACCEPT_ENCODING);
+        }
+        FullHttpResponse replaced = response.replace(compressed);
+        response.release();
+        return replaced;
+    }
+
+    private boolean isEnabled(Object handler) {
+        // handler methods one by one, the annotation of the method wins over the one of its bean
+        Object key = (handler instanceof HandlerMethod ? handler : handler.getClass());
+        Boolean enabled = enabledHandlers.get(key);
+        if (enabled == null) {
+            ResponseCompression annotation = null;
+            Class<?> handlerType = handler.getClass();
+            if (handler instanceof HandlerMethod) {
+                annotation = AnnotationUtils.findAnnotation(((HandlerMethod) handler).getMethod(), ResponseCompression.class);
+                handlerType = ((HandlerMethod) handler).getBeanType();
+            }
+            if (annotation == null) {
+                annotation = AnnotationUtils.findAnnotation(handlerType, ResponseCompression.class);
+            }
+            enabled = (annotation == null || annotation.value());
+            enabledHandlers.putIfAbsent(key, enabled);
+        }
+        return enabled;
+    }
+
+    private boolean isExcluded(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        contentType = contentType.toLowerCase(Locale.ENGLISH);
+        if (contentType.startsWith("image/svg+xml")) {
+            return false;
+        }
+        for (String excluded : excludedMimeTypes) {
+            if (contentType.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasBody(HttpResponseStatus status) {
+        int code = status.code();
+        return code >= 200 && code != HttpResponseStatus.NO_CONTENT.code() &&
+                code != HttpResponseStatus.NOT_MODIFIED.code();
+    }
+
+    /**
+     * Pick the coding with the highest quality, gzip before deflate on a tie.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            float q = 1;
+            int semicolon = coding.indexOf(';');
+            if (semicolon != -1) {
+                String parameter = coding.substring(semicolon + 1).trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(parameter.substring(2));
+                    } catch (NumberFormatException ex) {
+                        q = 0;
+                    }
+                }
+                coding = coding.substring(0, semicolon);
+            }
+            coding = coding.trim();
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (coding.equalsIgnoreCase("deflate")) {
+                deflate = Math.max(deflate, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return HttpHeaderValues.GZIP.toString();
+        }
+        if (deflate > 0) {
+            return HttpHeaderValues.DEFLATE.toString();
+        }
+        return null;
+    }
+
+    public long getCompressedCount() {
+        return compressedCount.sum();
+    }
+
+    /**
+     * Body bytes of the compressed responses before compression.
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * Body bytes of the compressed responses after compression.
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesIn.sum() - bytesOut.sum();
+    }
+
+    /**
+     * Number of idle deflater pairs in the pool.
+     */
+    public int getPooledCompressorCount() {
+        return compressors.size();
+    }
+
+    /**
+     * A pair of deflaters and their buffers, used by one thread at a time.
+     */
+    private static final class Compressors {
+
+        private final Deflater gzip;
+
+        private final Deflater deflate;
+
+        private final CRC32 crc = new CRC32();
+
+        private final byte[] input = new byte[BUFFER_SIZE];
+
+        private final byte[] output = new byte[BUFFER_SIZE];
+
+        Compressors(int level) {
+            this.gzip = new Deflater(level, true);
+            this.deflate = new Deflater(level, false);
+        }
+
+        /**
+         * @return the compressed body, or {@code null} if it is not smaller than the content
+         */
+        ByteBuf compress(ByteBuf content, boolean gzipped, ByteBufAllocator alloc) {
+            int length = content.readableBytes();
+            Deflater deflater = gzipped ? this.gzip : this.deflate;
+            ByteBuf out = alloc.buffer(Math.min(length, BUFFER_SIZE));
+            try {
+                if (gzipped) {
+                    out.writeBytes(GZIP_HEADER);
+                    crc.reset();
+                }
+                if (content.hasArray()) {
+                    byte[] array = content.array();
+                    int offset = content.arrayOffset() + content.readerIndex();
+                    if (gzipped) {
+                        crc.update(array, offset, length);
+                    }
+                    deflater.setInput(array, offset, length);
+                    if (!deflate(deflater, out, length)) {
+                        return null;
+                    }
+                } else {
+                    for (int index = content.readerIndex(), end = index + length; index < end; ) {
+                        int n = Math.min(input.length, end - index);
+                        content.getBytes(index, input, 0, n);
+                        if (gzipped) {
+                            crc.update(input, 0, n);
+                        }
+                        deflater.setInput(input, 0, n);
+                        if (!deflate(deflater, out, length)) {
+                            return null;
+                        }
+                        index += n;
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.writeBytes(output, 0, deflater.deflate(output));
+                    if (out.writerIndex() >= length) {
+                        return null;
+                    }
+                }
+                if (gzipped) {
+                    out.writeIntLE((int) crc.getValue());
+                    out.writeIntLE(length);
+                    if (out.writerIndex() >= length) {
+                        return null;
+                    }
+                }
+                ByteBuf compressed = out;
+                out = null;
+                return compressed;
+            } finally {
+                deflater.reset();
+                if (out != null) {
+                    out.release();
+                }
+            }
+        }
+
+        /**
+         * Free the native memory of the deflaters.
+         */
+        void end() {
+            gzip.end();
+            deflate.end();
+        }
+
+        /**
+         * Deflate the current input, {@code false} if the output grew to the size of the content.
+         */
+        private boolean deflate(Deflater deflater, ByteBuf out, int length) {
+            while (!deflater.needsInput()) {
+                out.writeBytes(output, 0, deflater.deflate(output));
+                if (out.writerIndex() >= length) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
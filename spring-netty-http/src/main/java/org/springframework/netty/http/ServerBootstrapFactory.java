@@ -10,9 +10,14 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.netty.http.support.IoUring;
+
+import java.util.Locale;
 
 /**
  * com.sun.javafx.PlatformUtil
+ * <p>The transport is {@link #setTransport(String) selected} among io_uring, epoll and NIO. A transport
+ * that is not available falls back to the next one in that order, {@code auto} takes the first available.
  *
  * @author thinking
  * @version 1.0
@@ -30,12 +35,66 @@ public class ServerBootstrapFactory {
     private static final boolean LINUX = os.startsWith("Linux");
     private static final boolean SOLARIS = os.startsWith("SunOS");
 
+    public static final String TRANSPORT_AUTO = "auto";
+    public static final String TRANSPORT_IO_URING = "io_uring";
+    public static final String TRANSPORT_EPOLL = "epoll";
+    public static final String TRANSPORT_NIO = "nio";
+
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
 
+    private String transport = TRANSPORT_AUTO;
+
+    private int acceptorCount = 1;
+
+    /**
+     * The transport of the last created bootstrap
+     */
+    private String selectedTransport;
+
+    /**
+     * Set the requested transport: {@code auto} (default), {@code io_uring}, {@code epoll} or {@code nio}.
+     */
+    public void setTransport(String transport) {
+        this.transport = (transport != null ? transport.trim().toLowerCase(Locale.ENGLISH).replace('-', '_') : TRANSPORT_AUTO);
+    }
+
+    /**
+     * Set the number of boss threads, one per listener bound with {@code SO_REUSEPORT}, default is 1.
+     * Only the epoll transport binds several listeners, the others always use a single boss thread.
+     */
+    public void setAcceptorCount(int acceptorCount) {
+        this.acceptorCount = Math.max(1, acceptorCount);
+    }
+
+    /**
+     * The transport actually used, {@code null} before the bootstrap was created.
+     */
+    public String getSelectedTransport() {
+        return selectedTransport;
+    }
+
     public ServerBootstrap newServerBootstrap(int ioThreadCount) {
-        if (useEpoll()) {
-            return newEpollServerBootstrap(ioThreadCount);
+        boolean auto = TRANSPORT_AUTO.equals(transport);
+        if (auto || TRANSPORT_IO_URING.equals(transport)) {
+            if (useIoUring()) {
+                ServerBootstrap bootstrap = newIoUringServerBootstrap(ioThreadCount);
+                if (bootstrap != null) {
+                    return bootstrap;
+                }
+            } else if (!auto) {
+                logger.warn("netty server cannot use io_uring, falling back: " + IoUring.unavailabilityCause());
+            }
+        }
+        if (auto || TRANSPORT_IO_URING.equals(transport) || TRANSPORT_EPOLL.equals(transport)) {
+            if (useEpoll()) {
+                return newEpollServerBootstrap(ioThreadCount);
+            }
+            if (!auto) {
+                logger.warn("netty server cannot use epoll, falling back to NIO: " + Epoll.unavailabilityCause());
+            }
+        } else if (!TRANSPORT_NIO.equals(transport)) {
+            logger.warn("Unknown netty transport [" + transport + "], using NIO.");
         }
 
         return newNioServerBootstrap(ioThreadCount);
@@ -51,8 +110,28 @@ public class ServerBootstrapFactory {
         }
     }
 
+    private ServerBootstrap newIoUringServerBootstrap(int ioThreadCount) {
+        EventLoopGroup boss = IoUring.newEventLoopGroup(1);
+        EventLoopGroup worker = (boss != null ? IoUring.newEventLoopGroup(ioThreadCount > 0 ? ioThreadCount : 0) : null);
+        if (worker == null) {
+            if (boss != null) {
+                boss.shutdownGracefully();
+            }
+            return null;
+        }
+        logger.info("netty server used io_uring.");
+        selectedTransport = TRANSPORT_IO_URING;
+        bossGroup = boss;
+        workerGroup = worker;
+
+        return new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(IoUring.serverChannelClass());
+    }
+
     private ServerBootstrap newNioServerBootstrap(int ioThreadCount) {
         logger.info("netty server used NIO.");
+        selectedTransport = TRANSPORT_NIO;
         if (ioThreadCount > 0) {
             bossGroup = new NioEventLoopGroup(1);
             workerGroup = new NioEventLoopGroup(ioThreadCount);
@@ -68,11 +147,12 @@ public class ServerBootstrapFactory {
 
     private ServerBootstrap newEpollServerBootstrap(int ioThreadCount) {
         logger.info("netty server used Epoll.");
+        selectedTransport = TRANSPORT_EPOLL;
         if (ioThreadCount > 0) {
-            bossGroup = new EpollEventLoopGroup(1);
+            bossGroup = new EpollEventLoopGroup(acceptorCount);
             workerGroup = new EpollEventLoopGroup(ioThreadCount);
         } else {
-            bossGroup = new EpollEventLoopGroup(1);
+            bossGroup = new EpollEventLoopGroup(acceptorCount);
             workerGroup = new EpollEventLoopGroup();
         }
 
@@ -95,5 +175,9 @@ public class ServerBootstrapFactory {
         return LINUX && Epoll.isAvailable();
     }
 
+    private boolean useIoUring() {
+        return LINUX && IoUring.isAvailable();
+    }
+
 
 }
@@ -0,0 +1,35 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpRequest;
+
+import java.io.IOException;
+
+/**
+ * Sibling of {@link HttpRequestHandler} for request bodies that are consumed as they arrive instead
+ * of being aggregated into a {@link io.netty.handler.codec.http.FullHttpRequest} first, e.g. large uploads.
+ * <p>The handler is mapped with {@code @RequestMapping} like any other handler. All callbacks of one
+ * request run one after the other on the worker executor, while the channel stops reading whenever
+ * the handler falls behind, so a body of any size is ingested in constant memory.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see StreamingRequestDecoder
+ */
+public interface StreamingHttpRequestHandler {
+
+    /**
+     * Start handling a request, called once the request headers arrived.
+     *
+     * @return the receiver of the request body
+     */
+    StreamingRequestBody handleRequest(ChannelHandlerContext ctx, HttpRequest request) throws IOException;
+
+    /**
+     * The maximum body size of this route in bytes, larger requests are answered with
+     * {@code 413 Request Entity Too Large}; a negative value means no limit.
+     */
+    long getMaxContentLength();
+
+}
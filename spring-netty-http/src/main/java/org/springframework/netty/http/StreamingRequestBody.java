@@ -0,0 +1,38 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+
+import java.io.IOException;
+
+/**
+ * Receiver of one streamed request body, see {@link StreamingHttpRequestHandler}.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface StreamingRequestBody {
+
+    /**
+     * Consume the next part of the body. The buffer is released after this method returns,
+     * {@link ByteBuf#retain() retain} it to keep it longer.
+     */
+    void onContent(ByteBuf content) throws IOException;
+
+    /**
+     * The whole body was received.
+     *
+     * @param trailingHeaders the trailing headers of a chunked body, may be empty
+     * @return the response to write
+     */
+    FullHttpResponse onComplete(HttpHeaders trailingHeaders) throws IOException;
+
+    /**
+     * The body will not be completed, e.g. it exceeded the maximum size, the connection was
+     * closed or one of the other callbacks failed. Release any resources held for the request.
+     */
+    void onError(Throwable cause);
+
+}
@@ -0,0 +1,424 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.handler.StreamingHandlerMapping;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpResponseStatus.*;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+/**
+ * Takes the requests of {@link StreamingHttpRequestHandler} routes out of the pipeline before the
+ * {@link HttpObjectAggregator}, every other request passes through unchanged.
+ * <p>The body parts of a streamed request are handed to the worker executor in order. While more than
+ * {@link #setHighWaterMark(int) highWaterMark} bytes wait for the handler, the channel stops reading
+ * from the socket, and resumes once the handler caught up.
+ * <p>Created with the {@link DispatcherHandler}, a streamed request is admitted and counted like a
+ * dispatch, from its head until it was answered.
+ * <p>One instance per channel.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamingRequestDecoder extends ChannelInboundHandlerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingRequestDecoder.class);
+
+    private final StreamingHandlerMapping handlerMapping;
+
+    private final Executor executor;
+
+    private final DispatcherHandler dispatcherHandler;
+
+    private int highWaterMark = 64 * 1024;
+
+    /**
+     * The request whose body is being read, {@code null} while requests pass through
+     */
+    private StreamingRequest current;
+
+    /**
+     * Drop the rest of a rejected body
+     */
+    private boolean discarding;
+
+    public StreamingRequestDecoder(StreamingHandlerMapping handlerMapping, Executor executor) {
+        this.handlerMapping = handlerMapping;
+        this.executor = executor;
+        this.dispatcherHandler = null;
+    }
+
+    /**
+     * Run streamed requests on the worker executor of the given dispatcher, through its admission.
+     */
+    public StreamingRequestDecoder(StreamingHandlerMapping handlerMapping, DispatcherHandler dispatcherHandler) {
+        this.handlerMapping = handlerMapping;
+        this.executor = dispatcherHandler.getExecutorService();
+        this.dispatcherHandler = dispatcherHandler;
+    }
+
+    /**
+     * Set the number of received bytes that may wait for the handler before the channel stops
+     * reading, default is 64 KB.
+     */
+    public void setHighWaterMark(int highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest) msg;
+            discarding = false;
+            StreamingHttpRequestHandler handler = (request.decoderResult().isSuccess() ?
+                    handlerMapping.getHandler(path(request.uri())) : null);
+            if (handler == null) {
+                ctx.fireChannelRead(msg);
+                return;
+            }
+            start(ctx, request, handler);
+            if (msg instanceof HttpContent) {
+                content(ctx, (HttpContent) msg);
+            }
+            return;
+        }
+        if (msg instanceof HttpContent && (current != null || discarding)) {
+            content(ctx, (HttpContent) msg);
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private void start(ChannelHandlerContext ctx, HttpRequest request, StreamingHttpRequestHandler handler) {
+        // headers only, keeps the exchange and the request order of pipelined responses
+        FullHttpRequest headers = new DefaultFullHttpRequest(request.protocolVersion(), request.method(),
+                request.uri(), Unpooled.EMPTY_BUFFER, request.headers(), EmptyHttpHeaders.INSTANCE);
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+        HttpExchange exchange = queue.newExchange(headers);
+        long maxContentLength = handler.getMaxContentLength();
+        if (maxContentLength >= 0 && HttpUtil.getContentLength(request, -1L) > maxContentLength) {
+            discarding = true;
+            queue.write(exchange, errorResponse(REQUEST_ENTITY_TOO_LARGE), true);
+            return;
+        }
+        if (dispatcherHandler != null && !dispatcherHandler.tryAdmit()) {
+            discarding = true;
+            queue.write(exchange, dispatcherHandler.getLoadShedder().newResponse(false), true);
+            return;
+        }
+        if (HttpUtil.is100ContinueExpected(request)) {
+            // after the responses before it, e.g. between the chunks of a streamed response
+            queue.writeInterim(exchange, new DefaultFullHttpResponse(HTTP_1_1, CONTINUE, Unpooled.EMPTY_BUFFER));
+        }
+        current = new StreamingRequest(ctx, exchange, handler, request, maxContentLength);
+        current.submit(request, 0);
+    }
+
+    private void content(ChannelHandlerContext ctx, HttpContent content) {
+        boolean last = content instanceof LastHttpContent;
+        if (discarding) {
+            content.release();
+            discarding = !last;
+            return;
+        }
+        StreamingRequest request = this.current;
+        if (last) {
+            this.current = null;
+        }
+        int size = content.content().readableBytes();
+        request.received += size;
+        if (request.maxContentLength >= 0 && request.received > request.maxContentLength) {
+            content.release();
+            this.current = null;
+            discarding = !last;
+            request.submit(new TooLongFrameException("Request body exceeds " + request.maxContentLength + " bytes"), 0);
+            return;
+        }
+        request.submit(content, size);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        abort();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        abort();
+    }
+
+    private void abort() {
+        StreamingRequest request = this.current;
+        if (request != null) {
+            this.current = null;
+            request.submit(new ClosedChannelException(), 0);
+        }
+    }
+
+    private static String path(String uri) {
+        int queryIndex = uri.indexOf('?');
+        return (queryIndex != -1 ? uri.substring(0, queryIndex) : uri);
+    }
+
+    private static FullHttpResponse errorResponse(HttpResponseStatus status) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        response.headers().set(CONTENT_LENGTH, 0);
+        return response;
+    }
+
+
+    /**
+     * Runs the callbacks of one request on the worker executor, one after the other.
+     */
+    private final class StreamingRequest implements Runnable {
+
+        private final ChannelHandlerContext ctx;
+
+        private final HttpExchange exchange;
+
+        private final StreamingHttpRequestHandler handler;
+
+        private final HttpRequest request;
+
+        private final long maxContentLength;
+
+        private final long submitTime = System.nanoTime();
+
+        /**
+         * Whether the request is counted by the dispatcher, until it was answered
+         */
+        private final AtomicBoolean admitted = new AtomicBoolean(dispatcherHandler != null);
+
+        /**
+         * Whether a worker ran the request
+         */
+        private volatile boolean started;
+
+        /**
+         * Body bytes received, event loop only
+         */
+        private long received;
+
+        private final ArrayDeque<Object> pending = new ArrayDeque<Object>();
+
+        private boolean running;
+
+        private int pendingBytes;
+
+        private boolean paused;
+
+        /**
+         * Worker thread only
+         */
+        private StreamingRequestBody body;
+
+        private boolean finished;
+
+        StreamingRequest(ChannelHandlerContext ctx, HttpExchange exchange, StreamingHttpRequestHandler handler,
+                         HttpRequest request, long maxContentLength) {
+            this.ctx = ctx;
+            this.exchange = exchange;
+            this.handler = handler;
+            this.request = request;
+            this.maxContentLength = maxContentLength;
+        }
+
+        /**
+         * Queue the request start, a body part or a failure. Called on the event loop.
+         */
+        void submit(Object task, int size) {
+            boolean schedule;
+            boolean pause = false;
+            synchronized (this) {
+                pending.add(task);
+                pendingBytes += size;
+                schedule = !running;
+                running = true;
+                if (!paused && pendingBytes > highWaterMark) {
+                    paused = pause = true;
+                }
+            }
+            if (pause) {
+                ctx.channel().config().setAutoRead(false);
+            }
+            if (schedule) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    // no worker to run the callbacks, fail without them
+                    drop();
+                    OrderedResponseQueue.get(ctx).write(exchange, errorResponse(SERVICE_UNAVAILABLE), true);
+                    if (!started && admitted.compareAndSet(true, false)) {
+                        dispatcherHandler.admittedRejected();
+                    } else {
+                        release();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!started) {
+                started = true;
+                if (admitted.get()) {
+                    dispatcherHandler.admittedStarted(submitTime);
+                }
+            }
+            RequestContextHolder.setExchange(exchange);
+            try {
+                for (; ; ) {
+                    Object task;
+                    synchronized (this) {
+                        task = pending.poll();
+                        if (task == null) {
+                            running = false;
+                            break;
+                        }
+                        if (task instanceof HttpContent) {
+                            pendingBytes -= ((HttpContent) task).content().readableBytes();
+                        }
+                    }
+                    process(task);
+                    resume();
+                }
+            } finally {
+                RequestContextHolder.resetExchange();
+            }
+            if (finished) {
+                release();
+            }
+        }
+
+        /**
+         * Release the admission once the request was answered. The time depends on the client
+         * sending the body, it is no latency sample.
+         */
+        private void release() {
+            if (admitted.compareAndSet(true, false)) {
+                dispatcherHandler.releaseAdmitted(System.nanoTime() - submitTime, false);
+            }
+        }
+
+        private void process(Object task) {
+            if (task instanceof Throwable) {
+                Throwable cause = (Throwable) task;
+                fail(cause, (cause instanceof TooLongFrameException ? REQUEST_ENTITY_TOO_LARGE : null));
+                return;
+            }
+            if (finished) {
+                ReferenceCountUtil.release(task);
+                return;
+            }
+            try {
+                if (task instanceof HttpRequest) {
+                    body = handler.handleRequest(ctx, request);
+                    if (body == null) {
+                        throw new IllegalStateException("Streaming handler [" + handler + "] returned no request body");
+                    }
+                } else {
+                    HttpContent content = (HttpContent) task;
+                    try {
+                        if (content.content().isReadable()) {
+                            body.onContent(content.content());
+                        }
+                    } finally {
+                        content.release();
+                    }
+                    if (content instanceof LastHttpContent) {
+                        finished = true;
+                        complete(body.onComplete(((LastHttpContent) content).trailingHeaders()));
+                    }
+                }
+            } catch (Throwable ex) {
+                fail(ex, INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        private void complete(FullHttpResponse response) {
+            boolean keepAlive = exchange.isKeepAlive();
+            if (!response.headers().contains(CONTENT_LENGTH)) {
+                response.headers().set(CONTENT_LENGTH, response.content().readableBytes());
+            }
+            if (keepAlive) {
+                response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            }
+            OrderedResponseQueue.get(ctx).write(exchange, response, !keepAlive);
+        }
+
+        /**
+         * @param status the status to answer with, {@code null} if the connection is gone
+         */
+        private void fail(Throwable cause, HttpResponseStatus status) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (body != null) {
+                try {
+                    body.onError(cause);
+                } catch (Throwable ex) {
+                    logger.warn("StreamingRequestBody.onError threw exception", ex);
+                }
+                body = null;
+            }
+            if (status == INTERNAL_SERVER_ERROR) {
+                logger.error("Streaming request " + request.uri() + " failed", cause);
+            }
+            if (status != null && !exchange.isResponseWritten()) {
+                // the rest of the body is not read, so the connection cannot be reused
+                OrderedResponseQueue.get(ctx).write(exchange, errorResponse(status), true);
+            }
+        }
+
+        /**
+         * Release what was queued when the executor rejected the request.
+         */
+        private void drop() {
+            synchronized (this) {
+                for (Object task : pending) {
+                    if (!(task instanceof HttpRequest)) {
+                        ReferenceCountUtil.release(task);
+                    }
+                }
+                pending.clear();
+                pendingBytes = 0;
+                running = false;
+            }
+            current = null;
+            discarding = true;
+            resume();
+        }
+
+        private void resume() {
+            boolean resume = false;
+            synchronized (this) {
+                if (paused && pendingBytes <= highWaterMark / 2) {
+                    paused = false;
+                    resume = true;
+                }
+            }
+            if (resume) {
+                ctx.channel().config().setAutoRead(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.springframework.netty.http;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+/**
+ * Status, headers and {@link StreamingResponseBody} of a streamed response.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamingResponse {
+
+    private HttpResponseStatus status = HttpResponseStatus.OK;
+
+    private final HttpHeaders headers = new DefaultHttpHeaders();
+
+    private final StreamingResponseBody body;
+
+    public StreamingResponse(StreamingResponseBody body) {
+        Assert.notNull(body, "StreamingResponseBody must not be null");
+        this.body = body;
+    }
+
+    public StreamingResponse status(HttpResponseStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public StreamingResponse contentType(MediaType contentType) {
+        this.headers.set(HttpHeaderNames.CONTENT_TYPE, contentType.toString());
+        return this;
+    }
+
+    public StreamingResponse header(CharSequence name, Object value) {
+        this.headers.set(name, value);
+        return this;
+    }
+
+    public HttpResponseStatus getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public StreamingResponseBody getBody() {
+        return body;
+    }
+}
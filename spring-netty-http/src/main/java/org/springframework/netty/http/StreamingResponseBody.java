@@ -0,0 +1,24 @@
+package org.springframework.netty.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A response body written by the handler itself after the handler returned, e.g. a large export
+ * that should not be materialized in memory. Return it from a handler, or wrap it in a
+ * {@link StreamingResponse} to set the status and headers.
+ * <p>The body is sent with {@code Transfer-Encoding: chunked}. It is written on a worker thread,
+ * and writes block while the connection cannot take more data, so the producer is paced by the client.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface StreamingResponseBody {
+
+    /**
+     * Write the response body, the stream is closed afterwards.
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+
+}
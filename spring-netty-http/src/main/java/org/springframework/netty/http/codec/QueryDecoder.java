@@ -19,6 +19,8 @@ public class QueryDecoder extends QueryStringDecoder {
 
     private Map<String, String> bodyMap;
 
+    private String bestMatchingPattern;
+
     public QueryDecoder(String uri) {
         super(uri);
     }
@@ -52,6 +54,17 @@ public class QueryDecoder extends QueryStringDecoder {
         this.uriTemplateVariables = uriTemplateVariables;
     }
 
+    /**
+     * The best matching pattern within the handler mapping, may be {@code null}.
+     */
+    public String getBestMatchingPattern() {
+        return bestMatchingPattern;
+    }
+
+    public void setBestMatchingPattern(String bestMatchingPattern) {
+        this.bestMatchingPattern = bestMatchingPattern;
+    }
+
     // apache tomcat
     public String getParameter(final String name) {
         List<String> values = this.parameters().get(name);
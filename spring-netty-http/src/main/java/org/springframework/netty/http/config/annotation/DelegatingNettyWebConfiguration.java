@@ -56,6 +56,11 @@ public class DelegatingNettyWebConfiguration extends NettyWebConfigurationSuppor
         return this.configurers.getThreadPoolExecutor();
     }
 
+    @Override
+    protected void configureExecutors(ExecutorRegistry registry) {
+        this.configurers.configureExecutors(registry);
+    }
+
     @Override
     protected Validator getValidator() {
         return this.configurers.getValidator();
@@ -6,6 +6,17 @@ package org.springframework.netty.http.config.annotation;
  * @since 2020-03-23
  */
 public class ExecutionProperties {
+
+    public static final String POOL_EXECUTOR = "pool";
+
+    public static final String VIRTUAL_EXECUTOR = "virtual";
+
+    /**
+     * Worker executor type, "pool" for a bounded thread pool or "virtual" for a virtual
+     * thread per request on JDK 21+, falling back to the pool on older JVMs.
+     */
+    private String executor = POOL_EXECUTOR;
+
     /**
      * Prefix to use for the names of newly created threads.
      * http-nio-
@@ -42,6 +53,14 @@ public class ExecutionProperties {
     private int keepAlive = 60;
 
 
+    public String getExecutor() {
+        return this.executor;
+    }
+
+    public void setExecutor(String executor) {
+        this.executor = executor;
+    }
+
     public String getThreadNamePrefix() {
         return this.threadNamePrefix;
     }
@@ -93,7 +112,8 @@ public class ExecutionProperties {
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("ExecutionProperties{");
-        sb.append("threadNamePrefix='").append(threadNamePrefix).append('\'');
+        sb.append("executor='").append(executor).append('\'');
+        sb.append(", threadNamePrefix='").append(threadNamePrefix).append('\'');
         sb.append(", queueCapacity=").append(queueCapacity);
         sb.append(", coreSize=").append(coreSize);
         sb.append(", maxSize=").append(maxSize);
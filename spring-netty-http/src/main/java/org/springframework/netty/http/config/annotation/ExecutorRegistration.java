@@ -0,0 +1,134 @@
+package org.springframework.netty.http.config.annotation;
+
+import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ExecutorRegistration {
+
+    private final String name;
+
+    private final List<String> routes = new ArrayList<String>();
+
+    private final List<Class<?>> handlerTypes = new ArrayList<Class<?>>();
+
+    private int corePoolSize = 8;
+
+    private int maxPoolSize = 50;
+
+    private int queueCapacity = 500;
+
+    private int keepAliveSeconds = 60;
+
+    private RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
+
+    private ExecutorService executor;
+
+
+    /**
+     * Create an {@link ExecutorRegistration} instance.
+     */
+    public ExecutorRegistration(String name) {
+        Assert.hasText(name, "Bulkhead name is required");
+        this.name = name;
+    }
+
+
+    /**
+     * Add the handler mapping patterns served by this executor, as registered,
+     * e.g. {@code /report/{id}}.
+     */
+    public ExecutorRegistration addRoutes(String... routes) {
+        this.routes.addAll(Arrays.asList(routes));
+        return this;
+    }
+
+    /**
+     * Add the handler types served by this executor, e.g. {@code @RequestMapping} annotated handlers.
+     */
+    public ExecutorRegistration addHandlers(Class<?>... handlerTypes) {
+        this.handlerTypes.addAll(Arrays.asList(handlerTypes));
+        return this;
+    }
+
+    public ExecutorRegistration corePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+        return this;
+    }
+
+    public ExecutorRegistration maxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    public ExecutorRegistration queueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public ExecutorRegistration keepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+        return this;
+    }
+
+    /**
+     * The policy for requests the full executor cannot take, default is to reject them,
+     * which answers {@code 503}. Note that policies running the task in the calling
+     * thread run it on the I/O thread.
+     */
+    public ExecutorRegistration rejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+        return this;
+    }
+
+    /**
+     * Use the given executor instead of creating a pool.
+     */
+    public ExecutorRegistration executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    protected String getName() {
+        return name;
+    }
+
+    protected List<String> getRoutes() {
+        return routes;
+    }
+
+    protected List<Class<?>> getHandlerTypes() {
+        return handlerTypes;
+    }
+
+    /**
+     * Build the executor.
+     */
+    protected ExecutorService getExecutor() {
+        if (this.executor != null) {
+            return this.executor;
+        }
+        ThreadPoolExecutorFactoryBean taskExecutor = new ThreadPoolExecutorFactoryBean();
+        taskExecutor.setCorePoolSize(corePoolSize);
+        taskExecutor.setMaxPoolSize(maxPoolSize);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setKeepAliveSeconds(keepAliveSeconds);
+        taskExecutor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        taskExecutor.setThreadNamePrefix(name + "-");
+        taskExecutor.initialize();
+        this.executor = taskExecutor.getObject();
+        return this.executor;
+    }
+
+}
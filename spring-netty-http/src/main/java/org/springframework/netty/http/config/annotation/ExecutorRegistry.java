@@ -0,0 +1,49 @@
+package org.springframework.netty.http.config.annotation;
+
+import org.springframework.netty.http.BulkheadExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of bulkhead executors, each serving a set of routes or handler types with its own
+ * threads, queue and rejection policy.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ExecutorRegistry {
+
+    private final List<ExecutorRegistration> registrations = new ArrayList<ExecutorRegistration>();
+
+
+    /**
+     * Adds a bulkhead executor with the given name, also used for its thread names and metrics.
+     *
+     * @param name the bulkhead name
+     * @return An {@link ExecutorRegistration} to assign routes and size the executor
+     */
+    public ExecutorRegistration addExecutor(String name) {
+        ExecutorRegistration registration = new ExecutorRegistration(name);
+        this.registrations.add(registration);
+        return registration;
+    }
+
+    protected List<ExecutorRegistration> getRegistrations() {
+        return registrations;
+    }
+
+    /**
+     * Create the registered executors.
+     */
+    protected BulkheadExecutors getExecutors() {
+        BulkheadExecutors executors = new BulkheadExecutors();
+        for (ExecutorRegistration registration : this.registrations) {
+            executors.addExecutor(registration.getName(), registration.getExecutor(),
+                    registration.getRoutes(), registration.getHandlerTypes());
+        }
+        return executors;
+    }
+
+}
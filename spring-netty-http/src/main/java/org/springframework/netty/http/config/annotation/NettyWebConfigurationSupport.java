@@ -1,6 +1,7 @@
 package org.springframework.netty.http.config.annotation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,16 +15,32 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.netty.http.AdaptiveConcurrencyLimiter;
+import org.springframework.netty.http.BulkheadExecutors;
 import org.springframework.netty.http.DispatcherHandler;
 import org.springframework.netty.http.HandlerExceptionResolver;
 import org.springframework.netty.http.HttpServer;
+import org.springframework.netty.http.LoadShedder;
 import org.springframework.netty.http.NioEndpoint;
+import org.springframework.netty.http.ResponseCompressor;
+import org.springframework.netty.http.StreamingHttpRequestHandler;
 import org.springframework.netty.http.converter.FormHttpMessageConverter;
 import org.springframework.netty.http.converter.HttpMessageConverter;
 import org.springframework.netty.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.netty.http.handler.RequestMappingHandlerMapping;
 import org.springframework.netty.http.handler.SimpleUrlHandlerMapping;
+import org.springframework.netty.http.handler.StreamingHandlerMapping;
+import org.springframework.netty.http.metrics.CompressionMetrics;
+import org.springframework.netty.http.metrics.ConcurrencyLimiterMetrics;
+import org.springframework.netty.http.metrics.HandlerLookupCacheMetrics;
+import org.springframework.netty.http.metrics.InstrumentedExecutorServiceMetrics;
+import org.springframework.netty.http.metrics.LoadShedderMetrics;
+import org.springframework.netty.http.support.InstrumentedExecutorService;
+import org.springframework.netty.http.support.VirtualThreads;
 import org.springframework.netty.http.mvc.DelegatingHandlerExceptionResolver;
+import org.springframework.netty.http.mvc.HandlerMetadataRegistry;
 import org.springframework.netty.http.mvc.HttpRequestHandlerAdapter;
+import org.springframework.netty.http.mvc.RequestMappingHandlerAdapter;
 import org.springframework.netty.http.support.DefaultHandlerExceptionResolver;
 import org.springframework.netty.http.util.CountSampling;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
@@ -35,6 +52,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * WebMvcConfigurationSupport
@@ -87,6 +105,8 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
 
     private CountSampling countSampling = new CountSampling();
 
+    private final List<Object> requestMappingHandlers = new ArrayList<Object>();
+
     @Override
     public void setEnvironment(Environment environment) {
         this.environment = environment;
@@ -103,13 +123,27 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
         // RequestMapping
         Map<String, Object> handlers = applicationContext.getBeansWithAnnotation(RequestMapping.class);
         SimpleUrlHandlerMapping handlerMapping = simpleUrlHandlerMapping();
+        StreamingHandlerMapping streamingHandlerMapping = streamingHandlerMapping();
+        RequestMappingHandlerMapping requestMappingHandlerMapping = requestMappingHandlerMapping();
         for (Map.Entry<String, Object> entry : handlers.entrySet()) {
             Object handler = entry.getValue();
+            int handlerMethods = requestMappingHandlerMapping.registerHandlerMethods(handler);
+            if (handlerMethods > 0 && !(handler instanceof org.springframework.netty.http.HttpRequestHandler) &&
+                    !(handler instanceof StreamingHttpRequestHandler)) {
+                // no class-level handler to map
+                continue;
+            }
             RequestMapping requestMapping = AnnotationUtils.getAnnotation(handler.getClass(), RequestMapping.class);
             String[] path = requestMapping.value();
             //RequestMethod[] requestMethods = requestMapping.method();
 
+            if (handler instanceof StreamingHttpRequestHandler) {
+                // bodies are not aggregated, see StreamingRequestDecoder
+                streamingHandlerMapping.registerHandler(path, (StreamingHttpRequestHandler) handler);
+                continue;
+            }
             handlerMapping.registerHandler(path, handler);
+            requestMappingHandlers.add(handler);
         }
     }
 
@@ -237,14 +271,50 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
 
 
 
+    @Bean
+    public StreamingHandlerMapping streamingHandlerMapping() {
+        return new StreamingHandlerMapping();
+    }
+
     @Bean
     public SimpleUrlHandlerMapping simpleUrlHandlerMapping() {
         SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
         mapping.setOrder(0);
         mapping.setInterceptors(getInterceptors());
+        if (environment != null) {
+            Integer lookupCacheSize = environment.getProperty("server.netty.handler-mapping.lookup-cache-size", Integer.class);
+            if (lookupCacheSize != null && lookupCacheSize > 0) {
+                mapping.setLookupCacheSize(lookupCacheSize);
+                if (meterRegistryPresent) {
+                    new HandlerLookupCacheMetrics(mapping.getLookupCache(), Collections.emptyList()).registerMetrics();
+                }
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * Returns a {@link RequestMappingHandlerMapping} for the {@code @RequestMapping} methods of the
+     * handlers, ordered before the {@link #simpleUrlHandlerMapping() class-level mappings}.
+     */
+    @Bean
+    public RequestMappingHandlerMapping requestMappingHandlerMapping() {
+        RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+        mapping.setOrder(-1);
+        mapping.setInterceptors(getInterceptors());
         return mapping;
     }
 
+    /**
+     * Returns a {@link RequestMappingHandlerAdapter} for invoking the {@code @RequestMapping} methods.
+     */
+    @Bean
+    public RequestMappingHandlerAdapter requestMappingHandlerAdapter() {
+        RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+        adapter.setMessageConverters(getMessageConverters());
+        return adapter;
+    }
+
     /**
      * Returns a {@link HttpRequestHandlerAdapter} for processing requests
      * with {@link HttpRequestHandler}s.
@@ -252,10 +322,20 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
     @Bean
     public HttpRequestHandlerAdapter httpRequestHandlerAdapter() {
         HttpRequestHandlerAdapter adapter =  new HttpRequestHandlerAdapter();
+        adapter.setHandlerMetadataRegistry(handlerMetadataRegistry());
         adapter.setMessageConverters(getMessageConverters());
         return adapter;
     }
 
+    /**
+     * Returns the {@link HandlerMetadataRegistry} of the {@code @RequestMapping} handlers,
+     * resolved with the shared {@link #getMessageConverters() message converters}.
+     */
+    @Bean
+    public HandlerMetadataRegistry handlerMetadataRegistry() {
+        return new HandlerMetadataRegistry(requestMappingHandlers, getMessageConverters());
+    }
+
     /**
      * Returns a {@link DelegatingHandlerExceptionResolver} containing a list of exception
      * resolvers obtained either through {@link #configureHandlerExceptionResolvers} or
@@ -317,9 +397,106 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
             }
         }
         dispatcherHandler.setCountSampling(countSampling);
+        if (environment != null) {
+            Boolean inlineDispatch = environment.getProperty("server.netty.event-loop.inline-dispatch", Boolean.class);
+            Long blockingThreshold = environment.getProperty("server.netty.event-loop.blocking-threshold", Long.class);
+            if (inlineDispatch != null) {
+                dispatcherHandler.setInlineDispatch(inlineDispatch);
+            }
+            if (blockingThreshold != null) {
+                dispatcherHandler.setEventLoopBlockingThreshold(blockingThreshold);
+            }
+        }
+        dispatcherHandler.setLoadShedder(loadShedder());
+        dispatcherHandler.setConcurrencyLimiter(concurrencyLimiter());
+        dispatcherHandler.setBulkheadExecutors(bulkheadExecutors());
+        dispatcherHandler.setStreamingHandlerMapping(streamingHandlerMapping());
+        dispatcherHandler.setResponseCompressor(responseCompressor());
         return dispatcherHandler;
     }
 
+    /**
+     * @return the response compressor, or {@code null} if not enabled
+     */
+    protected ResponseCompressor responseCompressor() {
+        if (environment == null ||
+                !environment.getProperty("server.netty.compression.enabled", Boolean.class,
+                        environment.getProperty("server.compression.enabled", Boolean.class, false))) {
+            return null;
+        }
+        ResponseCompressor responseCompressor = new ResponseCompressor();
+        Integer minResponseSize = environment.getProperty("server.netty.compression.min-response-size", Integer.class,
+                environment.getProperty("server.compression.min-response-size", Integer.class));
+        Integer level = environment.getProperty("server.netty.compression.level", Integer.class);
+        String[] excludedMimeTypes = environment.getProperty("server.netty.compression.excluded-mime-types", String[].class);
+        if (minResponseSize != null) {
+            responseCompressor.setMinResponseSize(minResponseSize);
+        }
+        if (level != null) {
+            responseCompressor.setCompressionLevel(level);
+        }
+        if (excludedMimeTypes != null) {
+            responseCompressor.setExcludedMimeTypes(excludedMimeTypes);
+        }
+        if (meterRegistryPresent) {
+            new CompressionMetrics(responseCompressor, Collections.emptyList()).registerMetrics();
+        }
+        return responseCompressor;
+    }
+
+    protected LoadShedder loadShedder() {
+        LoadShedder loadShedder = new LoadShedder();
+        // shed before the worker queue rejects
+        loadShedder.setMaxQueueDepth(executionProperties.getQueueCapacity());
+        if (environment != null) {
+            Integer maxQueueDepth = environment.getProperty("server.netty.load-shedding.max-queue-depth", Integer.class);
+            Long maxQueueWait = environment.getProperty("server.netty.load-shedding.max-queue-wait", Long.class);
+            Long interval = environment.getProperty("server.netty.load-shedding.interval", Long.class);
+            Integer retryAfter = environment.getProperty("server.netty.load-shedding.retry-after", Integer.class);
+            if (maxQueueDepth != null) {
+                loadShedder.setMaxQueueDepth(maxQueueDepth);
+            }
+            if (maxQueueWait != null) {
+                loadShedder.setMaxQueueWait(maxQueueWait, TimeUnit.MILLISECONDS);
+            }
+            if (interval != null) {
+                loadShedder.setInterval(interval, TimeUnit.MILLISECONDS);
+            }
+            if (retryAfter != null) {
+                loadShedder.setRetryAfter(retryAfter);
+            }
+        }
+        if (meterRegistryPresent) {
+            new LoadShedderMetrics(loadShedder, Collections.emptyList()).registerMetrics();
+        }
+        return loadShedder;
+    }
+
+    /**
+     * @return the adaptive concurrency limiter, or {@code null} if not enabled
+     */
+    protected AdaptiveConcurrencyLimiter concurrencyLimiter() {
+        if (environment == null ||
+                !environment.getProperty("server.netty.concurrency-limit.enabled", Boolean.class, false)) {
+            return null;
+        }
+        Integer initialLimit = environment.getProperty("server.netty.concurrency-limit.initial", Integer.class);
+        Integer minLimit = environment.getProperty("server.netty.concurrency-limit.min", Integer.class);
+        Integer maxLimit = environment.getProperty("server.netty.concurrency-limit.max", Integer.class);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = (initialLimit != null ?
+                new AdaptiveConcurrencyLimiter(initialLimit) : new AdaptiveConcurrencyLimiter());
+        if (minLimit != null) {
+            concurrencyLimiter.setMinLimit(minLimit);
+        }
+        if (maxLimit != null) {
+            concurrencyLimiter.setMaxLimit(maxLimit);
+        }
+        if (meterRegistryPresent) {
+            new ConcurrencyLimiterMetrics(concurrencyLimiter, Collections.emptyList()).registerMetrics();
+        }
+        return concurrencyLimiter;
+    }
+
     @Bean
     public HttpServer httpServer() {
         Boolean enabled = environment.getProperty("server.netty.endpoint.enabled", Boolean.class, true);
@@ -339,6 +516,17 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
     @Bean(name = WORK_EXECUTOR_NAME,destroyMethod = "shutdown")
     public ExecutorService executorService() {
         ExecutorService executorService = getThreadPoolExecutor();
+        if (executorService == null && ExecutionProperties.VIRTUAL_EXECUTOR.equalsIgnoreCase(executionProperties.getExecutor())) {
+            ExecutorService virtualExecutor = VirtualThreads.newThreadPerTaskExecutor(executionProperties.getThreadNamePrefix());
+            if (virtualExecutor != null) {
+                if(logger.isInfoEnabled()){
+                    logger.info("netty web virtual thread executor " + executionProperties.getThreadNamePrefix());
+                }
+                executorService = new InstrumentedExecutorService(virtualExecutor);
+            } else {
+                logger.warn("Virtual threads require JDK 21+, falling back to netty web threadPool");
+            }
+        }
         if (executorService == null) {
             if(logger.isInfoEnabled()){
                 logger.info("netty web threadPool " + executionProperties.toString());
@@ -355,19 +543,53 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
         return executorService;
     }
 
+    /**
+     * The bulkhead executors registered through {@link #configureExecutors(ExecutorRegistry)}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BulkheadExecutors bulkheadExecutors() {
+        ExecutorRegistry registry = new ExecutorRegistry();
+        configureExecutors(registry);
+        BulkheadExecutors bulkheadExecutors = registry.getExecutors();
+        for (Map.Entry<String, ExecutorService> entry : bulkheadExecutors.getExecutors().entrySet()) {
+            if(logger.isInfoEnabled()){
+                logger.info("netty web bulkhead executor '" + entry.getKey() + "' " + entry.getValue());
+            }
+            if (meterRegistryPresent) {
+                new ExecutorServiceMetrics(entry.getValue(), WORK_EXECUTOR_NAME + "." + entry.getKey(),
+                        Collections.emptyList()).bindTo(io.micrometer.core.instrument.Metrics.globalRegistry);
+            }
+        }
+        return bulkheadExecutors;
+    }
+
+    /**
+     * Override this method to assign routes or handlers to their own executors.
+     * @see ExecutorRegistry
+     */
+    protected void configureExecutors(ExecutorRegistry registry) {
+    }
+
     //@Profile({"monitor","metrics"})
     @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
     @Bean(name = WORK_EXECUTOR_NAME + "Metrics")
-    public FactoryBean<ExecutorServiceMetrics> executorServiceMetrics() {
+    public FactoryBean<MeterBinder> executorServiceMetrics() {
         ExecutorService executorService = executorService();
         return new FactoryBean(){
             @Override
             public Object getObject() throws Exception {
+                if (executorService instanceof InstrumentedExecutorService) {
+                    return new InstrumentedExecutorServiceMetrics((InstrumentedExecutorService) executorService,
+                            WORK_EXECUTOR_NAME, Collections.emptyList());
+                }
                 return new ExecutorServiceMetrics(executorService, WORK_EXECUTOR_NAME, Collections.emptyList());
             }
 
             @Override
             public Class<?> getObjectType() {
+                if (executorService instanceof InstrumentedExecutorService) {
+                    return InstrumentedExecutorServiceMetrics.class;
+                }
                 return ExecutorServiceMetrics.class;
             }
 
@@ -382,6 +604,10 @@ public class NettyWebConfigurationSupport implements ApplicationContextAware,Env
         Integer coreSize = environment.getProperty("server.netty.min-threads", Integer.class);
         Integer maxSize =  environment.getProperty("server.netty.max-threads", Integer.class);
         Integer capacity = environment.getProperty("server.netty.queue-capacity", Integer.class);
+        String executor = environment.getProperty("server.netty.executor");
+        if (executor != null) {
+            executionProperties.setExecutor(executor.trim());
+        }
 
         if (coreSize == null) {
             coreSize = environment.getProperty("server.tomcat.min-spare-threads", Integer.class);
@@ -44,6 +44,14 @@ public interface NettyWebConfigurer {
      */
     ExecutorService getThreadPoolExecutor();
 
+    /**
+     * Assign routes or handlers to bulkhead executors, unassigned ones use the shared executor
+     *
+     * @param registry
+     */
+    default void configureExecutors(ExecutorRegistry registry) {
+    }
+
 
     Validator getValidator();
 
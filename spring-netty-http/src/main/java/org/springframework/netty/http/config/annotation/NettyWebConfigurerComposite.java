@@ -49,6 +49,13 @@ class NettyWebConfigurerComposite implements NettyWebConfigurer {
         }
     }
 
+    @Override
+    public void configureExecutors(ExecutorRegistry registry) {
+        for (NettyWebConfigurer delegate : this.delegates) {
+            delegate.configureExecutors(registry);
+        }
+    }
+
     @Override
     public void configureHandlerExceptionResolvers(List<HandlerExceptionResolver> exceptionResolvers) {
         for (NettyWebConfigurer delegate : this.delegates) {
@@ -0,0 +1,170 @@
+package org.springframework.netty.http.context;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import org.springframework.netty.http.HandlerExecutionChain;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of a single request/response exchange.
+ * <p>Created by the {@link org.springframework.netty.http.DispatcherHandler} for every request read
+ * from a channel and bound to the dispatching thread, see {@link RequestContextHolder#getExchange()}.
+ * Unlike channel attributes it is not shared with other requests pipelined on the same connection.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HttpExchange {
+
+    private final FullHttpRequest request;
+
+    /**
+     * Position of the request on its connection, responses are written in this order
+     */
+    private final long sequence;
+
+    private final boolean keepAlive;
+
+    private QueryDecoder query;
+
+    private HandlerExecutionChain mappedHandler;
+
+    private boolean countSampling;
+
+    private long dispatchStartTime;
+
+    private long dispatchEndTime;
+
+    private long handlerStartTime;
+
+    private long handlerEndTime;
+
+    private volatile boolean responseWritten;
+
+    private Map<String, Object> attributes;
+
+
+    public HttpExchange(FullHttpRequest request, long sequence) {
+        this.request = request;
+        this.sequence = sequence;
+        this.keepAlive = HttpUtil.isKeepAlive(request);
+    }
+
+    public FullHttpRequest getRequest() {
+        return request;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Whether the client asked to keep the connection alive after this exchange.
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * The decoded request URI, set by the handler mapping.
+     */
+    public QueryDecoder getQuery() {
+        return query;
+    }
+
+    public void setQuery(QueryDecoder query) {
+        this.query = query;
+    }
+
+    /**
+     * The handler resolved on the I/O thread, or {@code null} if it is resolved by the dispatch.
+     */
+    public HandlerExecutionChain getMappedHandler() {
+        return mappedHandler;
+    }
+
+    public void setMappedHandler(HandlerExecutionChain mappedHandler) {
+        this.mappedHandler = mappedHandler;
+    }
+
+    public boolean isCountSampling() {
+        return countSampling;
+    }
+
+    public void setCountSampling(boolean countSampling) {
+        this.countSampling = countSampling;
+    }
+
+    public long getDispatchStartTime() {
+        return dispatchStartTime;
+    }
+
+    public void setDispatchStartTime(long dispatchStartTime) {
+        this.dispatchStartTime = dispatchStartTime;
+    }
+
+    public long getDispatchEndTime() {
+        return dispatchEndTime;
+    }
+
+    public void setDispatchEndTime(long dispatchEndTime) {
+        this.dispatchEndTime = dispatchEndTime;
+    }
+
+    public long getHandlerStartTime() {
+        return handlerStartTime;
+    }
+
+    public void setHandlerStartTime(long handlerStartTime) {
+        this.handlerStartTime = handlerStartTime;
+    }
+
+    public long getHandlerEndTime() {
+        return handlerEndTime;
+    }
+
+    public void setHandlerEndTime(long handlerEndTime) {
+        this.handlerEndTime = handlerEndTime;
+    }
+
+    /**
+     * Handler execution time in milliseconds.
+     */
+    public long getHandlerExecuteTime() {
+        return handlerEndTime - handlerStartTime;
+    }
+
+    /**
+     * Whether a response was handed to the connection for this exchange.
+     */
+    public boolean isResponseWritten() {
+        return responseWritten;
+    }
+
+    public void setResponseWritten(boolean responseWritten) {
+        this.responseWritten = responseWritten;
+    }
+
+    /**
+     * Return an application attribute of this exchange, e.g. a request handler method key.
+     */
+    public Object getAttribute(String name) {
+        return (attributes != null ? attributes.get(name) : null);
+    }
+
+    public void setAttribute(String name, Object value) {
+        if (attributes == null) {
+            attributes = new LinkedHashMap<String, Object>(4);
+        }
+        attributes.put(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpExchange [" + request.method() + " " + request.uri() + ", sequence=" + sequence + "]";
+    }
+}
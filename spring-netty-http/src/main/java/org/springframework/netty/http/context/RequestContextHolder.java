@@ -2,45 +2,64 @@ package org.springframework.netty.http.context;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
-import io.netty.handler.codec.http.HttpRequest;
-import io.netty.handler.codec.http.QueryStringDecoder;
-import org.springframework.netty.http.HandlerMapping;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.netty.http.codec.QueryDecoder;
 
 /**
+ * Holds the {@link HttpExchange} of the request being dispatched by the current thread.
+ *
  * @author thinking
  * @version 1.0
  * @since 2020-03-15
  */
 public abstract class RequestContextHolder {
 
+    private static final ThreadLocal<HttpExchange> exchangeHolder =
+            new NamedThreadLocal<HttpExchange>("Current HttpExchange");
 
-   /* public static HttpServletRequest getRequest() {
-        return request;
-    }*/
 
-    public static FullHttpRequest getRequest(ChannelHandlerContext ctx) {
-        FullHttpRequest request = ctx.channel().attr(HandlerMapping.HTTP_REQUEST).get();
-
-        return request;
+    /**
+     * Return the exchange bound to the current thread, or {@code null} outside of a dispatch.
+     */
+    public static HttpExchange getExchange() {
+        return exchangeHolder.get();
     }
 
+    /**
+     * Bind the given exchange to the current thread.
+     *
+     * @param exchange the exchange, or {@code null} to reset the thread-bound exchange
+     */
+    public static void setExchange(HttpExchange exchange) {
+        if (exchange == null) {
+            exchangeHolder.remove();
+        } else {
+            exchangeHolder.set(exchange);
+        }
+    }
 
+    public static void resetExchange() {
+        exchangeHolder.remove();
+    }
 
-    public static QueryDecoder getRequestQuery(ChannelHandlerContext ctx) {
+    public static FullHttpRequest getRequest(ChannelHandlerContext ctx) {
+        HttpExchange exchange = getExchange();
+        return (exchange != null ? exchange.getRequest() : null);
+    }
 
-        QueryDecoder query = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
 
-        return query;
+    public static QueryDecoder getRequestQuery(ChannelHandlerContext ctx) {
+        HttpExchange exchange = getExchange();
+        return (exchange != null ? exchange.getQuery() : null);
     }
 
     public String getRequestURI(ChannelHandlerContext ctx) {
-        QueryStringDecoder query = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
+        QueryDecoder query = getRequestQuery(ctx);
         return query.uri();
     }
 
     public String getRequestPath(ChannelHandlerContext ctx) {
-        QueryStringDecoder query = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
+        QueryDecoder query = getRequestQuery(ctx);
         return query.path();
     }
 
@@ -215,7 +215,7 @@ public abstract class AbstractHttpMessageConverter <T> implements HttpMessageCon
                 HttpUtils.setContentType(headers,contentTypeToUse.toString());
             }
         }
-        MediaType mediaType  = hContentType != null ? MediaType.parseMediaType(hContentType.toString()) : null;
+        MediaType mediaType  = hContentType != null ? HttpUtils.parseMediaType(hContentType) : null;
         if (HttpUtils.getContentLength(headers) < 0 && !headers.contains(HttpHeaderNames.TRANSFER_ENCODING)) {
             Long contentLength = getContentLength(t, mediaType);
             if (contentLength != null) {
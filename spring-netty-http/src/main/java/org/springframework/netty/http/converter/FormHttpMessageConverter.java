@@ -6,10 +6,10 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
-import org.springframework.netty.http.HandlerMapping;
 import org.springframework.netty.http.HttpOutputMessage;
 import org.springframework.netty.http.HttpUtils;
 import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.RequestContextHolder;
 import org.springframework.util.*;
 
 import java.io.IOException;
@@ -178,8 +178,10 @@ public class FormHttpMessageConverter implements HttpMessageConverter<Map<String
             stringMap = result;
         }
         //post body set to request QueryDecoder
-        QueryDecoder queryDecoder = ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).get();
-        queryDecoder.setBodyMap((Map<String, String>) stringMap);
+        QueryDecoder queryDecoder = RequestContextHolder.getRequestQuery(ctx);
+        if (queryDecoder != null) {
+            queryDecoder.setBodyMap((Map<String, String>) stringMap);
+        }
 
         return stringMap;
     }
@@ -12,8 +12,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.handler.codec.http.FullHttpRequest;
 import org.springframework.core.ResolvableType;
 import org.springframework.http.MediaType;
@@ -25,13 +27,21 @@ import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * Reads JSON straight from the request {@link ByteBuf} and writes it into a pooled direct
+ * {@link ByteBuf}, which the channel writes without another copy.
+ * <p>The initial capacity of a response buffer comes from a running estimate of the serialized size
+ * of the value's type, so large bodies seldom grow their buffer and small ones do not hold a large one.
+ *
  * @author thinking
  * @version 1.0
  * @since 2020-03-15
@@ -48,6 +58,10 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
     private PrettyPrinter ssePrettyPrinter;
 
+    private ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+    private final ConcurrentMap<Class<?>, SizeEstimate> sizeEstimates = new ConcurrentHashMap<Class<?>, SizeEstimate>();
+
 
     protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper) {
         init(objectMapper);
@@ -110,6 +124,15 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
         configurePrettyPrint();
     }
 
+    /**
+     * Set the allocator of the response buffers, by default the pooled allocator the server's
+     * channels use.
+     */
+    public void setAllocator(ByteBufAllocator allocator) {
+        Assert.notNull(allocator, "ByteBufAllocator must not be null");
+        this.allocator = allocator;
+    }
+
     private void configurePrettyPrint() {
         if (this.prettyPrint != null) {
             this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
@@ -196,11 +219,23 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
         return readJavaType(javaType, inputMessage);
     }
 
+    /**
+     * Read the request body as the given, already resolved, Jackson type.
+     */
+    public Object read(JavaType javaType, FullHttpRequest inputMessage) {
+        return readJavaType(javaType, inputMessage);
+    }
+
     private Object readJavaType(JavaType javaType, FullHttpRequest inputMessage) {
         try {
-            ByteBuf contentByteBuf =  inputMessage.content();
-            InputStream inputStream = new ByteBufInputStream(contentByteBuf);
-           // String content = contentByteBuf.toString(DEFAULT_CHARSET);
+            ByteBuf content = inputMessage.content();
+            if (content.hasArray()) {
+                // parse the backing array in place
+                return this.objectMapper.readValue(content.array(), content.arrayOffset() + content.readerIndex(),
+                        content.readableBytes(), javaType);
+            }
+            // direct or composite memory, read in the parser's own buffer
+            InputStream inputStream = new ByteBufInputStream(content);
             return this.objectMapper.readValue(inputStream, javaType);
         } catch (JsonProcessingException ex) {
             throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex);
@@ -216,13 +251,38 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
         // MediaType contentType = HttpUtils.getContentType(outputMessage.headers());
         //JsonEncoding encoding = getJsonEncoding(contentType);
 
+        SizeEstimate estimate = getSizeEstimate(object);
+        ByteBuf content = allocator.directBuffer(estimate.initialCapacity());
         try {
-            byte[] content = objectMapper.writeValueAsBytes(object);
-            outputMessage.setBody(Unpooled.wrappedBuffer(content));
-            //outputMessage.replace(Unpooled.wrappedBuffer(content));
+            JsonGenerator generator = this.objectMapper.getFactory()
+                    .createGenerator((OutputStream) new ByteBufOutputStream(content), JsonEncoding.UTF8);
+            writePrefix(generator, object);
+            this.objectMapper.writeValue(generator, object);
+            writeSuffix(generator, object);
+            generator.close();
+            estimate.record(content.readableBytes());
+            outputMessage.setBody(content);
+            content = null;
         } catch (JsonProcessingException ex) {
             throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        } finally {
+            if (content != null) {
+                content.release();
+            }
+        }
+    }
+
+    private SizeEstimate getSizeEstimate(Object object) {
+        Class<?> type = (object != null ? object.getClass() : Object.class);
+        SizeEstimate estimate = this.sizeEstimates.get(type);
+        if (estimate == null) {
+            estimate = new SizeEstimate();
+            SizeEstimate existing = this.sizeEstimates.putIfAbsent(type, estimate);
+            if (existing != null) {
+                estimate = existing;
+            }
         }
+        return estimate;
     }
 
     /**
@@ -353,4 +413,31 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
         return super.getContentLength(object, contentType);
     }
 
+
+    /**
+     * Running average of the serialized size of one type, updated without synchronization since
+     * an occasionally lost update only makes the next buffer a little smaller or larger.
+     */
+    private static final class SizeEstimate {
+
+        private static final int MIN_CAPACITY = 256;
+
+        private static final int MAX_INITIAL_CAPACITY = 4 * 1024 * 1024;
+
+        /**
+         * 0 until the first value was written
+         */
+        private volatile int average;
+
+        int initialCapacity() {
+            // headroom above the average, so a slightly larger value does not grow the buffer
+            int average = Math.max(this.average, MIN_CAPACITY);
+            return Math.min(average + (average >> 2), MAX_INITIAL_CAPACITY);
+        }
+
+        void record(int size) {
+            int average = this.average;
+            this.average = (average == 0 ? size : average + ((size - average) >> 3));
+        }
+    }
 }
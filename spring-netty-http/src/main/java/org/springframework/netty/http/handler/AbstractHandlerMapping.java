@@ -13,6 +13,7 @@ import org.springframework.netty.http.HandlerExecutionChain;
 import org.springframework.netty.http.HandlerInterceptor;
 import org.springframework.netty.http.HandlerMapping;
 import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
 import org.springframework.netty.http.context.RequestContextHolder;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -21,6 +22,8 @@ import org.springframework.util.PathMatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author thinking
@@ -43,6 +46,12 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
 
     private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<HandlerInterceptor>();
 
+    /**
+     * Interceptors compiled per best matching pattern
+     */
+    private final ConcurrentMap<String, RouteInterceptors> routeInterceptors =
+            new ConcurrentHashMap<String, RouteInterceptors>(64);
+
 
     private int order = Ordered.LOWEST_PRECEDENCE;  // default: same as non-Ordered
 
@@ -120,6 +129,7 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
                 this.adaptedInterceptors.add(adaptInterceptor(interceptor));
             }
         }
+        this.routeInterceptors.clear();
     }
 
 
@@ -139,8 +149,10 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
     public final HandlerExecutionChain getHandler(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
         //QueryDecoder query = RequestContextHolder.getRequestQuery(ctx);
         QueryDecoder query = new QueryDecoder(request.uri());
-        ctx.channel().attr(HandlerMapping.REQUEST_QUERY_URI).set(query);
-        ctx.channel().attr(HandlerMapping.HTTP_REQUEST).set(request);
+        HttpExchange exchange = RequestContextHolder.getExchange();
+        if (exchange != null) {
+            exchange.setQuery(query);
+        }
 
         Object handler = getHandlerInternal(ctx, request, query);
         if (handler == null) {
@@ -171,7 +183,9 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
      * <p>The default implementation builds a standard {@link HandlerExecutionChain}
      * with the given handler, the handler mapping's common interceptors, and any
      * {@link MappedInterceptor}s matching to the current request URL. Interceptors
-     * are added in the order they were registered. Subclasses may override this
+     * are added in the order they were registered. If the request has a
+     * {@link QueryDecoder#getBestMatchingPattern() best matching pattern}, the interceptors
+     * are compiled once for that pattern and shared by all its requests. Subclasses may override this
      * in order to extend/rearrange the list of interceptors.
      * <p><b>NOTE:</b> The passed-in handler object may be a raw handler or a
      * pre-built {@link HandlerExecutionChain}. This method should handle those
@@ -187,10 +201,17 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
      */
     protected HandlerExecutionChain getHandlerExecutionChain(Object handler, FullHttpRequest request,
                                                              QueryStringDecoder query) {
+        String lookupPath = query.path();
+        String bestMatchingPattern = (query instanceof QueryDecoder ?
+                ((QueryDecoder) query).getBestMatchingPattern() : null);
+        if (bestMatchingPattern != null && !(handler instanceof HandlerExecutionChain)) {
+            RouteInterceptors interceptors = getRouteInterceptors(bestMatchingPattern);
+            return new HandlerExecutionChain(handler, interceptors.getInterceptors(lookupPath, this.pathMatcher));
+        }
+
         HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
                 (HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
-        String lookupPath = query.path();
 
         for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
             if (interceptor instanceof MappedInterceptor) {
@@ -205,6 +226,18 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
         return chain;
     }
 
+    private RouteInterceptors getRouteInterceptors(String pattern) {
+        RouteInterceptors interceptors = this.routeInterceptors.get(pattern);
+        if (interceptors == null) {
+            interceptors = RouteInterceptors.compile(pattern, this.adaptedInterceptors, this.pathMatcher);
+            RouteInterceptors existing = this.routeInterceptors.putIfAbsent(pattern, interceptors);
+            if (existing != null) {
+                interceptors = existing;
+            }
+        }
+        return interceptors;
+    }
+
 
 
     /**
@@ -215,6 +248,7 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
     public void setPathMatcher(PathMatcher pathMatcher) {
         Assert.notNull(pathMatcher, "PathMatcher must not be null");
         this.pathMatcher = pathMatcher;
+        this.routeInterceptors.clear();
         //this.globalCorsConfigSource.setPathMatcher(pathMatcher);
     }
 
@@ -236,6 +270,7 @@ public abstract class AbstractHandlerMapping  extends ApplicationObjectSupport
      */
     public void setInterceptors(Object... interceptors) {
         this.interceptors.addAll(Arrays.asList(interceptors));
+        this.routeInterceptors.clear();
     }
 
     /**
@@ -7,6 +7,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.core.Ordered;
 import org.springframework.netty.http.HandlerMapping;
 import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -27,8 +28,15 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
     private boolean lazyInitHandlers = false;
 
+    private boolean usePathTrie = true;
+
     private final Map<String, Object> handlerMap = new LinkedHashMap<String, Object>();
 
+    /**
+     * Compiled from {@link #handlerMap}, rebuilt lazily after a handler was registered
+     */
+    private volatile UrlPathTrie pathTrie;
+
     /**
      * Set the root handler for this handler mapping, that is,
      * the handler to be registered for the root path ("/").
@@ -53,6 +61,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
      */
     public void setUseTrailingSlashMatch(boolean useTrailingSlashMatch) {
         this.useTrailingSlashMatch = useTrailingSlashMatch;
+        handlerMappingsChanged();
     }
 
     /**
@@ -76,6 +85,24 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
         this.lazyInitHandlers = lazyInitHandlers;
     }
 
+    /**
+     * Whether to resolve pattern matches through a segment trie compiled from the
+     * registered patterns instead of scanning all patterns with the {@link #getPathMatcher() PathMatcher}.
+     * <p>The trie is only used with an {@link AntPathMatcher} and follows its default settings;
+     * turn this off when a customized AntPathMatcher (e.g. case insensitive) is configured.
+     * <p>The default value is {@code true}.
+     */
+    public void setUsePathTrie(boolean usePathTrie) {
+        this.usePathTrie = usePathTrie;
+    }
+
+    /**
+     * Whether pattern matches are resolved through the compiled segment trie.
+     */
+    public boolean usePathTrie() {
+        return (this.usePathTrie && getPathMatcher() instanceof AntPathMatcher);
+    }
+
 
     @Override
     protected Object getHandlerInternal(final ChannelHandlerContext ctx, FullHttpRequest request,
@@ -120,9 +147,39 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
         // Direct match?
         Object handler = this.handlerMap.get(urlPath);
         if (handler != null) {
+            query.setBestMatchingPattern(urlPath);
             return handler;
         }
 
+        if (usePathTrie()) {
+            UrlPathTrie.Match match = getPathTrie().match(urlPath);
+            if (match == null) {
+                return null;
+            }
+            Map<String, String> uriTemplateVariables = match.getUriTemplateVariables();
+            query.setBestMatchingPattern(match.getPattern());
+            query.setUriTemplateVariables(uriTemplateVariables);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Best matching pattern for request [" + urlPath + "] is " + match.getPattern());
+                logger.debug("URI Template variables for request [" + urlPath + "] are " + uriTemplateVariables);
+            }
+            return match.getHandler();
+        }
+
+        return lookupHandlerByPatternScan(urlPath, query);
+    }
+
+    /**
+     * Match the given URL path against every registered pattern with the {@link #getPathMatcher() PathMatcher}
+     * and pick the best one with its pattern comparator.
+     * <p>Used when the {@link #usePathTrie() path trie} is disabled.
+     *
+     * @param urlPath URL the bean is mapped to
+     * @param query   the decoded request URI to expose the URI template variables to
+     * @return the associated handler instance, or {@code null} if not found
+     */
+    protected Object lookupHandlerByPatternScan(String urlPath, QueryDecoder query) {
+        Object handler;
         // Pattern match?
         List<String> matchingPatterns = new ArrayList<String>();
         for (String registeredPattern : this.handlerMap.keySet()) {
@@ -137,7 +194,20 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
         }
 
         String bestMatch = null;
-        Comparator<String> patternComparator = getPathMatcher().getPatternComparator(urlPath);
+        final Comparator<String> pathComparator = getPathMatcher().getPatternComparator(urlPath);
+        // a registered pattern ranks above an equally specific trailing slash variant ("/{x}/" over "/{y}" + "/")
+        Comparator<String> patternComparator = new Comparator<String>() {
+            @Override
+            public int compare(String p1, String p2) {
+                int result = pathComparator.compare(p1, p2);
+                if (result == 0) {
+                    boolean variant1 = !handlerMap.containsKey(p1);
+                    boolean variant2 = !handlerMap.containsKey(p2);
+                    result = (variant1 == variant2 ? 0 : (variant1 ? 1 : -1));
+                }
+                return result;
+            }
+        };
         if (!matchingPatterns.isEmpty()) {
             Collections.sort(matchingPatterns, patternComparator);
             if (logger.isDebugEnabled()) {
@@ -157,6 +227,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
                 }
             }
             // Bean name or resolved handler?
+            query.setBestMatchingPattern(bestMatch);
 
             // There might be multiple 'best patterns', let's make sure we have the correct URI template variables
             // for all of them
@@ -247,9 +318,19 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
                     logger.info("Mapped URL path [" + urlPath + "] onto " + getHandlerDescription(handler));
                 }
             }
+            handlerMappingsChanged();
         }
     }
 
+    /**
+     * Invoked after a handler was registered or the matching configuration changed.
+     * <p>Discards the compiled path trie; subclasses holding state derived from
+     * the handler map should override this and call {@code super}.
+     */
+    protected void handlerMappingsChanged() {
+        this.pathTrie = null;
+    }
+
     protected void registerHandler(Object handler, String... paths) throws Exception {
         if (ObjectUtils.isEmpty(paths)) {
             throw new IllegalArgumentException("URL path must not be null");
@@ -275,6 +356,24 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
     }
 
 
+    /**
+     * Return the segment trie for the registered patterns, compiling it on first use
+     * after a registration.
+     */
+    private UrlPathTrie getPathTrie() {
+        UrlPathTrie pathTrie = this.pathTrie;
+        if (pathTrie == null || pathTrie.getPathMatcher() != getPathMatcher()) {
+            synchronized (this.handlerMap) {
+                pathTrie = this.pathTrie;
+                if (pathTrie == null || pathTrie.getPathMatcher() != getPathMatcher()) {
+                    pathTrie = new UrlPathTrie(this.handlerMap, getPathMatcher(), useTrailingSlashMatch());
+                    this.pathTrie = pathTrie;
+                }
+            }
+        }
+        return pathTrie;
+    }
+
     private String getHandlerDescription(Object handler) {
         return "handler " + (handler instanceof String ? "'" + handler + "'" : "of type [" + handler.getClass() + "]");
     }
@@ -0,0 +1,178 @@
+package org.springframework.netty.http.handler;
+
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent cache from a lookup path to the resolved handler and its URI template variables.
+ * <p>Paths without a handler are cached as well, so repeated requests for unknown paths
+ * (e.g. from scanners) never reach the pattern matching. When the cache is full the oldest
+ * entries are evicted first.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see SimpleUrlHandlerMapping#setLookupCacheSize(int)
+ */
+public class HandlerLookupCache {
+
+    private final int maxSize;
+
+    private volatile Store store = new Store(0);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+
+    public HandlerLookupCache(int maxSize) {
+        Assert.isTrue(maxSize > 0, "Cache size must be greater than 0");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the cached lookup result for the given path, or {@code null} if not cached.
+     */
+    public Entry get(String lookupPath) {
+        Entry entry = this.store.entries.get(lookupPath);
+        if (entry != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Return the current generation, to be passed to {@link #put} for a lookup started now.
+     */
+    public long getGeneration() {
+        return this.store.generation;
+    }
+
+    /**
+     * Cache a lookup result unless the cache was cleared since the given generation.
+     *
+     * @param lookupPath           the lookup path
+     * @param handler              the resolved handler, or {@code null} if no handler matched
+     * @param bestMatchingPattern  the pattern of the match, may be {@code null}
+     * @param uriTemplateVariables the URI template variables of the match, may be {@code null}
+     * @param generation           the {@link #getGeneration() generation} at the start of the lookup
+     */
+    public void put(String lookupPath, Object handler, String bestMatchingPattern,
+                    Map<String, String> uriTemplateVariables, long generation) {
+        Store store = this.store;
+        if (store.generation != generation) {
+            return;
+        }
+        if (uriTemplateVariables != null && !uriTemplateVariables.isEmpty()) {
+            // shared between requests
+            uriTemplateVariables = Collections.unmodifiableMap(uriTemplateVariables);
+        }
+        if (store.entries.putIfAbsent(lookupPath, new Entry(handler, bestMatchingPattern, uriTemplateVariables)) != null) {
+            return;
+        }
+        store.order.add(lookupPath);
+        if (store.size.incrementAndGet() > this.maxSize) {
+            evict(store);
+        }
+    }
+
+    private void evict(Store store) {
+        while (store.size.get() > this.maxSize) {
+            String eldest = store.order.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (store.entries.remove(eldest) != null) {
+                store.size.decrementAndGet();
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove all entries, lookups in progress are not cached anymore.
+     */
+    public synchronized void clear() {
+        this.store = new Store(this.store.generation + 1);
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public int size() {
+        return this.store.size.get();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+
+    /**
+     * A cached lookup result.
+     */
+    public static final class Entry {
+
+        private final Object handler;
+
+        private final String bestMatchingPattern;
+
+        private final Map<String, String> uriTemplateVariables;
+
+        Entry(Object handler, String bestMatchingPattern, Map<String, String> uriTemplateVariables) {
+            this.handler = handler;
+            this.bestMatchingPattern = bestMatchingPattern;
+            this.uriTemplateVariables = uriTemplateVariables;
+        }
+
+        /**
+         * The handler, or {@code null} for a path without a handler.
+         */
+        public Object getHandler() {
+            return this.handler;
+        }
+
+        public String getBestMatchingPattern() {
+            return this.bestMatchingPattern;
+        }
+
+        public Map<String, String> getUriTemplateVariables() {
+            return this.uriTemplateVariables;
+        }
+    }
+
+
+    private static final class Store {
+
+        private final long generation;
+
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+        private final ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<String>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        Store(long generation) {
+            this.generation = generation;
+        }
+    }
+}
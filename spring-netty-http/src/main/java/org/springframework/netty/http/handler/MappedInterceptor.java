@@ -71,6 +71,13 @@ public class MappedInterceptor implements HandlerInterceptor {
         return this.includePatterns;
     }
 
+    /**
+     * The path patterns the interceptor is excluded from.
+     */
+    public String[] getExcludePathPatterns() {
+        return this.excludePatterns;
+    }
+
     /**
      * The actual {@link HandlerInterceptor} reference.
      */
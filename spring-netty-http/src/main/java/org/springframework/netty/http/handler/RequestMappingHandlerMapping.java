@@ -1,23 +1,258 @@
 package org.springframework.netty.http.handler;
 
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.netty.http.NonBlocking;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.netty.http.mvc.MediaTypeExpressions;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.*;
 
 /**
+ * Maps requests to the methods of a handler annotated with {@code @RequestMapping}, or one of its
+ * variants such as {@code @GetMapping}, by path, request method, {@code Content-Type} and {@code Accept}.
+ * <p>The paths are combined with the class-level {@code @RequestMapping} and registered in the route
+ * table of {@link AbstractUrlHandlerMapping}; the methods sharing a path are selected in the order
+ * they were registered, methods declaring their request methods first. A request whose path matches
+ * but none of its methods is answered with {@code 405} (with {@code Allow}), {@code 415} or {@code 406}.
+ * <p>The {@link HandlerMethod}s are compiled when they are registered, see
+ * {@link org.springframework.netty.http.mvc.RequestMappingHandlerAdapter}.
  *
  * @author thinking
  * @version 1.0
  * @since 2020-03-13
  */
-public class RequestMappingHandlerMapping {
+public class RequestMappingHandlerMapping extends AbstractUrlHandlerMapping {
 
+    private final Map<String, HandlerMethods> pathMethods = new LinkedHashMap<String, HandlerMethods>();
 
+    /**
+     * Register the {@code @RequestMapping} methods of the handler.
+     *
+     * @return the number of methods registered
+     * @throws IllegalStateException if a method parameter cannot be resolved from a request
+     */
+    public int registerHandlerMethods(final Object handler) {
+        Class<?> handlerType = ClassUtils.getUserClass(handler);
+        Map<Method, RequestMapping> methods = MethodIntrospector.selectMethods(handlerType,
+                new MethodIntrospector.MetadataLookup<RequestMapping>() {
+                    @Override
+                    public RequestMapping inspect(Method method) {
+                        return AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                    }
+                });
+        if (methods.isEmpty()) {
+            return 0;
+        }
+        RequestMapping typeMapping = AnnotatedElementUtils.findMergedAnnotation(handlerType, RequestMapping.class);
+        for (Map.Entry<Method, RequestMapping> entry : methods.entrySet()) {
+            RequestMapping methodMapping = entry.getValue();
+            String[] patterns = combinePatterns(typeMapping != null ? typeMapping.path() : null, methodMapping.path());
+            String[] consumes = methodMapping.consumes();
+            String[] produces = methodMapping.produces();
+            if (typeMapping != null) {
+                consumes = (consumes.length > 0 ? consumes : typeMapping.consumes());
+                produces = (produces.length > 0 ? produces : typeMapping.produces());
+            }
+            HandlerMethod handlerMethod = new HandlerMethod(handler, entry.getKey(), patterns, methodMapping.method(),
+                    MediaTypeExpressions.parse(consumes), MediaTypeExpressions.parse(produces));
+            registerHandlerMethod(handlerMethod);
+        }
+        return methods.size();
+    }
 
-/*
-    public List<T> getMappingsByUrl(String urlPath) {
-        return this.urlLookup.get(urlPath);
-    }*/
+    public void registerHandlerMethod(HandlerMethod handlerMethod) {
+        if (handlerMethod.getPatterns().length == 0) {
+            logger.warn("Skipping " + handlerMethod + " without a path");
+            return;
+        }
+        for (String pattern : handlerMethod.getPatterns()) {
+            if ("/".equals(pattern) || "/*".equals(pattern)) {
+                // the root and the default handler are not part of the route table
+                logger.warn("Skipping mapping [" + pattern + "] onto " + handlerMethod + ", use a more specific path");
+                continue;
+            }
+            HandlerMethods handlerMethods = this.pathMethods.get(pattern);
+            if (handlerMethods == null) {
+                handlerMethods = new HandlerMethods(pattern);
+                this.pathMethods.put(pattern, handlerMethods);
+                registerHandler(pattern, handlerMethods);
+            }
+            handlerMethods.add(handlerMethod);
+            if (logger.isInfoEnabled()) {
+                logger.info("Mapped " + handlerMethod);
+            }
+        }
+    }
 
-}
+    @Override
+    protected Object getHandlerInternal(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query)
+            throws Exception {
+        Object handler = super.getHandlerInternal(ctx, request, query);
+        if (handler instanceof HandlerMethods) {
+            return ((HandlerMethods) handler).select(request);
+        }
+        return handler;
+    }
+
+    private String[] combinePatterns(String[] typePatterns, String[] methodPatterns) {
+        if (ObjectUtils.isEmpty(typePatterns)) {
+            return methodPatterns;
+        }
+        if (methodPatterns.length == 0) {
+            return typePatterns;
+        }
+        List<String> patterns = new ArrayList<String>(typePatterns.length * methodPatterns.length);
+        for (String typePattern : typePatterns) {
+            for (String methodPattern : methodPatterns) {
+                patterns.add(getPathMatcher().combine(typePattern, methodPattern));
+            }
+        }
+        return patterns.toArray(new String[patterns.size()]);
+    }
+
+    /**
+     * The handler methods of one path, registered as its handler in the route table.
+     */
+    private static final class HandlerMethods {
+
+        private final String pattern;
+
+        /**
+         * Appended while registering, read without locking afterwards
+         */
+        private volatile HandlerMethod[] methods = new HandlerMethod[0];
+
+        private volatile HandlerMethod methodNotAllowed;
+
+        private volatile HandlerMethod unsupportedMediaType;
+
+        private volatile HandlerMethod notAcceptable;
+
+        HandlerMethods(String pattern) {
+            this.pattern = pattern;
+        }
+
+        synchronized void add(HandlerMethod handlerMethod) {
+            if (this.methodNotAllowed == null) {
+                this.unsupportedMediaType = StatusResponder.handlerMethod(this.pattern, UNSUPPORTED_MEDIA_TYPE, null);
+                this.notAcceptable = StatusResponder.handlerMethod(this.pattern, NOT_ACCEPTABLE, null);
+            }
+            List<HandlerMethod> methods = new ArrayList<HandlerMethod>(Arrays.asList(this.methods));
+            int index = methods.size();
+            if (handlerMethod.hasMethods()) {
+                // before the methods mapped for all request methods
+                while (index > 0 && !methods.get(index - 1).hasMethods()) {
+                    index--;
+                }
+            }
+            methods.add(index, handlerMethod);
+            this.methodNotAllowed = StatusResponder.handlerMethod(this.pattern, METHOD_NOT_ALLOWED, allow(methods));
+            this.methods = methods.toArray(new HandlerMethod[methods.size()]);
+        }
 
+        /**
+         * The {@code Allow} header of the methods, {@code null} if one of them is mapped for all request methods.
+         */
+        private static String allow(List<HandlerMethod> methods) {
+            Set<String> allowed = new LinkedHashSet<String>();
+            for (HandlerMethod handlerMethod : methods) {
+                if (!handlerMethod.hasMethods()) {
+                    return null;
+                }
+                for (HttpMethod method : handlerMethod.getMethods()) {
+                    allowed.add(method.name());
+                    if (HttpMethod.GET.equals(method)) {
+                        allowed.add(HttpMethod.HEAD.name());
+                    }
+                }
+            }
+            return StringUtils.collectionToDelimitedString(allowed, ", ");
+        }
+
+        /**
+         * @return the matching method, else the method answering why none matched
+         */
+        HandlerMethod select(FullHttpRequest request) {
+            boolean methodMatched = false;
+            boolean contentTypeMatched = false;
+            for (HandlerMethod handlerMethod : this.methods) {
+                if (!handlerMethod.matchesMethod(request.method())) {
+                    continue;
+                }
+                methodMatched = true;
+                if (!handlerMethod.matchesContentType(request)) {
+                    continue;
+                }
+                contentTypeMatched = true;
+                if (handlerMethod.matchesAccept(request)) {
+                    return handlerMethod;
+                }
+            }
+            if (!methodMatched) {
+                return this.methodNotAllowed;
+            }
+            return (contentTypeMatched ? this.notAcceptable : this.unsupportedMediaType);
+        }
+
+        @Override
+        public String toString() {
+            return this.pattern + " " + Arrays.toString(this.methods);
+        }
+    }
+
+
+    /**
+     * Answers a request whose path matched but none of its methods, invoked like a handler method.
+     */
+    @NonBlocking
+    private static final class StatusResponder {
+
+        private static final Method RESPOND = ClassUtils.getMethod(StatusResponder.class, "respond");
+
+        private final HttpResponseStatus status;
+
+        private final String allow;
+
+        private StatusResponder(HttpResponseStatus status, String allow) {
+            this.status = status;
+            this.allow = allow;
+        }
+
+        static HandlerMethod handlerMethod(String pattern, HttpResponseStatus status, String allow) {
+            return new HandlerMethod(new StatusResponder(status, allow), RESPOND, new String[]{pattern},
+                    new RequestMethod[0], MediaTypeExpressions.EMPTY, MediaTypeExpressions.EMPTY);
+        }
+
+        public FullHttpResponse respond() {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, this.status, Unpooled.EMPTY_BUFFER);
+            if (this.allow != null) {
+                response.headers().set(HttpHeaderNames.ALLOW, this.allow);
+            }
+            return response;
+        }
+
+        @Override
+        public String toString() {
+            return this.status.toString();
+        }
+    }
+}
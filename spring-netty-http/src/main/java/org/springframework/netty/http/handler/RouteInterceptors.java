@@ -0,0 +1,199 @@
+package org.springframework.netty.http.handler;
+
+import org.springframework.netty.http.HandlerInterceptor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interceptors of a single route (the best matching pattern of a request), compiled once.
+ * <p>Plain interceptors always apply. For a {@link MappedInterceptor} the include and exclude
+ * patterns are checked against the route pattern: a literal route is matched directly, and for
+ * other routes a mapped interceptor whose patterns cover the route (e.g. "/api/**" for
+ * "/api/user/{id}") or cannot match it (a different literal segment) is decided up front.
+ * Only the remaining mapped interceptors are still matched against the lookup path per request.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+final class RouteInterceptors {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private static final int NEVER = 0;
+
+    private static final int ALWAYS = 1;
+
+    private static final int UNKNOWN = 2;
+
+    /**
+     * The interceptors to apply, or {@code null} if none or undecided ones remain
+     */
+    private final HandlerInterceptor[] interceptors;
+
+    /**
+     * Decided interceptors and undecided {@link MappedInterceptor}s in registration order
+     */
+    private final HandlerInterceptor[] candidates;
+
+
+    private RouteInterceptors(HandlerInterceptor[] interceptors, HandlerInterceptor[] candidates) {
+        this.interceptors = interceptors;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Compile the interceptors of the given route.
+     *
+     * @param pattern      the route pattern
+     * @param interceptors the adapted interceptors of the handler mapping
+     * @param pathMatcher  the handler mapping's PathMatcher
+     */
+    static RouteInterceptors compile(String pattern, List<HandlerInterceptor> interceptors, PathMatcher pathMatcher) {
+        List<HandlerInterceptor> result = new ArrayList<HandlerInterceptor>(interceptors.size());
+        boolean resolved = true;
+        for (HandlerInterceptor interceptor : interceptors) {
+            if (interceptor instanceof MappedInterceptor) {
+                MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
+                int decision = decide(pattern, mappedInterceptor, pathMatcher);
+                if (decision == ALWAYS) {
+                    result.add(mappedInterceptor.getInterceptor());
+                } else if (decision == UNKNOWN) {
+                    result.add(mappedInterceptor);
+                    resolved = false;
+                }
+            } else {
+                result.add(interceptor);
+            }
+        }
+        HandlerInterceptor[] array = (result.isEmpty() ? null : result.toArray(new HandlerInterceptor[result.size()]));
+        return (resolved ? new RouteInterceptors(array, null) : new RouteInterceptors(null, array));
+    }
+
+    /**
+     * Return the interceptors to apply for the given lookup path, the shared array if all are decided.
+     *
+     * @return the interceptors (may be {@code null}), not to be modified
+     */
+    HandlerInterceptor[] getInterceptors(String lookupPath, PathMatcher pathMatcher) {
+        if (this.candidates == null) {
+            return this.interceptors;
+        }
+        List<HandlerInterceptor> result = new ArrayList<HandlerInterceptor>(this.candidates.length);
+        for (HandlerInterceptor interceptor : this.candidates) {
+            if (interceptor instanceof MappedInterceptor) {
+                MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
+                if (mappedInterceptor.matches(lookupPath, pathMatcher)) {
+                    result.add(mappedInterceptor.getInterceptor());
+                }
+            } else {
+                result.add(interceptor);
+            }
+        }
+        return (result.isEmpty() ? null : result.toArray(new HandlerInterceptor[result.size()]));
+    }
+
+
+    private static int decide(String pattern, MappedInterceptor interceptor, PathMatcher pathMatcher) {
+        String[] includePatterns = interceptor.getPathPatterns();
+        String[] excludePatterns = interceptor.getExcludePathPatterns();
+        if (ObjectUtils.isEmpty(includePatterns) && ObjectUtils.isEmpty(excludePatterns)) {
+            return ALWAYS;
+        }
+        PathMatcher pathMatcherToUse = (interceptor.getPathMatcher() != null ? interceptor.getPathMatcher() : pathMatcher);
+        if (isLiteral(pattern)) {
+            // the lookup path is the pattern itself
+            return (interceptor.matches(pattern, pathMatcher) ? ALWAYS : NEVER);
+        }
+        if (pathMatcherToUse.getClass() != AntPathMatcher.class) {
+            return UNKNOWN;
+        }
+
+        if (!ObjectUtils.isEmpty(excludePatterns)) {
+            boolean unknown = false;
+            for (String excludePattern : excludePatterns) {
+                if (covers(excludePattern, pattern)) {
+                    return NEVER;
+                }
+                if (!disjoint(excludePattern, pattern)) {
+                    unknown = true;
+                }
+            }
+            if (unknown) {
+                return UNKNOWN;
+            }
+        }
+        if (ObjectUtils.isEmpty(includePatterns)) {
+            return ALWAYS;
+        }
+        int decision = NEVER;
+        for (String includePattern : includePatterns) {
+            if (covers(includePattern, pattern)) {
+                return ALWAYS;
+            }
+            if (!disjoint(includePattern, pattern)) {
+                decision = UNKNOWN;
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * Whether every path matching the route also matches the interceptor pattern.
+     */
+    private static boolean covers(String interceptorPattern, String pattern) {
+        if (interceptorPattern.equals(pattern)) {
+            return true;
+        }
+        String suffix = PATH_SEPARATOR + DOUBLE_WILDCARD;
+        if (interceptorPattern.endsWith(suffix)) {
+            String prefix = interceptorPattern.substring(0, interceptorPattern.length() - suffix.length());
+            if (prefix.isEmpty()) {
+                return pattern.startsWith(PATH_SEPARATOR);
+            }
+            return isLiteral(prefix) && (pattern.equals(prefix) || pattern.startsWith(prefix + PATH_SEPARATOR));
+        }
+        return false;
+    }
+
+    /**
+     * Whether no path can match both the route and the interceptor pattern,
+     * i.e. both have different literal segments at the same position.
+     */
+    private static boolean disjoint(String interceptorPattern, String pattern) {
+        if (interceptorPattern.startsWith(PATH_SEPARATOR) != pattern.startsWith(PATH_SEPARATOR)) {
+            return true;
+        }
+        String[] interceptorSegments = StringUtils.tokenizeToStringArray(interceptorPattern, PATH_SEPARATOR, false, true);
+        String[] segments = StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR, false, true);
+        int length = Math.min(interceptorSegments.length, segments.length);
+        for (int i = 0; i < length; i++) {
+            String interceptorSegment = interceptorSegments[i];
+            String segment = segments[i];
+            if (DOUBLE_WILDCARD.equals(interceptorSegment) || DOUBLE_WILDCARD.equals(segment)) {
+                return false;
+            }
+            if (isLiteral(interceptorSegment) && isLiteral(segment) && !interceptorSegment.equals(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
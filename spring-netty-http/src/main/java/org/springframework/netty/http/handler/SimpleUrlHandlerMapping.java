@@ -1,6 +1,8 @@
 package org.springframework.netty.http.handler;
 
+import io.netty.handler.codec.http.FullHttpRequest;
 import org.springframework.beans.BeansException;
+import org.springframework.netty.http.codec.QueryDecoder;
 import org.springframework.util.CollectionUtils;
 
 import javax.servlet.annotation.WebServlet;
@@ -17,6 +19,8 @@ public class SimpleUrlHandlerMapping extends AbstractUrlHandlerMapping {
 
     private final Map<String, Object> urlMap = new LinkedHashMap<String, Object>();
 
+    private HandlerLookupCache lookupCache;
+
     /**
      * Map URL paths to handler bean names.
      * This is the typical way of configuring this HandlerMapping.
@@ -53,6 +57,24 @@ public class SimpleUrlHandlerMapping extends AbstractUrlHandlerMapping {
         return this.urlMap;
     }
 
+    /**
+     * Cache the lookup result (handler and URI template variables) of up to the given number
+     * of distinct lookup paths, including paths without a handler.
+     * <p>The cache is cleared whenever a handler is registered.
+     * <p>The default value is {@code 0}, i.e. no cache.
+     * @param lookupCacheSize maximum number of cached lookup paths
+     */
+    public void setLookupCacheSize(int lookupCacheSize) {
+        this.lookupCache = (lookupCacheSize > 0 ? new HandlerLookupCache(lookupCacheSize) : null);
+    }
+
+    /**
+     * Return the lookup cache, or {@code null} if not enabled.
+     */
+    public HandlerLookupCache getLookupCache() {
+        return this.lookupCache;
+    }
+
 
 
     @Override
@@ -94,4 +116,33 @@ public class SimpleUrlHandlerMapping extends AbstractUrlHandlerMapping {
     public void registerHandler(String[] urlPaths, Object handler) throws IllegalStateException {
         super.registerHandler(urlPaths, handler);
     }
+
+    @Override
+    protected Object lookupHandler(String urlPath, FullHttpRequest request, QueryDecoder query) throws Exception {
+        HandlerLookupCache lookupCache = this.lookupCache;
+        if (lookupCache == null) {
+            return super.lookupHandler(urlPath, request, query);
+        }
+        HandlerLookupCache.Entry entry = lookupCache.get(urlPath);
+        if (entry != null) {
+            query.setBestMatchingPattern(entry.getBestMatchingPattern());
+            if (entry.getUriTemplateVariables() != null) {
+                query.setUriTemplateVariables(entry.getUriTemplateVariables());
+            }
+            return entry.getHandler();
+        }
+
+        long generation = lookupCache.getGeneration();
+        Object handler = super.lookupHandler(urlPath, request, query);
+        lookupCache.put(urlPath, handler, query.getBestMatchingPattern(), query.pathVariable(), generation);
+        return handler;
+    }
+
+    @Override
+    protected void handlerMappingsChanged() {
+        super.handlerMappingsChanged();
+        if (this.lookupCache != null) {
+            this.lookupCache.clear();
+        }
+    }
 }
@@ -0,0 +1,358 @@
+package org.springframework.netty.http.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.netty.http.HttpRequestHandler;
+import org.springframework.netty.http.NonBlocking;
+import org.springframework.netty.http.OrderedResponseQueue;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.*;
+import static io.netty.handler.codec.http.HttpResponseStatus.*;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+/**
+ * Serves files below a base directory, registered in a {@link SimpleUrlHandlerMapping} under a
+ * pattern such as {@code /static/**}; the path within the pattern is resolved against the directory.
+ * <p>The handler runs on the I/O thread and writes the response itself: over plaintext the file is
+ * transferred with a {@link DefaultFileRegion} (sendfile, no copy into user space), under TLS and on
+ * HTTP/2 streams with a {@link ChunkedNioFile}, which needs a {@link ChunkedWriteHandler} in the pipeline.
+ * {@code Range}, {@code If-Range}, {@code If-None-Match} and {@code If-Modified-Since} are supported.
+ * <p>Paths escaping the base directory are rejected; symbolic links inside it are followed.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@NonBlocking
+public class StaticResourceHandler implements HttpRequestHandler<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticResourceHandler.class);
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final Map<String, String> DEFAULT_MEDIA_TYPES = new HashMap<String, String>();
+
+    static {
+        DEFAULT_MEDIA_TYPES.put("html", "text/html; charset=UTF-8");
+        DEFAULT_MEDIA_TYPES.put("htm", "text/html; charset=UTF-8");
+        DEFAULT_MEDIA_TYPES.put("css", "text/css; charset=UTF-8");
+        DEFAULT_MEDIA_TYPES.put("js", "application/javascript; charset=UTF-8");
+        DEFAULT_MEDIA_TYPES.put("json", "application/json");
+        DEFAULT_MEDIA_TYPES.put("txt", "text/plain; charset=UTF-8");
+        DEFAULT_MEDIA_TYPES.put("xml", "application/xml");
+        DEFAULT_MEDIA_TYPES.put("png", "image/png");
+        DEFAULT_MEDIA_TYPES.put("jpg", "image/jpeg");
+        DEFAULT_MEDIA_TYPES.put("jpeg", "image/jpeg");
+        DEFAULT_MEDIA_TYPES.put("gif", "image/gif");
+        DEFAULT_MEDIA_TYPES.put("svg", "image/svg+xml");
+        DEFAULT_MEDIA_TYPES.put("ico", "image/x-icon");
+        DEFAULT_MEDIA_TYPES.put("pdf", "application/pdf");
+        DEFAULT_MEDIA_TYPES.put("zip", "application/zip");
+        DEFAULT_MEDIA_TYPES.put("gz", "application/gzip");
+        DEFAULT_MEDIA_TYPES.put("tar", "application/x-tar");
+        DEFAULT_MEDIA_TYPES.put("jar", "application/java-archive");
+        DEFAULT_MEDIA_TYPES.put("woff", "font/woff");
+        DEFAULT_MEDIA_TYPES.put("woff2", "font/woff2");
+        DEFAULT_MEDIA_TYPES.put("mp4", "video/mp4");
+    }
+
+    private final Path baseDirectory;
+
+    private final Map<String, String> mediaTypes = new HashMap<String, String>(DEFAULT_MEDIA_TYPES);
+
+    private PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * &lt; 0 no Cache-Control header
+     */
+    private int cacheSeconds = -1;
+
+    private int chunkSize = 8192;
+
+    public StaticResourceHandler(File baseDirectory) {
+        Assert.notNull(baseDirectory, "Base directory must not be null");
+        this.baseDirectory = baseDirectory.toPath().toAbsolutePath().normalize();
+    }
+
+    public StaticResourceHandler(String baseDirectory) {
+        this(new File(baseDirectory));
+    }
+
+    public void setPathMatcher(PathMatcher pathMatcher) {
+        this.pathMatcher = pathMatcher;
+    }
+
+    /**
+     * Add or override the {@code Content-Type} of file extensions, e.g. {@code "csv" -> "text/csv"}.
+     */
+    public void setMediaTypes(Map<String, String> mediaTypes) {
+        for (Map.Entry<String, String> entry : mediaTypes.entrySet()) {
+            this.mediaTypes.put(entry.getKey().toLowerCase(Locale.ENGLISH), entry.getValue());
+        }
+    }
+
+    /**
+     * Set the {@code Cache-Control: max-age} in seconds, default is no header.
+     */
+    public void setCacheSeconds(int cacheSeconds) {
+        this.cacheSeconds = cacheSeconds;
+    }
+
+    /**
+     * Set the chunk size used under TLS, default is 8 KB.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public <R> R handleRequest(ChannelHandlerContext ctx, FullHttpRequest request, Object inputBody) throws IOException {
+        HttpExchange exchange = RequestContextHolder.getExchange();
+        Assert.state(exchange != null, "No HttpExchange bound, StaticResourceHandler must be invoked by the DispatcherHandler");
+        boolean head = HttpMethod.HEAD.equals(request.method());
+        if (!head && !HttpMethod.GET.equals(request.method())) {
+            FullHttpResponse response = emptyResponse(METHOD_NOT_ALLOWED);
+            response.headers().set(ALLOW, "GET, HEAD");
+            writeResponse(ctx, exchange, response);
+            return null;
+        }
+        QueryDecoder query = exchange.getQuery();
+        File file = resolveFile(query != null ? query : new QueryDecoder(request.uri()));
+        if (file == null || !file.isFile() || !file.canRead()) {
+            writeResponse(ctx, exchange, emptyResponse(NOT_FOUND));
+            return null;
+        }
+        long length = file.length();
+        long lastModified = file.lastModified() / 1000 * 1000;
+        String eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        HttpHeaders requestHeaders = request.headers();
+        if (isNotModified(requestHeaders, eTag, lastModified)) {
+            FullHttpResponse response = emptyResponse(NOT_MODIFIED);
+            response.headers().remove(CONTENT_LENGTH);
+            setCacheHeaders(response.headers(), eTag, lastModified);
+            writeResponse(ctx, exchange, response);
+            return null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpResponseStatus status = OK;
+        String range = requestHeaders.get(RANGE);
+        if (range != null && isIfRangeMatching(requestHeaders.get(IF_RANGE), eTag, lastModified)) {
+            long[] byteRange = parseRange(range, length);
+            if (byteRange == null) {
+                FullHttpResponse response = emptyResponse(REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.headers().set(CONTENT_RANGE, "bytes */" + length);
+                writeResponse(ctx, exchange, response);
+                return null;
+            }
+            if (byteRange.length == 2) {
+                start = byteRange[0];
+                end = byteRange[1];
+                status = PARTIAL_CONTENT;
+            }
+        }
+        long contentLength = end - start + 1;
+
+        HttpResponse response = new DefaultHttpResponse(HTTP_1_1, status);
+        HttpHeaders headers = response.headers();
+        headers.set(CONTENT_TYPE, getContentType(file.getName()));
+        headers.set(CONTENT_LENGTH, contentLength);
+        headers.set(ACCEPT_RANGES, HttpHeaderValues.BYTES);
+        if (status == PARTIAL_CONTENT) {
+            headers.set(CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        setCacheHeaders(headers, eTag, lastModified);
+        boolean keepAlive = exchange.isKeepAlive();
+        if (keepAlive) {
+            headers.set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+
+        if (head || contentLength == 0) {
+            OrderedResponseQueue.get(ctx).writeAll(exchange, !keepAlive, response, LastHttpContent.EMPTY_LAST_CONTENT);
+            return null;
+        }
+        RandomAccessFile raf;
+        try {
+            raf = new RandomAccessFile(file, "r");
+        } catch (IOException ex) {
+            logger.debug("Cannot open {}: {}", file, ex.toString());
+            writeResponse(ctx, exchange, emptyResponse(NOT_FOUND));
+            return null;
+        }
+        // the server adds a ChunkedWriteHandler where a FileRegion cannot be written: under TLS and on HTTP/2 streams
+        if (ctx.pipeline().get(ChunkedWriteHandler.class) == null && ctx.pipeline().get(SslHandler.class) == null) {
+            OrderedResponseQueue.get(ctx).writeAll(exchange, !keepAlive, response,
+                    new DefaultFileRegion(raf.getChannel(), start, contentLength), LastHttpContent.EMPTY_LAST_CONTENT);
+        } else {
+            // HttpChunkedInput ends with the last content itself
+            OrderedResponseQueue.get(ctx).writeAll(exchange, !keepAlive, response,
+                    new HttpChunkedInput(new ChunkedNioFile(raf.getChannel(), start, contentLength, chunkSize)));
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the path within the handler's pattern against the base directory.
+     *
+     * @return the file or {@code null} if the path leaves the base directory
+     */
+    protected File resolveFile(QueryDecoder query) {
+        String lookupPath = query.path();
+        String pattern = query.getBestMatchingPattern();
+        String path = (pattern != null ? pathMatcher.extractPathWithinPattern(pattern, lookupPath) : lookupPath);
+        if (path.indexOf('\0') != -1 || path.indexOf('\\') != -1) {
+            return null;
+        }
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (!StringUtils.hasLength(path)) {
+            return null;
+        }
+        Path resolved = baseDirectory.resolve(path).normalize();
+        if (!resolved.startsWith(baseDirectory)) {
+            return null;
+        }
+        return resolved.toFile();
+    }
+
+    protected String getContentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot != -1) {
+            String mediaType = mediaTypes.get(fileName.substring(dot + 1).toLowerCase(Locale.ENGLISH));
+            if (mediaType != null) {
+                return mediaType;
+            }
+        }
+        return DEFAULT_CONTENT_TYPE;
+    }
+
+    private void setCacheHeaders(HttpHeaders headers, String eTag, long lastModified) {
+        headers.set(ETAG, eTag);
+        headers.set(LAST_MODIFIED, DateFormatter.format(new Date(lastModified)));
+        if (cacheSeconds >= 0) {
+            headers.set(CACHE_CONTROL, "max-age=" + cacheSeconds);
+        }
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, String eTag, long lastModified) {
+        String ifNoneMatch = requestHeaders.get(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            return matchesETag(ifNoneMatch, eTag);
+        }
+        Date ifModifiedSince = parseDate(requestHeaders.get(IF_MODIFIED_SINCE));
+        return ifModifiedSince != null && lastModified <= ifModifiedSince.getTime();
+    }
+
+    private static boolean isIfRangeMatching(String ifRange, String eTag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        Date date = parseDate(ifRange);
+        return date != null && date.getTime() == lastModified;
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Date parseDate(String value) {
+        return (value != null ? DateFormatter.parseHttpDate(value) : null);
+    }
+
+    /**
+     * Parse a single byte range.
+     *
+     * @return {@code [start, end]}, an empty array to ignore the header (e.g. multiple ranges),
+     * or {@code null} if the range cannot be satisfied
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') != -1) {
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // suffix range: the last n bytes
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = (dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1)));
+                if (start >= length && end >= start) {
+                    return null;
+                }
+                if (end < start) {
+                    return new long[0];
+                }
+                end = Math.min(end, length - 1);
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException ex) {
+            return new long[0];
+        }
+    }
+
+    private static FullHttpResponse emptyResponse(HttpResponseStatus status) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        response.headers().set(CONTENT_LENGTH, 0);
+        return response;
+    }
+
+    private static void writeResponse(ChannelHandlerContext ctx, HttpExchange exchange, FullHttpResponse response) {
+        boolean keepAlive = exchange.isKeepAlive();
+        if (keepAlive) {
+            response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+        OrderedResponseQueue.get(ctx).writeAll(exchange, !keepAlive, response);
+    }
+}
@@ -0,0 +1,95 @@
+package org.springframework.netty.http.handler;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.netty.http.StreamingHttpRequestHandler;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps request paths to {@link StreamingHttpRequestHandler}s, looked up on the I/O thread before the
+ * request body is aggregated. Literal paths are a map lookup, patterns are matched in turn.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamingHandlerMapping {
+
+    protected final Log logger = LogFactory.getLog(getClass());
+
+    private PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, StreamingHttpRequestHandler> directHandlers = new HashMap<String, StreamingHttpRequestHandler>();
+
+    private final Map<String, StreamingHttpRequestHandler> patternHandlers = new LinkedHashMap<String, StreamingHttpRequestHandler>();
+
+    public void setPathMatcher(PathMatcher pathMatcher) {
+        Assert.notNull(pathMatcher, "PathMatcher must not be null");
+        this.pathMatcher = pathMatcher;
+    }
+
+    public void registerHandler(String[] urlPaths, StreamingHttpRequestHandler handler) {
+        for (String urlPath : urlPaths) {
+            registerHandler(urlPath, handler);
+        }
+    }
+
+    public void registerHandler(String urlPath, StreamingHttpRequestHandler handler) {
+        Assert.notNull(urlPath, "URL path must not be null");
+        Assert.notNull(handler, "Handler object must not be null");
+        if (!urlPath.startsWith("/")) {
+            urlPath = "/" + urlPath;
+        }
+        Map<String, StreamingHttpRequestHandler> handlers = (pathMatcher.isPattern(urlPath) ? patternHandlers : directHandlers);
+        StreamingHttpRequestHandler existing = handlers.put(urlPath, handler);
+        if (existing != null && existing != handler) {
+            throw new IllegalStateException("Cannot map streaming handler [" + handler + "] to URL path [" + urlPath +
+                    "]: There is already handler [" + existing + "] mapped.");
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Mapped streaming URL path [" + urlPath + "] onto handler [" + handler + "]");
+        }
+    }
+
+    /**
+     * @param lookupPath the request path without query string
+     * @return the handler or {@code null}
+     */
+    public StreamingHttpRequestHandler getHandler(String lookupPath) {
+        StreamingHttpRequestHandler handler = directHandlers.get(lookupPath);
+        if (handler != null || patternHandlers.isEmpty()) {
+            return handler;
+        }
+        List<String> matchingPatterns = null;
+        for (String pattern : patternHandlers.keySet()) {
+            if (pathMatcher.match(pattern, lookupPath)) {
+                if (matchingPatterns == null) {
+                    matchingPatterns = new ArrayList<String>(2);
+                }
+                matchingPatterns.add(pattern);
+            }
+        }
+        if (matchingPatterns == null) {
+            return null;
+        }
+        if (matchingPatterns.size() > 1) {
+            Comparator<String> patternComparator = pathMatcher.getPatternComparator(lookupPath);
+            Collections.sort(matchingPatterns, patternComparator);
+        }
+        return patternHandlers.get(matchingPatterns.get(0));
+    }
+
+    public boolean isEmpty() {
+        return directHandlers.isEmpty() && patternHandlers.isEmpty();
+    }
+}
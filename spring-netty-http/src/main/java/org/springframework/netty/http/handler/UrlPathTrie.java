@@ -0,0 +1,595 @@
+package org.springframework.netty.http.handler;
+
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Segment trie compiled from the URL patterns registered in an {@link AbstractUrlHandlerMapping}.
+ * <p>Literal segments are looked up in a hash map, plain {@code {var}} segments share a single
+ * variable branch per node, and other Ant-style segments ({@code *}, {@code ?}, {@code {var:regex}},
+ * {@code *.json}) are matched with a precompiled regex. A trailing {@code /**} is a catch-all of its
+ * node; patterns with a {@code **} anywhere else are kept aside and still matched through the
+ * {@link PathMatcher}.
+ * <p>Every pattern is ranked once at build time with {@link PathMatcher#getPatternComparator}, so a
+ * lookup only keeps the best ranked candidate instead of sorting all matching patterns per request.
+ * URI template variables are bound from the path segments of the winning route only.
+ * <p>The pattern comparator is not transitive once prefix patterns ("/a/**") and other "**" patterns
+ * are mixed, so a static rank is not reliable then: when such patterns are registered the few matching
+ * candidates are still sorted per request, exactly like {@link AbstractUrlHandlerMapping} does without the trie.
+ * <p>The trie follows the semantics of a default configured {@link org.springframework.util.AntPathMatcher}
+ * (case sensitive, untrimmed tokens, "/" separator).
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class UrlPathTrie {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String WILDCARD = "*";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final PathMatcher pathMatcher;
+
+    private final boolean useTrailingSlashMatch;
+
+    private final Node root = new Node(null);
+
+    /**
+     * Routes with a "**" that is not the last segment, matched through the PathMatcher
+     */
+    private final List<Route> fallbackRoutes = new ArrayList<Route>();
+
+    /**
+     * Whether the build time rank decides between candidates, see class level docs
+     */
+    private final boolean rankReliable;
+
+
+    UrlPathTrie(Map<String, Object> handlerMap, PathMatcher pathMatcher, boolean useTrailingSlashMatch) {
+        this.pathMatcher = pathMatcher;
+        this.useTrailingSlashMatch = useTrailingSlashMatch;
+
+        List<Route> routes = new ArrayList<Route>(handlerMap.size());
+        List<RankedPattern> rankedPatterns = new ArrayList<RankedPattern>(handlerMap.size() * 2);
+        for (Map.Entry<String, Object> entry : handlerMap.entrySet()) {
+            Route route = new Route(entry.getKey(), entry.getValue(), routes.size());
+            routes.add(route);
+            rankedPatterns.add(new RankedPattern(route.pattern, route, false));
+            // A trailing slash variant equal to a registered pattern resolves to that pattern anyway,
+            // and a prefix pattern ("/a/**") always matches without its variant
+            String trailingSlashPattern = route.pattern + PATH_SEPARATOR;
+            if (useTrailingSlashMatch && !route.trailingSlash && !route.pattern.endsWith(PATH_SEPARATOR + DOUBLE_WILDCARD)
+                    && !handlerMap.containsKey(trailingSlashPattern)) {
+                rankedPatterns.add(new RankedPattern(trailingSlashPattern, route, true));
+            }
+        }
+
+        // Stable sort: patterns comparing equal keep their registration order, like the per-request scan
+        final Comparator<String> patternComparator = pathMatcher.getPatternComparator(null);
+        Collections.sort(rankedPatterns, new Comparator<RankedPattern>() {
+            @Override
+            public int compare(RankedPattern p1, RankedPattern p2) {
+                return compareCandidates(patternComparator, p1.pattern, p1.trailingSlashVariant,
+                        p2.pattern, p2.trailingSlashVariant);
+            }
+        });
+        for (int i = 0; i < rankedPatterns.size(); i++) {
+            RankedPattern rankedPattern = rankedPatterns.get(i);
+            if (rankedPattern.trailingSlashVariant) {
+                rankedPattern.route.trailingSlashRank = i;
+            } else {
+                rankedPattern.route.rank = i;
+            }
+        }
+
+        for (Route route : routes) {
+            insert(route);
+        }
+        this.rankReliable = this.fallbackRoutes.isEmpty();
+    }
+
+    /**
+     * The PathMatcher this trie was built for.
+     */
+    PathMatcher getPathMatcher() {
+        return this.pathMatcher;
+    }
+
+    /**
+     * Find the best matching route for the given lookup path.
+     *
+     * @param lookupPath the request path
+     * @return the match, or {@code null} if no registered pattern matches
+     */
+    Match match(String lookupPath) {
+        Lookup lookup = new Lookup(lookupPath, this.rankReliable);
+        descend(this.root, 0, lookup);
+
+        for (Route route : this.fallbackRoutes) {
+            if (this.pathMatcher.match(route.pattern, lookupPath)) {
+                lookup.candidate(route);
+            } else if (route.trailingSlashRank >= 0 &&
+                    this.pathMatcher.match(route.pattern + PATH_SEPARATOR, lookupPath)) {
+                lookup.trailingSlashCandidate(route);
+            }
+        }
+
+        if (lookup.candidates != null && lookup.candidates.size() > 1) {
+            lookup.selectByPatternComparator(this.pathMatcher.getPatternComparator(lookupPath));
+        }
+        Route best = lookup.best;
+        if (best == null) {
+            return null;
+        }
+        String bestPattern = (lookup.bestTrailingSlashVariant ? best.pattern + PATH_SEPARATOR : best.pattern);
+        Map<String, String> uriTemplateVariables;
+        if (best.fallback) {
+            uriTemplateVariables = this.pathMatcher.extractUriTemplateVariables(bestPattern, lookupPath);
+        } else {
+            uriTemplateVariables = best.extractUriTemplateVariables(lookup.segments);
+        }
+        return new Match(best.handler, bestPattern, uriTemplateVariables);
+    }
+
+    private void descend(Node node, int index, Lookup lookup) {
+        String[] segments = lookup.segments;
+        if (index == segments.length) {
+            for (Route route : node.routes) {
+                if (route.trailingSlash == lookup.trailingSlash) {
+                    lookup.candidate(route);
+                } else if (lookup.trailingSlash && route.trailingSlashRank >= 0) {
+                    lookup.trailingSlashCandidate(route);
+                }
+            }
+            // AntPathMatcher: "/a/*" matches "/a/"
+            if (lookup.trailingSlash && node.patternChildren != null) {
+                for (Node child : node.patternChildren) {
+                    if (WILDCARD.equals(child.segment)) {
+                        for (Route route : child.routes) {
+                            lookup.candidate(route);
+                        }
+                    }
+                }
+            }
+            // "/a/**" matches "/a" and "/a/"
+            for (Route route : node.catchAllRoutes) {
+                lookup.candidate(route);
+            }
+            return;
+        }
+
+        String segment = segments[index];
+        if (node.staticChildren != null) {
+            Node child = node.staticChildren.get(segment);
+            if (child != null) {
+                descend(child, index + 1, lookup);
+            }
+        }
+        if (node.variableChild != null) {
+            descend(node.variableChild, index + 1, lookup);
+        }
+        if (node.patternChildren != null) {
+            for (Node child : node.patternChildren) {
+                if (child.matcher.matches(segment)) {
+                    descend(child, index + 1, lookup);
+                }
+            }
+        }
+        for (Route route : node.catchAllRoutes) {
+            lookup.candidate(route);
+        }
+    }
+
+    private void insert(Route route) {
+        String[] segments = route.segments;
+        if (segments == null) {
+            this.fallbackRoutes.add(route);
+            return;
+        }
+        Node node = this.root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                node.catchAllRoutes.add(route);
+                return;
+            } else if (!isPatternSegment(segment)) {
+                node = node.staticChild(segment);
+            } else if (isSimpleVariable(segment)) {
+                node = node.variableChild();
+                route.variableNames[i] = segment.substring(1, segment.length() - 1);
+            } else {
+                node = node.patternChild(segment);
+                route.matchers[i] = node.matcher;
+            }
+        }
+        node.routes.add(route);
+    }
+
+    /**
+     * Compare with the pattern comparator, a registered pattern ranks above an equally specific
+     * trailing slash variant ("/{x}/" over "/{y}" + "/"), same as {@link AbstractUrlHandlerMapping}.
+     */
+    private static int compareCandidates(Comparator<String> patternComparator, String pattern1, boolean variant1,
+                                         String pattern2, boolean variant2) {
+        int result = patternComparator.compare(pattern1, pattern2);
+        if (result == 0 && variant1 != variant2) {
+            result = (variant1 ? 1 : -1);
+        }
+        return result;
+    }
+
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+
+    private static boolean isPatternSegment(String segment) {
+        return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+    }
+
+    private static boolean isSimpleVariable(String segment) {
+        return (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}' &&
+                segment.indexOf('{', 1) == -1 && segment.indexOf('}') == segment.length() - 1 &&
+                segment.indexOf(':') == -1 && segment.indexOf('*') == -1 && segment.indexOf('?') == -1);
+    }
+
+
+    /**
+     * Result of a trie lookup.
+     */
+    static final class Match {
+
+        private final Object handler;
+
+        private final String pattern;
+
+        private final Map<String, String> uriTemplateVariables;
+
+        Match(Object handler, String pattern, Map<String, String> uriTemplateVariables) {
+            this.handler = handler;
+            this.pattern = pattern;
+            this.uriTemplateVariables = uriTemplateVariables;
+        }
+
+        /**
+         * The handler instance or handler bean name.
+         */
+        Object getHandler() {
+            return this.handler;
+        }
+
+        /**
+         * The best matching pattern, including a trailing slash added by trailing slash matching.
+         */
+        String getPattern() {
+            return this.pattern;
+        }
+
+        Map<String, String> getUriTemplateVariables() {
+            return this.uriTemplateVariables;
+        }
+    }
+
+
+    private static final class Node {
+
+        private final String segment;
+
+        private final SegmentMatcher matcher;
+
+        private Map<String, Node> staticChildren;
+
+        private Node variableChild;
+
+        private List<Node> patternChildren;
+
+        private final List<Route> routes = new ArrayList<Route>(1);
+
+        private final List<Route> catchAllRoutes = new ArrayList<Route>(0);
+
+        Node(String segment) {
+            this.segment = segment;
+            this.matcher = (segment != null ? new SegmentMatcher(segment) : null);
+        }
+
+        private Node(String segment, SegmentMatcher matcher) {
+            this.segment = segment;
+            this.matcher = matcher;
+        }
+
+        Node staticChild(String segment) {
+            if (this.staticChildren == null) {
+                this.staticChildren = new HashMap<String, Node>();
+            }
+            Node child = this.staticChildren.get(segment);
+            if (child == null) {
+                child = new Node(segment, null);
+                this.staticChildren.put(segment, child);
+            }
+            return child;
+        }
+
+        Node variableChild() {
+            if (this.variableChild == null) {
+                this.variableChild = new Node(null, null);
+            }
+            return this.variableChild;
+        }
+
+        Node patternChild(String segment) {
+            if (this.patternChildren == null) {
+                this.patternChildren = new ArrayList<Node>(2);
+            }
+            for (Node child : this.patternChildren) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            Node child = new Node(segment);
+            this.patternChildren.add(child);
+            return child;
+        }
+    }
+
+
+    private static final class Route {
+
+        private final String pattern;
+
+        private final Object handler;
+
+        /**
+         * Registration order
+         */
+        private final int order;
+
+        private final boolean leadingSlash;
+
+        private final boolean trailingSlash;
+
+        /**
+         * Pattern segments, or {@code null} if the route is matched through the PathMatcher
+         */
+        private final String[] segments;
+
+        private final boolean fallback;
+
+        private final String[] variableNames;
+
+        private final SegmentMatcher[] matchers;
+
+        private int rank;
+
+        private int trailingSlashRank = -1;
+
+        Route(String pattern, Object handler, int order) {
+            this.pattern = pattern;
+            this.handler = handler;
+            this.order = order;
+            this.leadingSlash = pattern.startsWith(PATH_SEPARATOR);
+            this.trailingSlash = pattern.endsWith(PATH_SEPARATOR);
+            String[] segments = tokenize(pattern);
+            int doubleWildcard = Arrays.asList(segments).indexOf(DOUBLE_WILDCARD);
+            // only a trailing "/**" (without trailing slash) is compiled into the trie
+            this.fallback = (doubleWildcard != -1 && (doubleWildcard != segments.length - 1 || this.trailingSlash));
+            this.segments = (this.fallback ? null : segments);
+            this.variableNames = new String[segments.length];
+            this.matchers = new SegmentMatcher[segments.length];
+        }
+
+        Map<String, String> extractUriTemplateVariables(String[] pathSegments) {
+            Map<String, String> variables = null;
+            int length = Math.min(this.segments.length, pathSegments.length);
+            for (int i = 0; i < length; i++) {
+                if (this.variableNames[i] != null) {
+                    if (variables == null) {
+                        variables = new LinkedHashMap<String, String>();
+                    }
+                    variables.put(this.variableNames[i], pathSegments[i]);
+                } else if (this.matchers[i] != null && this.matchers[i].hasVariables()) {
+                    if (variables == null) {
+                        variables = new LinkedHashMap<String, String>();
+                    }
+                    this.matchers[i].extractVariables(pathSegments[i], variables);
+                }
+            }
+            return (variables != null ? variables : Collections.<String, String>emptyMap());
+        }
+    }
+
+
+    private static final class RankedPattern {
+
+        private final String pattern;
+
+        private final Route route;
+
+        private final boolean trailingSlashVariant;
+
+        RankedPattern(String pattern, Route route, boolean trailingSlashVariant) {
+            this.pattern = pattern;
+            this.route = route;
+            this.trailingSlashVariant = trailingSlashVariant;
+        }
+    }
+
+
+    /**
+     * Per-request lookup state.
+     */
+    private static final class Lookup {
+
+        private final String lookupPath;
+
+        private final String[] segments;
+
+        private final boolean leadingSlash;
+
+        private final boolean trailingSlash;
+
+        private Route best;
+
+        private int bestRank = Integer.MAX_VALUE;
+
+        private boolean bestTrailingSlashVariant;
+
+        /**
+         * All candidates, only collected when the build time rank is not reliable
+         */
+        private List<Candidate> candidates;
+
+        Lookup(String lookupPath, boolean rankReliable) {
+            this.lookupPath = lookupPath;
+            this.segments = tokenize(lookupPath);
+            this.leadingSlash = lookupPath.startsWith(PATH_SEPARATOR);
+            this.trailingSlash = lookupPath.endsWith(PATH_SEPARATOR);
+            if (!rankReliable) {
+                this.candidates = new ArrayList<Candidate>(4);
+            }
+        }
+
+        void candidate(Route route) {
+            add(route, route.rank, false);
+        }
+
+        void trailingSlashCandidate(Route route) {
+            // the pattern comparator puts a pattern equal to the lookup path first
+            boolean equalsLookupPath = (this.lookupPath.length() == route.pattern.length() + 1 &&
+                    this.lookupPath.startsWith(route.pattern));
+            add(route, (equalsLookupPath ? -1 : route.trailingSlashRank), true);
+        }
+
+        private void add(Route route, int rank, boolean trailingSlashVariant) {
+            if (route.leadingSlash != this.leadingSlash) {
+                return;
+            }
+            if (this.candidates != null) {
+                this.candidates.add(new Candidate(route, trailingSlashVariant));
+            }
+            if (rank < this.bestRank) {
+                this.best = route;
+                this.bestRank = rank;
+                this.bestTrailingSlashVariant = trailingSlashVariant;
+            }
+        }
+
+        /**
+         * Sort the candidates in registration order with the per-request comparator and keep the first.
+         */
+        void selectByPatternComparator(final Comparator<String> patternComparator) {
+            Collections.sort(this.candidates, new Comparator<Candidate>() {
+                @Override
+                public int compare(Candidate c1, Candidate c2) {
+                    return c1.route.order - c2.route.order;
+                }
+            });
+            Collections.sort(this.candidates, new Comparator<Candidate>() {
+                @Override
+                public int compare(Candidate c1, Candidate c2) {
+                    return compareCandidates(patternComparator, c1.pattern, c1.trailingSlashVariant,
+                            c2.pattern, c2.trailingSlashVariant);
+                }
+            });
+            Candidate first = this.candidates.get(0);
+            this.best = first.route;
+            this.bestTrailingSlashVariant = first.trailingSlashVariant;
+        }
+    }
+
+
+    private static final class Candidate {
+
+        private final Route route;
+
+        private final String pattern;
+
+        private final boolean trailingSlashVariant;
+
+        Candidate(Route route, boolean trailingSlashVariant) {
+            this.route = route;
+            this.pattern = (trailingSlashVariant ? route.pattern + PATH_SEPARATOR : route.pattern);
+            this.trailingSlashVariant = trailingSlashVariant;
+        }
+    }
+
+
+    /**
+     * Matches a single path segment, same translation as AntPathMatcher's AntPathStringMatcher.
+     */
+    private static final class SegmentMatcher {
+
+        private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
+
+        private static final String DEFAULT_VARIABLE_PATTERN = "(.*)";
+
+        private final Pattern pattern;
+
+        private final List<String> variableNames = new ArrayList<String>(1);
+
+        SegmentMatcher(String segment) {
+            StringBuilder patternBuilder = new StringBuilder();
+            Matcher matcher = GLOB_PATTERN.matcher(segment);
+            int end = 0;
+            while (matcher.find()) {
+                patternBuilder.append(quote(segment, end, matcher.start()));
+                String match = matcher.group();
+                if ("?".equals(match)) {
+                    patternBuilder.append('.');
+                } else if ("*".equals(match)) {
+                    patternBuilder.append(".*");
+                } else if (match.startsWith("{") && match.endsWith("}")) {
+                    int colonIdx = match.indexOf(':');
+                    if (colonIdx == -1) {
+                        patternBuilder.append(DEFAULT_VARIABLE_PATTERN);
+                        this.variableNames.add(matcher.group(1));
+                    } else {
+                        String variablePattern = match.substring(colonIdx + 1, match.length() - 1);
+                        patternBuilder.append('(').append(variablePattern).append(')');
+                        this.variableNames.add(match.substring(1, colonIdx));
+                    }
+                }
+                end = matcher.end();
+            }
+            patternBuilder.append(quote(segment, end, segment.length()));
+            this.pattern = Pattern.compile(patternBuilder.toString());
+        }
+
+        private static String quote(String s, int start, int end) {
+            if (start == end) {
+                return "";
+            }
+            return Pattern.quote(s.substring(start, end));
+        }
+
+        boolean matches(String segment) {
+            return this.pattern.matcher(segment).matches();
+        }
+
+        boolean hasVariables() {
+            return !this.variableNames.isEmpty();
+        }
+
+        void extractVariables(String segment, Map<String, String> variables) {
+            Matcher matcher = this.pattern.matcher(segment);
+            if (!matcher.matches()) {
+                return;
+            }
+            if (this.variableNames.size() != matcher.groupCount()) {
+                throw new IllegalArgumentException("The number of capturing groups in the pattern segment " +
+                        this.pattern + " does not match the number of URI template variables it defines, " +
+                        "which can occur if capturing groups are used in a URI template regex. " +
+                        "Use non-capturing groups instead.");
+            }
+            for (int i = 1; i <= matcher.groupCount(); i++) {
+                variables.put(this.variableNames.get(i - 1), matcher.group(i));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.netty.http.ResponseCompressor;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CompressionMetrics {
+
+    private final ResponseCompressor responseCompressor;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public CompressionMetrics(ResponseCompressor responseCompressor, Iterable<Tag> tags) {
+        this.responseCompressor = responseCompressor;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        FunctionCounter.builder("netty.compression.responses", responseCompressor, ResponseCompressor::getCompressedCount)
+                .tags(tags)
+                .baseUnit("responses")
+                .description("The number of compressed responses")
+                .register(registry);
+
+        FunctionCounter.builder("netty.compression.bytes.in", responseCompressor, ResponseCompressor::getBytesIn)
+                .tags(tags)
+                .baseUnit(BaseUnits.BYTES)
+                .description("The body bytes of the compressed responses before compression")
+                .register(registry);
+
+        FunctionCounter.builder("netty.compression.bytes.out", responseCompressor, ResponseCompressor::getBytesOut)
+                .tags(tags)
+                .baseUnit(BaseUnits.BYTES)
+                .description("The body bytes of the compressed responses after compression")
+                .register(registry);
+
+        FunctionCounter.builder("netty.compression.bytes.saved", responseCompressor, ResponseCompressor::getBytesSaved)
+                .tags(tags)
+                .baseUnit(BaseUnits.BYTES)
+                .description("The bytes not sent because responses were compressed")
+                .register(registry);
+        initialize = true;
+    }
+}
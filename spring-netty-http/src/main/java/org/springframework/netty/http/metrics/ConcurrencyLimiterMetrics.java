@@ -0,0 +1,67 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.netty.http.AdaptiveConcurrencyLimiter;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ConcurrencyLimiterMetrics {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public ConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter concurrencyLimiter, Iterable<Tag> tags) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        Gauge.builder("netty.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tags(tags)
+                .description("The current adaptive limit of dispatches in flight")
+                .register(registry);
+
+        Gauge.builder("netty.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tags(tags)
+                .description("The number of dispatches in flight")
+                .register(registry);
+
+        Gauge.builder("netty.concurrency.rtt", concurrencyLimiter, AdaptiveConcurrencyLimiter::getRtt)
+                .tags(tags)
+                .baseUnit(BaseUnits.MILLISECONDS)
+                .description("The average dispatch latency of the last limiter window")
+                .register(registry);
+
+        Gauge.builder("netty.concurrency.rtt.noload", concurrencyLimiter, AdaptiveConcurrencyLimiter::getNoLoadRtt)
+                .tags(tags)
+                .baseUnit(BaseUnits.MILLISECONDS)
+                .description("The no-load dispatch latency baseline of the limiter")
+                .register(registry);
+
+        FunctionCounter.builder("netty.concurrency.rejected", concurrencyLimiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tags(tags)
+                .description("The number of requests rejected by the concurrency limit")
+                .register(registry);
+        initialize = true;
+    }
+}
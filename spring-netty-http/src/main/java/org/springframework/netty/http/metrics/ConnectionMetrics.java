@@ -1,11 +1,15 @@
 package org.springframework.netty.http.metrics;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.BaseUnits;
 import org.springframework.netty.http.NioEndpoint;
 
+import java.util.Locale;
+
 /**
  * @author thinking
  * @version 1.0
@@ -45,6 +49,32 @@ public class ConnectionMetrics {
                 .baseUnit(BaseUnits.CONNECTIONS)
                 .description("The state of connections in the netty connections registered")
                 .register(registry);
+
+        FunctionCounter.builder("netty.connections.rejected", nioEndpoint, NioEndpoint::getRejectedCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.CONNECTIONS)
+                .description("The connections rejected because the connection limit was reached")
+                .register(registry);
+
+        Gauge.builder("netty.connections.admitted", nioEndpoint, NioEndpoint::getAdmittedCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.CONNECTIONS)
+                .description("The connections admitted under the connection limit")
+                .register(registry);
+
+        Gauge.builder("netty.connections.max", nioEndpoint, NioEndpoint::getMaxConnections)
+                .tags(tags)
+                .baseUnit(BaseUnits.CONNECTIONS)
+                .description("The connection limit, 0 if there is none")
+                .register(registry);
+
+        for (final NioEndpoint.CloseReason reason : NioEndpoint.CloseReason.values()) {
+            FunctionCounter.builder("netty.connections.closed", nioEndpoint, endpoint -> endpoint.getCloseCount(reason))
+                    .tags(Tags.concat(tags, "reason", reason.name().toLowerCase(Locale.ENGLISH)))
+                    .baseUnit(BaseUnits.CONNECTIONS)
+                    .description("The connections closed by the server")
+                    .register(registry);
+        }
         initialize = true;
     }
 }
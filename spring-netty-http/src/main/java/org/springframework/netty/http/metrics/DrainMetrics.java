@@ -0,0 +1,56 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.netty.http.HttpServer;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DrainMetrics {
+
+    private final HttpServer httpServer;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public DrainMetrics(HttpServer httpServer, Iterable<Tag> tags) {
+        this.httpServer = httpServer;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        Gauge.builder("netty.server.draining", httpServer, server -> server.isDraining() ? 1 : 0)
+                .tags(tags)
+                .description("Whether the netty server is draining before shutdown")
+                .register(registry);
+
+        Gauge.builder("netty.server.connections", httpServer, HttpServer::getConnectionCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.CONNECTIONS)
+                .description("The open client connections of the netty server")
+                .register(registry);
+
+        Gauge.builder("netty.dispatches.active", httpServer, HttpServer::getActiveDispatchCount)
+                .tags(tags)
+                .baseUnit("requests")
+                .description("The requests handed to a worker executor whose dispatch has not finished")
+                .register(registry);
+        initialize = true;
+    }
+}
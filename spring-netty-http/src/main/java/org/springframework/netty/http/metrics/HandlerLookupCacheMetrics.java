@@ -0,0 +1,59 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.netty.http.handler.HandlerLookupCache;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HandlerLookupCacheMetrics {
+
+    private final HandlerLookupCache lookupCache;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public HandlerLookupCacheMetrics(HandlerLookupCache lookupCache, Iterable<Tag> tags) {
+        this.lookupCache = lookupCache;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        Gauge.builder("netty.handler.lookup.cache.size", lookupCache, HandlerLookupCache::size)
+                .tags(tags)
+                .description("The number of lookup paths in the handler lookup cache")
+                .register(registry);
+
+        FunctionCounter.builder("netty.handler.lookup.cache.hits", lookupCache, HandlerLookupCache::getHitCount)
+                .tags(tags)
+                .description("The number of handler lookups served from the cache")
+                .register(registry);
+
+        FunctionCounter.builder("netty.handler.lookup.cache.misses", lookupCache, HandlerLookupCache::getMissCount)
+                .tags(tags)
+                .description("The number of handler lookups not found in the cache")
+                .register(registry);
+
+        FunctionCounter.builder("netty.handler.lookup.cache.evictions", lookupCache, HandlerLookupCache::getEvictionCount)
+                .tags(tags)
+                .description("The number of lookup paths evicted from the cache")
+                .register(registry);
+        initialize = true;
+    }
+}
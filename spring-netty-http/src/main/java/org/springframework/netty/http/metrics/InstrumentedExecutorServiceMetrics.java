@@ -0,0 +1,62 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.netty.http.support.InstrumentedExecutorService;
+
+/**
+ * Counterpart of micrometer's {@code ExecutorServiceMetrics} for an {@link InstrumentedExecutorService},
+ * using the same meter names.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class InstrumentedExecutorServiceMetrics implements MeterBinder {
+
+    private final InstrumentedExecutorService executorService;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public InstrumentedExecutorServiceMetrics(InstrumentedExecutorService executorService, String executorServiceName,
+                                              Iterable<Tag> tags) {
+        this.executorService = executorService;
+        this.tags = Tags.concat(tags, "name", executorServiceName);
+    }
+
+    public void registerMetrics() {
+        bindTo(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        FunctionCounter.builder("executor.submitted", executorService, InstrumentedExecutorService::getSubmittedCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.TASKS)
+                .description("The approximate total number of tasks submitted for execution")
+                .register(registry);
+
+        FunctionCounter.builder("executor.completed", executorService, InstrumentedExecutorService::getCompletedCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.TASKS)
+                .description("The approximate total number of tasks that have completed execution")
+                .register(registry);
+
+        Gauge.builder("executor.active", executorService, InstrumentedExecutorService::getInFlightCount)
+                .tags(tags)
+                .baseUnit(BaseUnits.THREADS)
+                .description("The approximate number of tasks in flight, each on its own thread")
+                .register(registry);
+        initialize = true;
+    }
+}
@@ -0,0 +1,50 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.netty.http.ListenerAcceptCounter;
+
+import java.util.List;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ListenerMetrics {
+
+    private final List<ListenerAcceptCounter> listeners;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public ListenerMetrics(List<ListenerAcceptCounter> listeners, Iterable<Tag> tags) {
+        this.listeners = listeners;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        for (ListenerAcceptCounter listener : listeners) {
+            FunctionCounter.builder("netty.listener.accepted", listener, ListenerAcceptCounter::getAcceptedCount)
+                    .tags(Tags.concat(tags, "listener", String.valueOf(listener.getIndex())))
+                    .baseUnit(BaseUnits.CONNECTIONS)
+                    .description("The connections accepted by the netty server channel")
+                    .register(registry);
+        }
+        initialize = true;
+    }
+}
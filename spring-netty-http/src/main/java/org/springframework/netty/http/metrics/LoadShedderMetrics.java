@@ -0,0 +1,51 @@
+package org.springframework.netty.http.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.netty.http.LoadShedder;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LoadShedderMetrics {
+
+    private final LoadShedder loadShedder;
+
+    private final Iterable<Tag> tags;
+
+    private boolean initialize = false;
+
+    public LoadShedderMetrics(LoadShedder loadShedder, Iterable<Tag> tags) {
+        this.loadShedder = loadShedder;
+        this.tags = tags;
+    }
+
+    public void registerMetrics() {
+        registerMetrics(io.micrometer.core.instrument.Metrics.globalRegistry);
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        if (initialize) {
+            return;
+        }
+        if (registry == null) {
+            registry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        }
+        FunctionCounter.builder("netty.requests.shed", loadShedder, LoadShedder::getShedCount)
+                .tags(tags)
+                .baseUnit("requests")
+                .description("The number of requests answered with 503 because the worker executor was saturated")
+                .register(registry);
+
+        Gauge.builder("netty.requests.queued", loadShedder, LoadShedder::getQueueDepth)
+                .tags(tags)
+                .baseUnit("requests")
+                .description("The number of requests waiting for a worker thread")
+                .register(registry);
+        initialize = true;
+    }
+}
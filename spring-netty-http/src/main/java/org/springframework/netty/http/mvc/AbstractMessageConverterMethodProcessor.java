@@ -2,6 +2,8 @@ package org.springframework.netty.http.mvc;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -12,8 +14,11 @@ import org.springframework.netty.http.HttpUtils;
 import org.springframework.netty.http.converter.GenericHttpMessageConverter;
 import org.springframework.netty.http.converter.HttpMessageConverter;
 import org.springframework.netty.http.converter.HttpMessageNotReadableException;
+import org.springframework.netty.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.netty.http.util.BoundedCache;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 
@@ -22,6 +27,13 @@ import java.lang.reflect.Type;
 import java.util.*;
 
 /**
+ * Reads request bodies and writes return values with the first matching {@link HttpMessageConverter}.
+ * <p>The converter chosen for a target type and content type, and the converter, media type and
+ * rendered {@code Content-Type} chosen for a value class and {@code Accept} header, are remembered,
+ * so repeated requests skip the {@code canRead}/{@code canWrite} scan and the media type negotiation.
+ * Each cache holds at most {@link #MAX_CACHE_SIZE} entries, since the header values come from clients;
+ * the oldest entries are evicted first.
+ *
  * @author thinking
  * @version 1.0
  * @since 2020-03-15
@@ -45,6 +57,19 @@ public abstract class AbstractMessageConverterMethodProcessor {
 
     private static final MediaType MEDIA_TYPE_APPLICATION = new MediaType("application");
 
+    protected static final int MAX_CACHE_SIZE = 1024;
+
+    /**
+     * (target type, content type) to the converter reading it, or {@link #NO_VALUE}
+     */
+    private final BoundedCache<CacheKey, Object> readConverterCache = new BoundedCache<CacheKey, Object>(MAX_CACHE_SIZE);
+
+    /**
+     * (value class, declared type, Accept header) to the converter writing it
+     */
+    private final BoundedCache<CacheKey, WriteSelection> writeSelectionCache =
+            new BoundedCache<CacheKey, WriteSelection>(MAX_CACHE_SIZE);
+
 
 
     public AbstractMessageConverterMethodProcessor(List<HttpMessageConverter<?>> converters) {
@@ -87,29 +112,22 @@ public abstract class AbstractMessageConverterMethodProcessor {
 
         HttpMethod httpMethod = inputMessage.method();
         Object body = NO_VALUE;
+        CacheKey cacheKey = new CacheKey(targetType, null, contentType);
+        Object converter = this.readConverterCache.get(cacheKey);
+        if (converter == null) {
+            converter = findReadConverter(targetType, targetClass, contentType);
+            this.readConverterCache.put(cacheKey, converter);
+        }
         try {
-            for (HttpMessageConverter<?> converter : this.messageConverters) {
-                Class<HttpMessageConverter<?>> converterType = (Class<HttpMessageConverter<?>>) converter.getClass();
-                if (converter instanceof GenericHttpMessageConverter) {
-                    GenericHttpMessageConverter<?> genericConverter = (GenericHttpMessageConverter<?>) converter;
-                    if (genericConverter.canRead(targetType, null, contentType)) {
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("Read [" + targetType + "] as \"" + contentType + "\" with [" + converter + "]");
-                        }
-                        if (inputMessage.content() != null) {
-                            body = genericConverter.read(targetType, null, inputMessage);
-                        }
-                        break;
-                    }
-                } else if (targetClass != null) {
-                    if (converter.canRead(targetClass, contentType)) {
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("Read [" + targetType + "] as \"" + contentType + "\" with [" + converter + "]");
-                        }
-                        if (inputMessage.content() != null) {
-                            body = ((HttpMessageConverter<T>) converter).read(targetClass, ctx,inputMessage);
-                        }
-                        break;
+            if (converter != NO_VALUE) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Read [" + targetType + "] as \"" + contentType + "\" with [" + converter + "]");
+                }
+                if (inputMessage.content() != null) {
+                    if (converter instanceof GenericHttpMessageConverter) {
+                        body = ((GenericHttpMessageConverter<?>) converter).read(targetType, null, inputMessage);
+                    } else {
+                        body = ((HttpMessageConverter<T>) converter).read(targetClass, ctx, inputMessage);
                     }
                 }
             }
@@ -129,7 +147,62 @@ public abstract class AbstractMessageConverterMethodProcessor {
     }
 
 
+    /**
+     * Read the request body of a handler with its {@link HandlerMetadata#getPreferredConverter() preferred
+     * converter}, if it reads the content type, or else with the first matching converter.
+     */
+    protected Object readWithMessageConverters(ChannelHandlerContext ctx, FullHttpRequest inputMessage, HandlerMetadata metadata)
+            throws IOException, HttpMediaTypeNotSupportedException {
+        MediaType contentType = HttpUtils.getContentType(inputMessage);
+        if (!metadata.isPreferredFor(contentType)) {
+            return readWithMessageConverters(ctx, inputMessage, metadata.getInputType());
+        }
+        HttpMessageConverter<?> converter = metadata.getPreferredConverter();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Read [" + metadata.getInputType() + "] as \"" + contentType + "\" with [" + converter + "]");
+        }
+        try {
+            if (metadata.getJavaType() != null) {
+                return ((AbstractJackson2HttpMessageConverter) converter).read(metadata.getJavaType(), inputMessage);
+            }
+            if (converter instanceof GenericHttpMessageConverter) {
+                return ((GenericHttpMessageConverter<?>) converter).read(metadata.getInputType(), null, inputMessage);
+            }
+            return ((HttpMessageConverter) converter).read(metadata.getInputClass(), ctx, inputMessage);
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("I/O error while reading input message", ex);
+        }
+    }
+
+    /**
+     * @return the first converter able to read the target type, or {@link #NO_VALUE}
+     */
+    private Object findReadConverter(Type targetType, Class<?> targetClass, MediaType contentType) {
+        for (HttpMessageConverter<?> converter : this.messageConverters) {
+            if (converter instanceof GenericHttpMessageConverter) {
+                if (((GenericHttpMessageConverter<?>) converter).canRead(targetType, null, contentType)) {
+                    return converter;
+                }
+            } else if (targetClass != null && converter.canRead(targetClass, contentType)) {
+                return converter;
+            }
+        }
+        return NO_VALUE;
+    }
+
     protected <T> void writeWithMessageConverters(T value, FullHttpRequest request, HttpOutputMessage outputMessage) throws IOException, HttpMediaTypeNotAcceptableException {
+        writeWithMessageConverters(value, request, outputMessage, null);
+    }
+
+    /**
+     * @param producibleMediaTypes the media types of {@code @RequestMapping(produces)}, may be {@code null}
+     */
+    protected <T> void writeWithMessageConverters(T value, FullHttpRequest request, HttpOutputMessage outputMessage,
+                                                  List<MediaType> producibleMediaTypes)
+            throws IOException, HttpMediaTypeNotAcceptableException {
+        if (producibleMediaTypes != null && producibleMediaTypes.isEmpty()) {
+            producibleMediaTypes = null;
+        }
 
         Object outputValue;
         Class<?> valueType;
@@ -144,8 +217,20 @@ public abstract class AbstractMessageConverterMethodProcessor {
             declaredType = null;
         }
 
+        CacheKey cacheKey = null;
+        if (outputValue != null) {
+            cacheKey = new CacheKey(valueType, declaredType, request.headers().get(HttpHeaderNames.ACCEPT), producibleMediaTypes);
+            WriteSelection selection = this.writeSelectionCache.get(cacheKey);
+            if (selection != null) {
+                write(selection, outputValue, declaredType, outputMessage);
+                return;
+            }
+        }
+
         List<MediaType> requestedMediaTypes = getAcceptableMediaTypes(request);
-        List<MediaType> producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
+        if (producibleMediaTypes == null) {
+            producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
+        }
 
         if (outputValue != null && producibleMediaTypes.isEmpty()) {
             throw new IllegalArgumentException("No converter found for return value of type: " + valueType);
@@ -184,27 +269,21 @@ public abstract class AbstractMessageConverterMethodProcessor {
         //实体对象序列化
         if (selectedMediaType != null) {
             for (HttpMessageConverter<?> messageConverter : this.messageConverters) {
+                boolean canWrite;
                 if (messageConverter instanceof GenericHttpMessageConverter) {
-                    if (((GenericHttpMessageConverter) messageConverter).canWrite(
-                            declaredType, valueType, selectedMediaType)) {
-
-                        if (outputValue != null) {
-                            ((GenericHttpMessageConverter) messageConverter).write(
-                                    outputValue, declaredType, selectedMediaType, outputMessage);
-                            if (logger.isDebugEnabled()) {
-                                logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
-                                        "\" using [" + messageConverter + "]");
-                            }
-                        }
-                        return;
-                    }
-                } else if (messageConverter.canWrite(valueType, selectedMediaType)) {
+                    canWrite = ((GenericHttpMessageConverter) messageConverter).canWrite(
+                            declaredType, valueType, selectedMediaType);
+                } else {
+                    canWrite = messageConverter.canWrite(valueType, selectedMediaType);
+                }
+                if (canWrite) {
                     if (outputValue != null) {
-                        ((HttpMessageConverter) messageConverter).write(outputValue, selectedMediaType, outputMessage);
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
-                                    "\" using [" + messageConverter + "]");
-                        }
+                        // the Content-Type the converter renders is reused for the same negotiation
+                        boolean contentTypeSet = outputMessage.headers().contains(HttpHeaderNames.CONTENT_TYPE);
+                        WriteSelection selection = new WriteSelection(messageConverter, selectedMediaType, null);
+                        write(selection, outputValue, declaredType, outputMessage);
+                        this.writeSelectionCache.put(cacheKey, new WriteSelection(messageConverter, selectedMediaType,
+                                contentTypeSet ? null : outputMessage.headers().get(HttpHeaderNames.CONTENT_TYPE)));
                     }
                     return;
                 }
@@ -217,6 +296,35 @@ public abstract class AbstractMessageConverterMethodProcessor {
     }
 
 
+    @SuppressWarnings("unchecked")
+    private void write(WriteSelection selection, Object outputValue, Type declaredType, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (selection.contentType != null) {
+            HttpHeaders headers = outputMessage.headers();
+            if (!headers.contains(HttpHeaderNames.CONTENT_TYPE)) {
+                headers.set(HttpHeaderNames.CONTENT_TYPE, selection.contentType);
+            }
+        }
+        HttpMessageConverter<?> messageConverter = selection.converter;
+        if (messageConverter instanceof GenericHttpMessageConverter) {
+            ((GenericHttpMessageConverter) messageConverter).write(
+                    outputValue, declaredType, selection.mediaType, outputMessage);
+        } else {
+            ((HttpMessageConverter) messageConverter).write(outputValue, selection.mediaType, outputMessage);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Written [" + outputValue + "] as \"" + selection.mediaType +
+                    "\" using [" + messageConverter + "]");
+        }
+    }
+
+    /**
+     * Number of cached converter resolutions and write selections.
+     */
+    int getCacheSize() {
+        return this.readConverterCache.size() + this.writeSelectionCache.size();
+    }
+
     @SuppressWarnings("unchecked")
     protected List<MediaType> getProducibleMediaTypes(FullHttpRequest request, Class<?> valueClass) {
         return getProducibleMediaTypes(request,valueClass,null);
@@ -270,4 +378,67 @@ public abstract class AbstractMessageConverterMethodProcessor {
     }
 
 
+    private static final class CacheKey {
+
+        private final Object type;
+
+        private final Object declaredType;
+
+        private final Object mediaType;
+
+        private final Object producibleMediaTypes;
+
+        private final int hash;
+
+        CacheKey(Object type, Object declaredType, Object mediaType) {
+            this(type, declaredType, mediaType, null);
+        }
+
+        CacheKey(Object type, Object declaredType, Object mediaType, Object producibleMediaTypes) {
+            this.type = type;
+            this.declaredType = declaredType;
+            this.mediaType = mediaType;
+            this.producibleMediaTypes = producibleMediaTypes;
+            this.hash = 31 * (31 * (31 * ObjectUtils.nullSafeHashCode(type) + ObjectUtils.nullSafeHashCode(declaredType))
+                    + ObjectUtils.nullSafeHashCode(mediaType)) + ObjectUtils.nullSafeHashCode(producibleMediaTypes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey otherKey = (CacheKey) other;
+            return (this.hash == otherKey.hash && ObjectUtils.nullSafeEquals(this.type, otherKey.type) &&
+                    ObjectUtils.nullSafeEquals(this.declaredType, otherKey.declaredType) &&
+                    ObjectUtils.nullSafeEquals(this.mediaType, otherKey.mediaType) &&
+                    ObjectUtils.nullSafeEquals(this.producibleMediaTypes, otherKey.producibleMediaTypes));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class WriteSelection {
+
+        private final HttpMessageConverter<?> converter;
+
+        private final MediaType mediaType;
+
+        /**
+         * The rendered {@code Content-Type}, {@code null} to let the converter render it
+         */
+        private final String contentType;
+
+        WriteSelection(HttpMessageConverter<?> converter, MediaType mediaType, String contentType) {
+            this.converter = converter;
+            this.mediaType = mediaType;
+            this.contentType = contentType;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package org.springframework.netty.http.mvc;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * What the {@link HttpRequestHandlerAdapter} needs to know about a handler to read its request body
+ * and write its return value, resolved once by the {@link HandlerMetadataRegistry}.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class HandlerMetadata {
+
+    private final Class<?> handlerType;
+
+    private final Type inputType;
+
+    private final Class<?> inputClass;
+
+    private final JavaType javaType;
+
+    private final HttpMessageConverter<?> preferredConverter;
+
+    private final List<MediaType> readableMediaTypes;
+
+    private final MediaTypeExpressions consumes;
+
+    private final MediaTypeExpressions produces;
+
+    HandlerMetadata(Class<?> handlerType, Type inputType, Class<?> inputClass, JavaType javaType,
+                    HttpMessageConverter<?> preferredConverter, List<MediaType> readableMediaTypes,
+                    MediaTypeExpressions consumes, MediaTypeExpressions produces) {
+        this.handlerType = handlerType;
+        this.inputType = inputType;
+        this.inputClass = inputClass;
+        this.javaType = javaType;
+        this.preferredConverter = preferredConverter;
+        this.readableMediaTypes = readableMediaTypes;
+        this.consumes = consumes;
+        this.produces = produces;
+    }
+
+    public Class<?> getHandlerType() {
+        return this.handlerType;
+    }
+
+    /**
+     * The generic type of the request body, e.g. {@code Map<String, String>} for a
+     * {@code HttpRequestHandler<Map<String, String>>}, {@code Object} if it is not declared.
+     */
+    public Type getInputType() {
+        return this.inputType;
+    }
+
+    public Class<?> getInputClass() {
+        return this.inputClass;
+    }
+
+    /**
+     * The Jackson type of the request body, {@code null} unless the preferred converter is a Jackson converter.
+     */
+    public JavaType getJavaType() {
+        return this.javaType;
+    }
+
+    /**
+     * The first converter able to read the request body, {@code null} if there is none.
+     */
+    public HttpMessageConverter<?> getPreferredConverter() {
+        return this.preferredConverter;
+    }
+
+    /**
+     * Whether the request body of the given content type is read by the {@link #getPreferredConverter()
+     * preferred converter}, i.e. the one the converter scan would select for it.
+     */
+    public boolean isPreferredFor(MediaType contentType) {
+        if (this.preferredConverter == null || contentType == null) {
+            return false;
+        }
+        if (!this.consumes.isEmpty() && !this.consumes.includes(contentType)) {
+            return false;
+        }
+        return includes(this.readableMediaTypes, contentType);
+    }
+
+    /**
+     * The media types of {@code @RequestMapping(consumes)} without the negated ones, empty if not declared.
+     */
+    public List<MediaType> getConsumes() {
+        return this.consumes.getMediaTypes();
+    }
+
+    /**
+     * The media types of {@code @RequestMapping(produces)} without the negated ones, empty if not declared.
+     */
+    public List<MediaType> getProduces() {
+        return this.produces.getMediaTypes();
+    }
+
+    private static boolean includes(List<MediaType> mediaTypes, MediaType contentType) {
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            if (mediaTypes.get(i).includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerMetadata{" + this.handlerType.getName() + ", input=" + this.inputType +
+                ", converter=" + this.preferredConverter + "}";
+    }
+}
@@ -0,0 +1,126 @@
+package org.springframework.netty.http.mvc;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.HttpRequestHandler;
+import org.springframework.netty.http.converter.GenericHttpMessageConverter;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+import org.springframework.netty.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link HandlerMetadata} of the handlers, resolved when the registry is built, so that reading
+ * a request body needs neither reflection nor a converter scan.
+ * <p>Built once from the {@code @RequestMapping} handlers when they are registered, see
+ * {@link org.springframework.netty.http.config.annotation.NettyWebConfigurationSupport}, and read
+ * without locking afterwards. Handlers registered in other ways, e.g. through
+ * {@link org.springframework.netty.http.handler.SimpleUrlHandlerMapping#setUrlMap(Map)}, are resolved
+ * on their first request.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HandlerMetadataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandlerMetadataRegistry.class);
+
+    private final List<HttpMessageConverter<?>> messageConverters;
+
+    private final Map<Class<?>, HandlerMetadata> metadata;
+
+    private final ConcurrentMap<Class<?>, HandlerMetadata> lateMetadata = new ConcurrentHashMap<Class<?>, HandlerMetadata>();
+
+    /**
+     * @param handlers          the handlers to resolve, handlers other than {@link HttpRequestHandler}s are skipped
+     * @param messageConverters the converters of the {@link HttpRequestHandlerAdapter}
+     */
+    public HandlerMetadataRegistry(Collection<?> handlers, List<HttpMessageConverter<?>> messageConverters) {
+        this.messageConverters = messageConverters;
+        Map<Class<?>, HandlerMetadata> metadata = new HashMap<Class<?>, HandlerMetadata>();
+        for (Object handler : handlers) {
+            if (handler instanceof HttpRequestHandler && !metadata.containsKey(handler.getClass())) {
+                HandlerMetadata handlerMetadata = resolve(handler.getClass());
+                metadata.put(handler.getClass(), handlerMetadata);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Resolved {}", handlerMetadata);
+                }
+            }
+        }
+        this.metadata = Collections.unmodifiableMap(metadata);
+    }
+
+    /**
+     * Return the metadata of the handler, resolving it if the handler was not registered.
+     */
+    public HandlerMetadata getMetadata(Object handler) {
+        Class<?> handlerType = handler.getClass();
+        HandlerMetadata handlerMetadata = this.metadata.get(handlerType);
+        if (handlerMetadata == null) {
+            handlerMetadata = this.lateMetadata.get(handlerType);
+            if (handlerMetadata == null) {
+                handlerMetadata = resolve(handlerType);
+                this.lateMetadata.putIfAbsent(handlerType, handlerMetadata);
+            }
+        }
+        return handlerMetadata;
+    }
+
+    /**
+     * The number of handlers resolved when the registry was built.
+     */
+    public int size() {
+        return this.metadata.size();
+    }
+
+    private HandlerMetadata resolve(Class<?> handlerType) {
+        ResolvableType inputResolvableType = ResolvableType.forClass(handlerType).as(HttpRequestHandler.class).getGeneric(0);
+        Class<?> inputClass = inputResolvableType.resolve();
+        Type inputType = inputResolvableType.getType();
+        if (inputClass == null) {
+            inputClass = Object.class;
+            inputType = Object.class;
+        } else if (!(inputType instanceof Class) && inputResolvableType.hasUnresolvableGenerics()) {
+            inputType = inputClass;
+        }
+
+        RequestMapping requestMapping = AnnotationUtils.findAnnotation(ClassUtils.getUserClass(handlerType), RequestMapping.class);
+        MediaTypeExpressions consumes = MediaTypeExpressions.parse(requestMapping != null ? requestMapping.consumes() : null);
+        MediaTypeExpressions produces = MediaTypeExpressions.parse(requestMapping != null ? requestMapping.produces() : null);
+
+        HttpMessageConverter<?> preferredConverter = findReadConverter(inputType, inputClass);
+        List<MediaType> readableMediaTypes = Collections.emptyList();
+        JavaType javaType = null;
+        if (preferredConverter != null) {
+            readableMediaTypes = Collections.unmodifiableList(new ArrayList<MediaType>(preferredConverter.getSupportedMediaTypes()));
+            if (preferredConverter instanceof AbstractJackson2HttpMessageConverter) {
+                javaType = ((AbstractJackson2HttpMessageConverter) preferredConverter).getObjectMapper().constructType(inputType);
+            }
+        }
+        return new HandlerMetadata(handlerType, inputType, inputClass, javaType, preferredConverter,
+                readableMediaTypes, consumes, produces);
+    }
+
+    private HttpMessageConverter<?> findReadConverter(Type inputType, Class<?> inputClass) {
+        for (HttpMessageConverter<?> converter : this.messageConverters) {
+            if (converter instanceof GenericHttpMessageConverter) {
+                if (((GenericHttpMessageConverter<?>) converter).canRead(inputType, null, null)) {
+                    return converter;
+                }
+            } else if (converter.canRead(inputClass, null)) {
+                return converter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,186 @@
+package org.springframework.netty.http.mvc;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.HttpUtils;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A handler method mapped by a method-level {@code @RequestMapping}, with the request methods and
+ * media types it is selected for, and its {@link HandlerMethodInvoker invoker} and
+ * {@link HandlerMethodArgumentResolver argument resolvers} compiled when it is registered.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ * @see org.springframework.netty.http.handler.RequestMappingHandlerMapping
+ * @see RequestMappingHandlerAdapter
+ */
+public class HandlerMethod {
+
+    private final Object bean;
+
+    private final Class<?> beanType;
+
+    private final Method method;
+
+    private final String[] patterns;
+
+    private final HttpMethod[] methods;
+
+    private final MediaTypeExpressions consumes;
+
+    private final MediaTypeExpressions produces;
+
+    private final HandlerMethodInvoker invoker;
+
+    private final HandlerMethodArgumentResolver[] argumentResolvers;
+
+    /**
+     * @param methods  the request methods, empty for all
+     * @param consumes the media types of the request body, empty for all
+     * @param produces the media types of the response body, empty for all
+     * @throws IllegalStateException if a parameter of the method cannot be resolved from a request
+     */
+    public HandlerMethod(Object bean, Method method, String[] patterns, RequestMethod[] methods,
+                         List<MediaType> consumes, List<MediaType> produces) {
+        this(bean, method, patterns, methods, MediaTypeExpressions.of(consumes), MediaTypeExpressions.of(produces));
+    }
+
+    /**
+     * @param methods  the request methods, empty for all
+     * @param consumes the media type expressions of the request body, empty for all
+     * @param produces the media type expressions of the response body, empty for all
+     * @throws IllegalStateException if a parameter of the method cannot be resolved from a request
+     */
+    public HandlerMethod(Object bean, Method method, String[] patterns, RequestMethod[] methods,
+                         MediaTypeExpressions consumes, MediaTypeExpressions produces) {
+        this.bean = bean;
+        this.beanType = ClassUtils.getUserClass(bean);
+        this.method = BridgeMethodResolver.findBridgedMethod(method);
+        this.patterns = patterns;
+        this.methods = new HttpMethod[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            this.methods[i] = HttpMethod.valueOf(methods[i].name());
+        }
+        this.consumes = consumes;
+        this.produces = produces;
+        this.invoker = HandlerMethodInvoker.create(this.method);
+        Class<?>[] parameterTypes = this.method.getParameterTypes();
+        this.argumentResolvers = new HandlerMethodArgumentResolver[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            this.argumentResolvers[i] = HandlerMethodArgumentResolver.create(new MethodParameter(this.method, i));
+        }
+    }
+
+    /**
+     * Whether the request method, {@code Content-Type} and {@code Accept} of the request select this method.
+     */
+    public boolean matches(FullHttpRequest request) {
+        return matchesMethod(request.method()) && matchesContentType(request) && matchesAccept(request);
+    }
+
+    public boolean matchesMethod(HttpMethod method) {
+        if (this.methods.length == 0) {
+            return true;
+        }
+        for (HttpMethod candidate : this.methods) {
+            if (candidate.equals(method) || (HttpMethod.HEAD.equals(method) && HttpMethod.GET.equals(candidate))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matchesContentType(FullHttpRequest request) {
+        if (this.consumes.isEmpty()) {
+            return true;
+        }
+        MediaType contentType = HttpUtils.getContentType(request);
+        return (contentType != null && this.consumes.includes(contentType));
+    }
+
+    public boolean matchesAccept(FullHttpRequest request) {
+        if (this.produces.isEmpty()) {
+            return true;
+        }
+        List<MediaType> accepts = HttpUtils.getAccepts(request);
+        return (accepts.isEmpty() || this.produces.isCompatibleWith(accepts));
+    }
+
+    public Object[] resolveArguments(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                     AbstractMessageConverterMethodProcessor processor) throws Exception {
+        Object[] args = new Object[this.argumentResolvers.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = this.argumentResolvers[i].resolveArgument(ctx, request, query, processor);
+        }
+        return args;
+    }
+
+    public Object invoke(Object[] args) throws Exception {
+        return this.invoker.invoke(this.bean, args);
+    }
+
+    public Object getBean() {
+        return this.bean;
+    }
+
+    /**
+     * The type of the bean, the user class if the bean is a CGLIB proxy.
+     */
+    public Class<?> getBeanType() {
+        return this.beanType;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    public String[] getPatterns() {
+        return this.patterns;
+    }
+
+    /**
+     * Whether the method declares its request methods, such methods are selected before the others of a path.
+     */
+    public boolean hasMethods() {
+        return this.methods.length > 0;
+    }
+
+    /**
+     * The request methods, empty for all.
+     */
+    public HttpMethod[] getMethods() {
+        return this.methods;
+    }
+
+    /**
+     * The media types the method consumes, without the negated ones.
+     */
+    public List<MediaType> getConsumes() {
+        return this.consumes.getMediaTypes();
+    }
+
+    /**
+     * The media types the method produces, without the negated ones.
+     */
+    public List<MediaType> getProduces() {
+        return this.produces.getMediaTypes();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.methods) + " " + Arrays.toString(this.patterns) + " " +
+                this.beanType.getName() + "#" + this.method.getName();
+    }
+}
@@ -0,0 +1,277 @@
+package org.springframework.netty.http.mvc;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves one argument of a {@link HandlerMethod} from the request. Compiled once per method
+ * parameter, so the annotations, names, types and conversions are looked up at startup:
+ * <ul>
+ * <li>{@link ChannelHandlerContext}, {@link FullHttpRequest} or one of its interfaces,
+ * {@link QueryDecoder} and {@link HttpHeaders},</li>
+ * <li>{@link PathVariable @PathVariable}, {@link RequestParam @RequestParam} and
+ * {@link RequestHeader @RequestHeader} values converted to the parameter type, a
+ * {@code @RequestParam Map} receives all query parameters,</li>
+ * <li>{@link RequestBody @RequestBody}, read with the message converters,</li>
+ * <li>other simple types, e.g. {@code String} or {@code int}, as an optional request parameter.</li>
+ * </ul>
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public abstract class HandlerMethodArgumentResolver {
+
+    private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    private static final TypeDescriptor STRING_LIST_TYPE = TypeDescriptor.collection(List.class, STRING_TYPE);
+
+    public abstract Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                           AbstractMessageConverterMethodProcessor processor) throws Exception;
+
+    /**
+     * @throws IllegalStateException if the parameter cannot be resolved from a request
+     */
+    public static HandlerMethodArgumentResolver create(MethodParameter parameter) {
+        parameter.initParameterNameDiscovery(parameterNameDiscoverer);
+        Class<?> type = parameter.getParameterType();
+
+        RequestBody requestBody = parameter.getParameterAnnotation(RequestBody.class);
+        if (requestBody != null) {
+            return requestBody(parameter, requestBody.required());
+        }
+        PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            final String name = getName(parameter, pathVariable.value());
+            final ValueConverter converter = new ValueConverter(parameter, name, "path variable",
+                    pathVariable.required(), ValueConstants.DEFAULT_NONE);
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return converter.convert(query.pathVariable(name));
+                }
+            };
+        }
+        RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+        if (requestParam != null) {
+            if (Map.class.isAssignableFrom(type) && !StringUtils.hasText(requestParam.value())) {
+                return new HandlerMethodArgumentResolver() {
+                    @Override
+                    public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                                  AbstractMessageConverterMethodProcessor processor) {
+                        return query.parameterMap();
+                    }
+                };
+            }
+            return requestParam(parameter, getName(parameter, requestParam.value()), requestParam.required(),
+                    requestParam.defaultValue());
+        }
+        RequestHeader requestHeader = parameter.getParameterAnnotation(RequestHeader.class);
+        if (requestHeader != null) {
+            final String name = getName(parameter, requestHeader.value());
+            final ValueConverter converter = new ValueConverter(parameter, name, "request header",
+                    requestHeader.required(), requestHeader.defaultValue());
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return converter.convert(request.headers().get(name));
+                }
+            };
+        }
+
+        if (ChannelHandlerContext.class == type) {
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return ctx;
+                }
+            };
+        }
+        if (type != Object.class && type.isAssignableFrom(FullHttpRequest.class)) {
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return request;
+                }
+            };
+        }
+        if (QueryDecoder.class == type) {
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return query;
+                }
+            };
+        }
+        if (HttpHeaders.class == type) {
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return request.headers();
+                }
+            };
+        }
+        if (BeanUtils.isSimpleProperty(type)) {
+            return requestParam(parameter, getName(parameter, null), false, ValueConstants.DEFAULT_NONE);
+        }
+        throw new IllegalStateException("Unsupported parameter " + parameter.getParameterIndex() + " of type [" +
+                type.getName() + "] of " + parameter.getMethod());
+    }
+
+    private static HandlerMethodArgumentResolver requestBody(final MethodParameter parameter, final boolean required) {
+        final Type targetType = parameter.getGenericParameterType();
+        return new HandlerMethodArgumentResolver() {
+            @Override
+            public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                          AbstractMessageConverterMethodProcessor processor) throws Exception {
+                Object body = null;
+                if (request.content().isReadable()) {
+                    body = processor.readWithMessageConverters(ctx, request, targetType);
+                }
+                if (body == null && required) {
+                    throw new HttpMessageNotReadableException("Required request body is missing: " + parameter.getMethod());
+                }
+                return body;
+            }
+        };
+    }
+
+    private static HandlerMethodArgumentResolver requestParam(MethodParameter parameter, final String name,
+                                                              boolean required, String defaultValue) {
+        Class<?> type = parameter.getParameterType();
+        if (type.isArray() || Collection.class.isAssignableFrom(type)) {
+            final ValueConverter converter = new ValueConverter(parameter, name, "request parameter", required,
+                    defaultValue, STRING_LIST_TYPE);
+            return new HandlerMethodArgumentResolver() {
+                @Override
+                public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                              AbstractMessageConverterMethodProcessor processor) {
+                    return converter.convert(query.parameters().get(name));
+                }
+            };
+        }
+        final ValueConverter converter = new ValueConverter(parameter, name, "request parameter", required, defaultValue);
+        return new HandlerMethodArgumentResolver() {
+            @Override
+            public Object resolveArgument(ChannelHandlerContext ctx, FullHttpRequest request, QueryDecoder query,
+                                          AbstractMessageConverterMethodProcessor processor) {
+                return converter.convert(query.getParameter(name));
+            }
+        };
+    }
+
+    private static String getName(MethodParameter parameter, String name) {
+        if (StringUtils.hasText(name)) {
+            return name;
+        }
+        name = parameter.getParameterName();
+        if (name == null) {
+            throw new IllegalStateException("Name for argument type [" + parameter.getParameterType().getName() +
+                    "] of " + parameter.getMethod() + " not available, and parameter name information not found " +
+                    "in class file either.");
+        }
+        return name;
+    }
+
+
+    /**
+     * Converts a request value to the parameter type, applying the default value and the required check.
+     */
+    private static final class ValueConverter {
+
+        private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+        private final MethodParameter parameter;
+
+        private final String name;
+
+        private final String kind;
+
+        private final boolean required;
+
+        private final String defaultValue;
+
+        private final TypeDescriptor sourceType;
+
+        private final TypeDescriptor targetType;
+
+        /**
+         * Whether the value is passed as it is, e.g. a {@code String} for a {@code String} parameter
+         */
+        private final boolean identity;
+
+        ValueConverter(MethodParameter parameter, String name, String kind, boolean required, String defaultValue) {
+            this(parameter, name, kind, required, defaultValue, STRING_TYPE);
+        }
+
+        ValueConverter(MethodParameter parameter, String name, String kind, boolean required, String defaultValue,
+                       TypeDescriptor sourceType) {
+            this.parameter = parameter;
+            this.name = name;
+            this.kind = kind;
+            this.required = required && ValueConstants.DEFAULT_NONE.equals(defaultValue);
+            this.defaultValue = (ValueConstants.DEFAULT_NONE.equals(defaultValue) ? null : defaultValue);
+            this.sourceType = sourceType;
+            this.targetType = new TypeDescriptor(parameter);
+            this.identity = (sourceType == STRING_TYPE && parameter.getParameterType() == String.class);
+            if (!identity && !conversionService.canConvert(sourceType, this.targetType)) {
+                throw new IllegalStateException("Cannot convert " + kind + " '" + name + "' to [" +
+                        this.targetType + "] of " + parameter.getMethod());
+            }
+        }
+
+        Object convert(Object value) {
+            if (value == null && this.defaultValue != null) {
+                value = (this.sourceType == STRING_TYPE ? this.defaultValue :
+                        Arrays.asList(StringUtils.commaDelimitedListToStringArray(this.defaultValue)));
+            }
+            if (value == null) {
+                if (this.required) {
+                    throw new IllegalArgumentException("Missing " + this.kind + " '" + this.name + "' for method parameter of type " +
+                            this.parameter.getParameterType().getSimpleName());
+                }
+                if (this.parameter.getParameterType().isPrimitive()) {
+                    throw new IllegalStateException("Optional " + this.parameter.getParameterType().getName() + " " +
+                            this.kind + " '" + this.name + "' is present but cannot be translated into a null value " +
+                            "due to being declared as a primitive type");
+                }
+                return null;
+            }
+            if (this.identity) {
+                return value;
+            }
+            return conversionService.convert(value, (value instanceof String ? STRING_TYPE : TypeDescriptor.forObject(value)),
+                    this.targetType);
+        }
+    }
+}
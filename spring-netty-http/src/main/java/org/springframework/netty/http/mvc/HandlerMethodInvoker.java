@@ -0,0 +1,197 @@
+package org.springframework.netty.http.mvc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Invokes a handler method without reflection. Generated once per method:
+ * <ul>
+ * <li>public non-void instance methods of public classes with up to {@link #MAX_LAMBDA_ARITY}
+ * parameters, whose signature is visible to the class loader of this class, are bound through the
+ * {@link LambdaMetafactory}, a direct call the JIT can inline,</li>
+ * <li>all others through a {@link MethodHandle} spreading the arguments.</li>
+ * </ul>
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public abstract class HandlerMethodInvoker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandlerMethodInvoker.class);
+
+    public static final int MAX_LAMBDA_ARITY = 4;
+
+    private static final Class<?>[] LAMBDA_TYPES = {Lambda0.class, Lambda1.class, Lambda2.class, Lambda3.class, Lambda4.class};
+
+    /**
+     * Invoke the method on the bean, exceptions thrown by the method are rethrown as they are.
+     */
+    public abstract Object invoke(Object bean, Object[] args) throws Exception;
+
+    public static HandlerMethodInvoker create(Method method) {
+        if (isLambdaCandidate(method)) {
+            try {
+                return createLambdaInvoker(method);
+            } catch (Throwable ex) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Falling back to a method handle for " + method, ex);
+                }
+            }
+        }
+        return createMethodHandleInvoker(method);
+    }
+
+    private static boolean isLambdaCandidate(Method method) {
+        int modifiers = method.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) &&
+                Modifier.isPublic(method.getDeclaringClass().getModifiers()) &&
+                method.getReturnType() != void.class && method.getParameterTypes().length <= MAX_LAMBDA_ARITY &&
+                isVisible(method);
+    }
+
+    /**
+     * The lambda class is defined with the lookup of this class and links the bean's types through its
+     * class loader, a bean of a child class loader (e.g. a restart class loader) would only fail on invoke.
+     */
+    private static boolean isVisible(Method method) {
+        ClassLoader classLoader = HandlerMethodInvoker.class.getClassLoader();
+        if (!isVisible(method.getDeclaringClass(), classLoader) || !isVisible(method.getReturnType(), classLoader)) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType, classLoader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || ClassUtils.isVisible(type, classLoader);
+    }
+
+    private static HandlerMethodInvoker createLambdaInvoker(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle target = lookup.unreflect(method);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] instantiatedTypes = new Class<?>[parameterTypes.length + 1];
+        instantiatedTypes[0] = method.getDeclaringClass();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            instantiatedTypes[i + 1] = ClassUtils.resolvePrimitiveIfNecessary(parameterTypes[i]);
+        }
+        Class<?> lambdaType = LAMBDA_TYPES[parameterTypes.length];
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke", MethodType.methodType(lambdaType),
+                MethodType.genericMethodType(parameterTypes.length + 1), target,
+                MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), instantiatedTypes));
+        Object lambda = callSite.getTarget().invoke();
+        switch (parameterTypes.length) {
+            case 0:
+                final Lambda0 lambda0 = (Lambda0) lambda;
+                return new HandlerMethodInvoker() {
+                    @Override
+                    public Object invoke(Object bean, Object[] args) throws Exception {
+                        return lambda0.invoke(bean);
+                    }
+                };
+            case 1:
+                final Lambda1 lambda1 = (Lambda1) lambda;
+                return new HandlerMethodInvoker() {
+                    @Override
+                    public Object invoke(Object bean, Object[] args) throws Exception {
+                        return lambda1.invoke(bean, args[0]);
+                    }
+                };
+            case 2:
+                final Lambda2 lambda2 = (Lambda2) lambda;
+                return new HandlerMethodInvoker() {
+                    @Override
+                    public Object invoke(Object bean, Object[] args) throws Exception {
+                        return lambda2.invoke(bean, args[0], args[1]);
+                    }
+                };
+            case 3:
+                final Lambda3 lambda3 = (Lambda3) lambda;
+                return new HandlerMethodInvoker() {
+                    @Override
+                    public Object invoke(Object bean, Object[] args) throws Exception {
+                        return lambda3.invoke(bean, args[0], args[1], args[2]);
+                    }
+                };
+            default:
+                final Lambda4 lambda4 = (Lambda4) lambda;
+                return new HandlerMethodInvoker() {
+                    @Override
+                    public Object invoke(Object bean, Object[] args) throws Exception {
+                        return lambda4.invoke(bean, args[0], args[1], args[2], args[3]);
+                    }
+                };
+        }
+    }
+
+    private static HandlerMethodInvoker createMethodHandleInvoker(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        MethodHandle methodHandle;
+        try {
+            methodHandle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot access handler method " + method, ex);
+        }
+        int parameterCount = method.getParameterTypes().length;
+        // (Object bean, Object[] args) -> Object, a void method returns null
+        methodHandle = methodHandle.asType(methodHandle.type().generic());
+        if (Modifier.isStatic(method.getModifiers())) {
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+        }
+        final MethodHandle invoker = methodHandle.asSpreader(Object[].class, parameterCount);
+        return new HandlerMethodInvoker() {
+            @Override
+            public Object invoke(Object bean, Object[] args) throws Exception {
+                try {
+                    return invoker.invokeExact(bean, args);
+                } catch (Exception ex) {
+                    throw ex;
+                } catch (Error err) {
+                    throw err;
+                } catch (Throwable ex) {
+                    throw new UndeclaredThrowableException(ex);
+                }
+            }
+        };
+    }
+
+
+    interface Lambda0 {
+        Object invoke(Object bean) throws Exception;
+    }
+
+    interface Lambda1 {
+        Object invoke(Object bean, Object arg0) throws Exception;
+    }
+
+    interface Lambda2 {
+        Object invoke(Object bean, Object arg0, Object arg1) throws Exception;
+    }
+
+    interface Lambda3 {
+        Object invoke(Object bean, Object arg0, Object arg1, Object arg2) throws Exception;
+    }
+
+    interface Lambda4 {
+        Object invoke(Object bean, Object arg0, Object arg1, Object arg2, Object arg3) throws Exception;
+    }
+}
@@ -8,15 +8,13 @@ import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.netty.http.*;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
 import org.springframework.netty.http.converter.HttpMessageConverter;
-import org.springframework.netty.http.support.GenericsUtils;
 import org.springframework.netty.http.util.CountSampling;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-
-import static org.springframework.netty.http.HandlerMapping.*;
 
 /**
  * @author thinking
@@ -30,7 +28,7 @@ public class HttpRequestHandlerAdapter implements HandlerAdapter {
 
     private MessageConverterMethodProcessor messageConverterMethodProcessor;
 
-    private Map<Class, Class> findCache = new HashMap<Class, Class>();
+    private HandlerMetadataRegistry handlerMetadataRegistry;
 
 
     public HttpRequestHandlerAdapter() {
@@ -41,6 +39,7 @@ public class HttpRequestHandlerAdapter implements HandlerAdapter {
     public HttpRequestHandlerAdapter(List<HttpMessageConverter<?>> messageConverters) {
         this.messageConverters = messageConverters;
         this.messageConverterMethodProcessor = new MessageConverterMethodProcessor(messageConverters);
+        this.handlerMetadataRegistry = new HandlerMetadataRegistry(Collections.emptyList(), messageConverters);
     }
 
     /**
@@ -51,6 +50,9 @@ public class HttpRequestHandlerAdapter implements HandlerAdapter {
     public void setMessageConverters(List<HttpMessageConverter<?>> messageConverters) {
         this.messageConverters = messageConverters;
         this.messageConverterMethodProcessor = new MessageConverterMethodProcessor(messageConverters);
+        if (this.handlerMetadataRegistry == null) {
+            this.handlerMetadataRegistry = new HandlerMetadataRegistry(Collections.emptyList(), messageConverters);
+        }
     }
 
     /**
@@ -60,6 +62,17 @@ public class HttpRequestHandlerAdapter implements HandlerAdapter {
         return this.messageConverters;
     }
 
+    /**
+     * Set the registry with the input types and converters of the handlers, built with the same converters.
+     */
+    public void setHandlerMetadataRegistry(HandlerMetadataRegistry handlerMetadataRegistry) {
+        this.handlerMetadataRegistry = handlerMetadataRegistry;
+    }
+
+    public HandlerMetadataRegistry getHandlerMetadataRegistry() {
+        return this.handlerMetadataRegistry;
+    }
+
 
     @Override
     public boolean supports(Object handler) {
@@ -69,37 +82,37 @@ public class HttpRequestHandlerAdapter implements HandlerAdapter {
     @Override
     public Object handle(ChannelHandlerContext ctx, FullHttpRequest request, Object handler)
             throws Exception {
+        HttpExchange exchange = RequestContextHolder.getExchange();
         ByteBuf contentByte = request.content();
+        HandlerMetadata metadata = handlerMetadataRegistry.getMetadata(handler);
         Object inputBody = null;
         if (contentByte.readableBytes() > 0) {
-            Class inputClass = findCache.get(handler.getClass());
-            if (inputClass == null) {
-                inputClass = GenericsUtils.getInterfaceGenericType(handler.getClass(), 0, 0);
-                findCache.put(handler.getClass(), inputClass);
-            }
-            Boolean sampling = ctx.channel().attr(HandlerMapping.REQUEST_DISPATCH_COUNT_SAMPLING).get();
-            if (logger.isDebugEnabled() && sampling) {
+            if (logger.isDebugEnabled() && exchange != null && exchange.isCountSampling()) {
                 logger.debug("HttpRequest Body : {}", contentByte.toString(CharsetUtil.UTF_8));
             }
-            inputBody = messageConverterMethodProcessor.readWithMessageConverters(ctx,request, inputClass);
+            inputBody = messageConverterMethodProcessor.readWithMessageConverters(ctx, request, metadata);
         }
 
 
         long startTime = System.currentTimeMillis();
-        ctx.channel().attr(REQUEST_HANDLER_START_TIME).set(startTime);
 
         Object response = ((HttpRequestHandler) handler).handleRequest(ctx, request, inputBody);
 
-        long endTime = System.currentTimeMillis();
-        ctx.channel().attr(REQUEST_HANDLER_EXECUTE_TIME).set(endTime - startTime);
-        ctx.channel().attr(REQUEST_HANDLER_END_TIME).set(endTime);
+        if (exchange != null) {
+            exchange.setHandlerStartTime(startTime);
+            exchange.setHandlerEndTime(System.currentTimeMillis());
+        }
 
         if ((response instanceof HttpResponse)) {
             return response;
         }
+        if (response instanceof StreamingResponse || response instanceof StreamingResponseBody) {
+            // written by DispatcherHandler as it is produced
+            return response;
+        }
 
         HttpOutputMessage outputMessage = new HttpResponseImpl();
-        messageConverterMethodProcessor.writeWithMessageConverters(response, request, outputMessage);
+        messageConverterMethodProcessor.writeWithMessageConverters(response, request, outputMessage, metadata.getProduces());
         return outputMessage;
     }
 
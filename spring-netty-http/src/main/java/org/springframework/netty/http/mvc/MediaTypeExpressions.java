@@ -0,0 +1,136 @@
+package org.springframework.netty.http.mvc;
+
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code consumes} or {@code produces} media types of a {@code @RequestMapping}, each of them
+ * possibly negated with {@code "!"}. Like Spring MVC, the expressions match a request if any of
+ * them does; a negated expression matches every media type but its own.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class MediaTypeExpressions {
+
+    public static final MediaTypeExpressions EMPTY = new MediaTypeExpressions(
+            Collections.<MediaType>emptyList(), new boolean[0]);
+
+    private final List<MediaType> mediaTypes;
+
+    private final boolean[] negated;
+
+    private final List<MediaType> includedMediaTypes;
+
+    private MediaTypeExpressions(List<MediaType> mediaTypes, boolean[] negated) {
+        this.mediaTypes = mediaTypes;
+        this.negated = negated;
+        List<MediaType> included = new ArrayList<MediaType>(mediaTypes.size());
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            if (!negated[i]) {
+                included.add(mediaTypes.get(i));
+            }
+        }
+        this.includedMediaTypes = Collections.unmodifiableList(included);
+    }
+
+    /**
+     * Parse the values of {@code @RequestMapping(consumes)} or {@code @RequestMapping(produces)}.
+     *
+     * @param values the values, may be {@code null}
+     */
+    public static MediaTypeExpressions parse(String[] values) {
+        if (values == null || values.length == 0) {
+            return EMPTY;
+        }
+        List<MediaType> mediaTypes = new ArrayList<MediaType>(values.length);
+        List<Boolean> negated = new ArrayList<Boolean>(values.length);
+        for (String value : values) {
+            for (String expression : value.split(",")) {
+                expression = expression.trim();
+                if (expression.isEmpty()) {
+                    continue;
+                }
+                boolean negate = expression.startsWith("!");
+                mediaTypes.add(MediaType.parseMediaType(negate ? expression.substring(1) : expression));
+                negated.add(negate);
+            }
+        }
+        boolean[] flags = new boolean[negated.size()];
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] = negated.get(i);
+        }
+        return new MediaTypeExpressions(Collections.unmodifiableList(mediaTypes), flags);
+    }
+
+    /**
+     * Expressions of the given media types, none of them negated.
+     */
+    public static MediaTypeExpressions of(List<MediaType> mediaTypes) {
+        if (mediaTypes.isEmpty()) {
+            return EMPTY;
+        }
+        return new MediaTypeExpressions(Collections.unmodifiableList(new ArrayList<MediaType>(mediaTypes)),
+                new boolean[mediaTypes.size()]);
+    }
+
+    public boolean isEmpty() {
+        return this.mediaTypes.isEmpty();
+    }
+
+    /**
+     * The media types that are not negated, e.g. the media types a mapping produces.
+     */
+    public List<MediaType> getMediaTypes() {
+        return this.includedMediaTypes;
+    }
+
+    /**
+     * Whether the {@code Content-Type} of a request matches the expressions.
+     */
+    public boolean includes(MediaType contentType) {
+        for (int i = 0; i < this.mediaTypes.size(); i++) {
+            if (this.mediaTypes.get(i).includes(contentType) != this.negated[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the {@code Accept} media types of a request match the expressions.
+     */
+    public boolean isCompatibleWith(List<MediaType> accepts) {
+        for (int i = 0; i < this.mediaTypes.size(); i++) {
+            if (isCompatible(this.mediaTypes.get(i), accepts) != this.negated[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCompatible(MediaType mediaType, List<MediaType> accepts) {
+        for (int i = 0; i < accepts.size(); i++) {
+            if (mediaType.isCompatibleWith(accepts.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.mediaTypes.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(this.negated[i] ? "!" : "").append(this.mediaTypes.get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,121 @@
+package org.springframework.netty.http.mvc;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.http.HttpEntity;
+import org.springframework.netty.http.*;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invokes the {@link HandlerMethod}s of the
+ * {@link org.springframework.netty.http.handler.RequestMappingHandlerMapping}: resolves the arguments
+ * with the precompiled argument resolvers, calls the generated invoker and writes the return value
+ * with the message converters, restricted to the media types the mapping produces.
+ * <p>Return values may be a {@link HttpResponse}, a streaming response, a {@link ResponseEntity}
+ * or Spring's {@link HttpEntity}/{@link org.springframework.http.ResponseEntity}, or a body;
+ * a {@code void} method answers with an empty {@code 200}.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestMappingHandlerAdapter implements HandlerAdapter {
+
+    private List<HttpMessageConverter<?>> messageConverters;
+
+    private MessageConverterMethodProcessor messageConverterMethodProcessor;
+
+    public RequestMappingHandlerAdapter() {
+
+    }
+
+    public RequestMappingHandlerAdapter(List<HttpMessageConverter<?>> messageConverters) {
+        setMessageConverters(messageConverters);
+    }
+
+    /**
+     * Provide the converters to read {@code @RequestBody} arguments and write return values.
+     */
+    public void setMessageConverters(List<HttpMessageConverter<?>> messageConverters) {
+        this.messageConverters = messageConverters;
+        this.messageConverterMethodProcessor = new MessageConverterMethodProcessor(messageConverters);
+    }
+
+    /**
+     * Return the configured message body converters.
+     */
+    public List<HttpMessageConverter<?>> getMessageConverters() {
+        return this.messageConverters;
+    }
+
+    @Override
+    public boolean supports(Object handler) {
+        return (handler instanceof HandlerMethod);
+    }
+
+    @Override
+    public Object handle(ChannelHandlerContext ctx, FullHttpRequest request, Object handler) throws Exception {
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        HttpExchange exchange = RequestContextHolder.getExchange();
+        QueryDecoder query = (exchange != null ? exchange.getQuery() : null);
+        if (query == null) {
+            query = new QueryDecoder(request.uri());
+        }
+        Object[] args = handlerMethod.resolveArguments(ctx, request, query, messageConverterMethodProcessor);
+
+        long startTime = System.currentTimeMillis();
+
+        Object returnValue = handlerMethod.invoke(args);
+
+        if (exchange != null) {
+            exchange.setHandlerStartTime(startTime);
+            exchange.setHandlerEndTime(System.currentTimeMillis());
+        }
+        return handleReturnValue(returnValue, request, handlerMethod);
+    }
+
+    private Object handleReturnValue(Object returnValue, FullHttpRequest request, HandlerMethod handlerMethod)
+            throws Exception {
+        if (returnValue instanceof HttpResponse || returnValue instanceof StreamingResponse ||
+                returnValue instanceof StreamingResponseBody) {
+            return returnValue;
+        }
+        HttpResponseStatus status = null;
+        Object body = returnValue;
+        org.springframework.http.HttpHeaders headers = null;
+        if (returnValue instanceof ResponseEntity) {
+            status = ((ResponseEntity) returnValue).getStatus();
+        } else if (returnValue instanceof org.springframework.http.ResponseEntity) {
+            status = HttpResponseStatus.valueOf(((org.springframework.http.ResponseEntity) returnValue).getStatusCodeValue());
+        }
+        if (returnValue instanceof HttpEntity) {
+            body = ((HttpEntity) returnValue).getBody();
+            headers = ((HttpEntity) returnValue).getHeaders();
+        }
+
+        HttpResponseImpl outputMessage = (status != null ? new HttpResponseImpl(status) : new HttpResponseImpl());
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                outputMessage.headers().add(header.getKey(), header.getValue());
+            }
+        }
+        if (body != null) {
+            messageConverterMethodProcessor.writeWithMessageConverters(body, request, outputMessage,
+                    handlerMethod.getProduces());
+        }
+        return outputMessage;
+    }
+
+    @Override
+    public long getLastModified(FullHttpRequest request, Object handler) {
+        return -1L;
+    }
+}
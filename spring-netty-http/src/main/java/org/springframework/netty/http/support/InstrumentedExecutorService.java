@@ -0,0 +1,109 @@
+package org.springframework.netty.http.support;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExecutorService} decorator counting submitted, completed and in-flight tasks, for
+ * executors that do not expose them like a {@link java.util.concurrent.ThreadPoolExecutor} does.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public InstrumentedExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        inFlight.incrementAndGet();
+        try {
+            delegate.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        completed.increment();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.decrementAndGet();
+            throw ex;
+        }
+        submitted.increment();
+    }
+
+    /**
+     * Tasks accepted by the delegate executor.
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Tasks that finished, normally or exceptionally.
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Tasks accepted and not yet finished, waiting or running.
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedExecutorService{" + delegate + ", inFlight=" + inFlight.get() + '}';
+    }
+}
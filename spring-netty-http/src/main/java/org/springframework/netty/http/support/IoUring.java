@@ -0,0 +1,92 @@
+package org.springframework.netty.http.support;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Accesses the io_uring transport of {@code netty-incubator-transport-native-io_uring} through
+ * reflection, so the transport is used when it is on the classpath without being a dependency.
+ * <p>The incubator needs Netty 4.1.52 or later and a Linux kernel 5.9 or later.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public abstract class IoUring {
+
+    private static final Logger log = LoggerFactory.getLogger(IoUring.class);
+
+    private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+    private static final Constructor<? extends EventLoopGroup> eventLoopGroupConstructor;
+
+    private static final Class<? extends ServerChannel> serverChannelClass;
+
+    private static final Throwable unavailabilityCause;
+
+    static {
+        Constructor<? extends EventLoopGroup> constructor = null;
+        Class<? extends ServerChannel> channelClass = null;
+        Throwable cause = null;
+        try {
+            Class<?> ioUring = Class.forName(PACKAGE + "IOUring");
+            if ((Boolean) ioUring.getMethod("isAvailable").invoke(null)) {
+                constructor = Class.forName(PACKAGE + "IOUringEventLoopGroup")
+                        .asSubclass(EventLoopGroup.class).getConstructor(int.class);
+                channelClass = Class.forName(PACKAGE + "IOUringServerSocketChannel").asSubclass(ServerChannel.class);
+            } else {
+                cause = (Throwable) ioUring.getMethod("unavailabilityCause").invoke(null);
+            }
+        } catch (ClassNotFoundException ex) {
+            cause = new ClassNotFoundException("netty-incubator-transport-native-io_uring is not on the classpath");
+        } catch (Throwable ex) {
+            cause = ex;
+        }
+        eventLoopGroupConstructor = (cause == null ? constructor : null);
+        serverChannelClass = (cause == null ? channelClass : null);
+        unavailabilityCause = cause;
+    }
+
+    /**
+     * Whether the io_uring transport is on the classpath and supported by the kernel.
+     */
+    public static boolean isAvailable() {
+        return unavailabilityCause == null;
+    }
+
+    /**
+     * Why io_uring cannot be used, {@code null} if it is available.
+     */
+    public static Throwable unavailabilityCause() {
+        return unavailabilityCause;
+    }
+
+    /**
+     * Create an {@code IOUringEventLoopGroup}.
+     *
+     * @param threadCount the number of threads, {@code 0} for Netty's default
+     * @return the group, or {@code null} if io_uring is not available
+     */
+    public static EventLoopGroup newEventLoopGroup(int threadCount) {
+        if (!isAvailable()) {
+            return null;
+        }
+        try {
+            return eventLoopGroupConstructor.newInstance(threadCount);
+        } catch (Exception ex) {
+            log.warn("Failed to create io_uring event loop group", ex);
+            return null;
+        }
+    }
+
+    /**
+     * The {@code IOUringServerSocketChannel} class, or {@code null} if io_uring is not available.
+     */
+    public static Class<? extends ServerChannel> serverChannelClass() {
+        return serverChannelClass;
+    }
+}
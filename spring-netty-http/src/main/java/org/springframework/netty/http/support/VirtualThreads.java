@@ -0,0 +1,80 @@
+package org.springframework.netty.http.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual thread executors on JDK 21+ through reflection, the code base itself is compiled
+ * for Java 8.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public abstract class VirtualThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Method ofVirtual;
+
+    private static final Method name;
+
+    private static final Method factory;
+
+    private static final Method newThreadPerTaskExecutor;
+
+    static {
+        Method ofVirtualMethod = null;
+        Method nameMethod = null;
+        Method factoryMethod = null;
+        Method newThreadPerTaskExecutorMethod = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            nameMethod = builderClass.getMethod("name", String.class, long.class);
+            factoryMethod = builderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // JDK 19 and 20 only support virtual threads as a preview feature
+            ofVirtualMethod.invoke(null);
+        } catch (Throwable ex) {
+            ofVirtualMethod = null;
+        }
+        ofVirtual = ofVirtualMethod;
+        name = nameMethod;
+        factory = factoryMethod;
+        newThreadPerTaskExecutor = newThreadPerTaskExecutorMethod;
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return ofVirtual != null;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task.
+     *
+     * @param threadNamePrefix prefix of the thread names, followed by a counter
+     * @return the executor, or {@code null} if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = ofVirtual.invoke(null);
+            builder = name.invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) factory.invoke(builder);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (Exception ex) {
+            log.warn("Failed to create virtual thread executor", ex);
+            return null;
+        }
+    }
+}
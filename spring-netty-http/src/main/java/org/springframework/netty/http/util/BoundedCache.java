@@ -0,0 +1,61 @@
+package org.springframework.netty.http.util;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded concurrent cache, for keys that come from clients, e.g. header values. When the cache is
+ * full the oldest entries are evicted first, so new keys are always cached.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<K, V>();
+
+    private final ConcurrentLinkedQueue<K> order = new ConcurrentLinkedQueue<K>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public BoundedCache(int maxSize) {
+        Assert.isTrue(maxSize > 0, "Cache size must be greater than 0");
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        return this.entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        if (this.entries.putIfAbsent(key, value) != null) {
+            return;
+        }
+        this.order.add(key);
+        if (this.size.incrementAndGet() > this.maxSize) {
+            evict();
+        }
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    private void evict() {
+        while (this.size.get() > this.maxSize) {
+            K eldest = this.order.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (this.entries.remove(eldest) != null) {
+                this.size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.springframework.netty.http;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void rejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(0, false);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void growsAtBaselineLatencyAndShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+        for (int i = 0; i < 20; i++) {
+            window(limiter, 10 * MILLIS);
+        }
+        int grown = limiter.getLimit();
+        assertTrue("limit " + grown, grown > 20);
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter, 40 * MILLIS);
+        }
+        assertTrue("limit " + limiter.getLimit(), limiter.getLimit() < grown);
+        assertEquals(40.0, limiter.getRtt(), 0.01);
+    }
+
+    @Test
+    public void keepsLimitWhenNotUsed() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+        for (int i = 0; i < 10; i++) {
+            // a single dispatch in flight
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10 * MILLIS, true);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(int initialLimit) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit);
+        limiter.setMinWindowTime(0, TimeUnit.MILLISECONDS);
+        limiter.setMinWindowSamples(1);
+        return limiter;
+    }
+
+    /**
+     * Fill the limit and complete the dispatches with the given latency, closing one window.
+     */
+    private static void window(AdaptiveConcurrencyLimiter limiter, long rtt) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        limiter.setMinWindowSamples(acquired);
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rtt, true);
+        }
+    }
+}
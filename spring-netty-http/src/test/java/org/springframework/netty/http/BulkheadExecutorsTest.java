@@ -0,0 +1,45 @@
+package org.springframework.netty.http;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class BulkheadExecutorsTest {
+
+    @Test
+    public void selectsByRouteThenHandlerType() {
+        ExecutorService reports = Executors.newSingleThreadExecutor();
+        ExecutorService exports = Executors.newSingleThreadExecutor();
+        BulkheadExecutors bulkheads = new BulkheadExecutors();
+        bulkheads.addExecutor("reports", reports, Arrays.asList("/report/{id}"), Collections.<Class<?>>emptyList());
+        bulkheads.addExecutor("exports", exports, Collections.<String>emptyList(), Arrays.<Class<?>>asList(ExportHandler.class));
+
+        HandlerExecutionChain export = new HandlerExecutionChain(new ExportHandler());
+        assertSame(reports, bulkheads.getExecutor(export, "/report/{id}"));
+        assertSame(exports, bulkheads.getExecutor(export, "/export/{id}"));
+        assertNull(bulkheads.getExecutor(new HandlerExecutionChain(new Object()), "/user/{id}"));
+        assertNull(bulkheads.getExecutor(null, null));
+        bulkheads.shutdown();
+        assertTrue(reports.isShutdown());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRouteInTwoBulkheads() {
+        BulkheadExecutors bulkheads = new BulkheadExecutors();
+        bulkheads.addExecutor("a", Executors.newSingleThreadExecutor(), Arrays.asList("/a"), Collections.<Class<?>>emptyList());
+        bulkheads.addExecutor("b", Executors.newSingleThreadExecutor(), Arrays.asList("/a"), Collections.<Class<?>>emptyList());
+    }
+
+    static class ExportHandler {
+    }
+}
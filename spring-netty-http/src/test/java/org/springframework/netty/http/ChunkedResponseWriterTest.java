@@ -0,0 +1,95 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.netty.http.context.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ChunkedResponseWriterTest {
+
+    @Test
+    public void writesChunksAndHoldsBackLaterResponses() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+        HttpExchange streamed = queue.newExchange(request("/export"));
+        HttpExchange next = queue.newExchange(request("/next"));
+
+        ChunkedResponseWriter writer = new ChunkedResponseWriter(ctx, streamed, true, 4);
+        writer.start(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        queue.write(next, new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CREATED), false);
+        writer.write("abcdef".getBytes(CharsetUtil.US_ASCII));
+
+        assertTrue(channel.readOutbound() instanceof HttpResponse);
+        assertChunk("abcd", channel.readOutbound());
+        assertNull(channel.readOutbound());
+
+        writer.close();
+        assertChunk("ef", channel.readOutbound());
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readOutbound());
+        assertEquals(HttpResponseStatus.CREATED, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(0, queue.getInFlight());
+    }
+
+    @Test
+    public void abortClosesConnection() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        HttpExchange streamed = OrderedResponseQueue.get(ctx).newExchange(request("/export"));
+
+        ChunkedResponseWriter writer = new ChunkedResponseWriter(ctx, streamed, true, 4);
+        writer.start(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        writer.write(1);
+        writer.abort();
+        assertFalse(channel.isOpen());
+        try {
+            writer.write(2);
+            fail("expected IOException");
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void startTimesOutBehindUnansweredResponse() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+        queue.newExchange(request("/slow"));
+        HttpExchange streamed = queue.newExchange(request("/export"));
+
+        ChunkedResponseWriter writer = new ChunkedResponseWriter(ctx, streamed, true, 4);
+        writer.setWriteTimeout(20, TimeUnit.MILLISECONDS);
+        try {
+            writer.start(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+            fail("expected IOException");
+        } catch (IOException ex) {
+            // expected
+        }
+        assertFalse(channel.isOpen());
+        assertNull(channel.readOutbound());
+    }
+
+    private static void assertChunk(String expected, Object message) {
+        HttpContent content = (HttpContent) message;
+        assertEquals(expected, content.content().toString(CharsetUtil.US_ASCII));
+        content.release();
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+}
@@ -0,0 +1,62 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ConnectionLifecycleHandlerTest {
+
+    @Test
+    public void closesAfterMaxRequests() {
+        NioEndpoint endpoint = new NioEndpoint();
+        EmbeddedChannel channel = new EmbeddedChannel(new ConnectionLifecycleHandler(endpoint, 2, 0, 0));
+
+        channel.writeInbound(request());
+        channel.writeOutbound(response());
+        assertNull(((FullHttpResponse) channel.readOutbound()).headers().get(HttpHeaderNames.CONNECTION));
+
+        channel.writeInbound(request());
+        channel.writeInbound(request());
+        assertNotNull(channel.readInbound());
+        assertNotNull(channel.readInbound());
+        assertNull("request after the last one is dropped", channel.readInbound());
+        assertTrue(channel.isOpen());
+
+        channel.writeOutbound(response());
+        FullHttpResponse last = channel.readOutbound();
+        assertEquals("close", last.headers().get(HttpHeaderNames.CONNECTION));
+        assertFalse(channel.isOpen());
+        assertEquals(1, endpoint.getCloseCount(NioEndpoint.CloseReason.MAX_REQUESTS));
+    }
+
+    @Test
+    public void idleClosesOnlyWithoutRequestInFlight() {
+        NioEndpoint endpoint = new NioEndpoint();
+        EmbeddedChannel channel = new EmbeddedChannel(new ConnectionLifecycleHandler(endpoint, 0, 0, 0));
+
+        channel.writeInbound(request());
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.READER_IDLE_STATE_EVENT);
+        assertTrue(channel.isOpen());
+
+        channel.writeOutbound(response());
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.READER_IDLE_STATE_EVENT);
+        assertFalse(channel.isOpen());
+        assertEquals(1, endpoint.getCloseCount(NioEndpoint.CloseReason.IDLE));
+    }
+
+    private static FullHttpRequest request() {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+    }
+
+    private static FullHttpResponse response() {
+        return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    }
+}
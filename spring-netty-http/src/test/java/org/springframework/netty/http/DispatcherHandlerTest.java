@@ -0,0 +1,353 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.netty.http.util.CountSampling;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class DispatcherHandlerTest {
+
+    private final Map<String, Object> handlers = new HashMap<String, Object>();
+
+    private ExecutorService worker;
+
+    private DispatcherHandler dispatcherHandler;
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setup() {
+        worker = Executors.newSingleThreadExecutor(namedThreads("worker"));
+        dispatcherHandler = new DispatcherHandler(worker);
+        dispatcherHandler.setCountSampling(new CountSampling());
+
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("handlerMapping", new HandlerMapping() {
+            @Override
+            public HandlerExecutionChain getHandler(ChannelHandlerContext ctx, FullHttpRequest request) {
+                QueryDecoder query = new QueryDecoder(request.uri());
+                Object handler = handlers.get(query.path());
+                if (handler == null) {
+                    return null;
+                }
+                query.setBestMatchingPattern(query.path());
+                RequestContextHolder.getExchange().setQuery(query);
+                return new HandlerExecutionChain(handler);
+            }
+        });
+        context.getBeanFactory().registerSingleton("handlerAdapter", new HandlerAdapter() {
+            @Override
+            public boolean supports(Object handler) {
+                return (handler instanceof RecordingHandler || handler instanceof HandlerMethod);
+            }
+
+            @Override
+            public Object handle(ChannelHandlerContext ctx, FullHttpRequest request, Object handler) throws Exception {
+                if (handler instanceof HandlerMethod) {
+                    return ((HandlerMethod) handler).invoke(new Object[0]);
+                }
+                return ((RecordingHandler) handler).handle();
+            }
+
+            @Override
+            public long getLastModified(FullHttpRequest request, Object handler) {
+                return -1L;
+            }
+        });
+        context.refresh();
+        dispatcherHandler.setApplicationContext(context);
+        channel = new EmbeddedChannel(dispatcherHandler);
+    }
+
+    @After
+    public void shutdown() {
+        channel.finishAndReleaseAll();
+        worker.shutdownNow();
+    }
+
+    @Test
+    public void nonBlockingHandlersRunOnTheEventLoop() throws Exception {
+        RecordingHandler annotated = register("/annotated", new AnnotatedHandler());
+        RecordingHandler blocking = register("/blocking", new RecordingHandler());
+
+        assertEquals(HttpResponseStatus.OK, dispatch("/annotated").status());
+        assertSame(Thread.currentThread(), annotated.thread);
+
+        assertEquals(HttpResponseStatus.OK, dispatch("/blocking").status());
+        assertEquals("worker", blocking.thread.getName());
+    }
+
+    @Test
+    public void nonBlockingHandlerDecidesPerRequest() throws Exception {
+        CachingHandler caching = register("/caching", new CachingHandler());
+
+        dispatch("/caching?cached=true");
+        assertSame(Thread.currentThread(), caching.thread);
+
+        dispatch("/caching");
+        assertEquals("worker", caching.thread.getName());
+    }
+
+    @Test
+    public void handlerBlockingTheEventLoopIsDemoted() throws Exception {
+        dispatcherHandler.setEventLoopBlockingThreshold(15);
+        AnnotatedHandler annotated = register("/annotated", new AnnotatedHandler());
+        annotated.sleepMillis = 60;
+
+        dispatch("/annotated");
+        assertSame(Thread.currentThread(), annotated.thread);
+        assertEquals(1, dispatcherHandler.getEventLoopBlockedCount());
+
+        annotated.sleepMillis = 0;
+        dispatch("/annotated");
+        assertEquals("worker", annotated.thread.getName());
+        assertEquals(1, dispatcherHandler.getEventLoopBlockedCount());
+    }
+
+    @Test
+    public void inlineDispatchCanBeTurnedOff() throws Exception {
+        dispatcherHandler.setInlineDispatch(false);
+        AnnotatedHandler annotated = register("/annotated", new AnnotatedHandler());
+
+        dispatch("/annotated");
+        assertEquals("worker", annotated.thread.getName());
+    }
+
+    @Test
+    public void bulkheadsApplyWithoutInlineDispatch() throws Exception {
+        dispatcherHandler.setInlineDispatch(false);
+        ExecutorService reports = Executors.newSingleThreadExecutor(namedThreads("reports"));
+        ExecutorService exports = Executors.newSingleThreadExecutor(namedThreads("exports"));
+        BulkheadExecutors bulkheads = new BulkheadExecutors();
+        bulkheads.addExecutor("reports", reports, Arrays.asList("/report"), Collections.<Class<?>>emptyList());
+        bulkheads.addExecutor("exports", exports, Collections.<String>emptyList(),
+                Arrays.<Class<?>>asList(ExportHandler.class));
+        dispatcherHandler.setBulkheadExecutors(bulkheads);
+        RecordingHandler report = register("/report", new RecordingHandler());
+        RecordingHandler export = register("/export", new ExportHandler());
+        RecordingHandler other = register("/other", new RecordingHandler());
+        try {
+            dispatch("/report", reports);
+            assertEquals("reports", report.thread.getName());
+            dispatch("/export", exports);
+            assertEquals("exports", export.thread.getName());
+            dispatch("/other", worker);
+            assertEquals("worker", other.thread.getName());
+        } finally {
+            bulkheads.shutdown();
+        }
+    }
+
+    @Test
+    public void streamingHopIsShedWhenTheWorkerExecutorRejects() throws Exception {
+        AnnotatedHandler annotated = register("/stream", new AnnotatedHandler());
+        annotated.result = new StreamingResponseBody() {
+            @Override
+            public void writeTo(OutputStream outputStream) throws IOException {
+                outputStream.write(1);
+            }
+        };
+        worker.shutdown();
+
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/stream");
+        channel.writeInbound(request);
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, response.status());
+        assertSame(Thread.currentThread(), annotated.thread);
+        assertEquals(0, request.refCnt());
+        assertEquals(1, dispatcherHandler.getLoadShedder().getShedCount());
+        assertEquals(0, dispatcherHandler.getLoadShedder().getQueueDepth());
+        assertTrue(channel.isOpen());
+        response.release();
+    }
+
+    @Test
+    public void unsupportedResultIsAnsweredWithServerError() throws Exception {
+        RecordingHandler handler = register("/broken", new RecordingHandler());
+        handler.result = new Object();
+
+        FullHttpResponse response = dispatch("/broken");
+        assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR, response.status());
+        assertEquals("close", response.headers().get(HttpHeaderNames.CONNECTION));
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void handlerMethodsAreNonBlockingByBeanOrMethod() throws Exception {
+        dispatcherHandler.setEventLoopBlockingThreshold(15);
+        PingController ping = new PingController();
+        ping.sleepMillis = 60;
+        register("/ping", handlerMethod(ping, "ping"));
+        register("/slow", handlerMethod(ping, "slow"));
+        ReportController report = new ReportController();
+        register("/fast", handlerMethod(report, "fast"));
+        register("/report", handlerMethod(report, "report"));
+
+        dispatch("/ping");
+        assertSame(Thread.currentThread(), ping.thread);
+        dispatch("/fast");
+        assertSame(Thread.currentThread(), report.thread);
+        dispatch("/report");
+        assertEquals("worker", report.thread.getName());
+
+        dispatch("/slow");
+        assertSame(Thread.currentThread(), ping.thread);
+        assertEquals(1, dispatcherHandler.getEventLoopBlockedCount());
+        dispatch("/slow");
+        assertEquals("worker", ping.thread.getName());
+        // only the blocking method is demoted
+        dispatch("/ping");
+        assertSame(Thread.currentThread(), ping.thread);
+    }
+
+    @Test
+    public void bulkheadSelectedByBeanTypeOfHandlerMethod() throws Exception {
+        ExecutorService reports = Executors.newSingleThreadExecutor(namedThreads("reports"));
+        BulkheadExecutors bulkheads = new BulkheadExecutors();
+        bulkheads.addExecutor("reports", reports, Collections.<String>emptyList(),
+                Arrays.<Class<?>>asList(ReportController.class));
+        dispatcherHandler.setBulkheadExecutors(bulkheads);
+        ReportController report = new ReportController();
+        register("/report", handlerMethod(report, "report"));
+        try {
+            dispatch("/report", reports);
+            assertEquals("reports", report.thread.getName());
+        } finally {
+            bulkheads.shutdown();
+        }
+    }
+
+    private static HandlerMethod handlerMethod(Object bean, String name) throws NoSuchMethodException {
+        return new HandlerMethod(bean, bean.getClass().getMethod(name), new String[]{"/" + name},
+                new RequestMethod[0], Collections.<MediaType>emptyList(), Collections.<MediaType>emptyList());
+    }
+
+    private <T> T register(String path, T handler) {
+        handlers.put(path, handler);
+        return handler;
+    }
+
+    /**
+     * Dispatch a request and wait for the executor to finish it.
+     */
+    private FullHttpResponse dispatch(String uri) throws Exception {
+        return dispatch(uri, worker);
+    }
+
+    private FullHttpResponse dispatch(String uri, ExecutorService executor) throws Exception {
+        channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri));
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get(5, TimeUnit.SECONDS);
+        channel.runPendingTasks();
+        FullHttpResponse response = channel.readOutbound();
+        assertNotNull(uri, response);
+        response.release();
+        return response;
+    }
+
+    private static ThreadFactory namedThreads(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, name);
+            }
+        };
+    }
+
+
+    static class RecordingHandler {
+
+        volatile Thread thread;
+
+        volatile long sleepMillis;
+
+        volatile Object result;
+
+        Object handle() throws InterruptedException {
+            thread = Thread.currentThread();
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+            }
+            return result;
+        }
+    }
+
+    @NonBlocking
+    static class AnnotatedHandler extends RecordingHandler {
+    }
+
+    static class ExportHandler extends RecordingHandler {
+    }
+
+    @NonBlocking
+    public static class PingController {
+
+        volatile Thread thread;
+
+        volatile long sleepMillis;
+
+        public void ping() {
+            thread = Thread.currentThread();
+        }
+
+        public void slow() throws InterruptedException {
+            thread = Thread.currentThread();
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+                sleepMillis = 0;
+            }
+        }
+    }
+
+    public static class ReportController {
+
+        volatile Thread thread;
+
+        @NonBlocking
+        public void fast() {
+            thread = Thread.currentThread();
+        }
+
+        public void report() {
+            thread = Thread.currentThread();
+        }
+    }
+
+    static class CachingHandler extends RecordingHandler implements NonBlockingHandler {
+
+        @Override
+        public boolean isNonBlocking(FullHttpRequest request) {
+            return request.uri().contains("cached=true");
+        }
+    }
+}
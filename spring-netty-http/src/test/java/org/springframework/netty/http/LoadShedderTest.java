@@ -0,0 +1,70 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LoadShedderTest {
+
+    @Test
+    public void shedsAtMaxQueueDepth() {
+        LoadShedder loadShedder = new LoadShedder();
+        loadShedder.setMaxQueueDepth(2);
+        assertTrue(loadShedder.tryAcquire());
+        assertTrue(loadShedder.tryAcquire());
+        assertFalse(loadShedder.tryAcquire());
+
+        loadShedder.dequeued(System.nanoTime());
+        assertTrue(loadShedder.tryAcquire());
+        assertEquals(1, loadShedder.getShedCount());
+    }
+
+    @Test
+    public void shedsWhileQueueWaitStaysAboveTarget() throws Exception {
+        LoadShedder loadShedder = new LoadShedder();
+        loadShedder.setMaxQueueWait(1, TimeUnit.MILLISECONDS);
+        loadShedder.setInterval(0, TimeUnit.MILLISECONDS);
+        assertTrue(loadShedder.tryAcquire());
+        assertTrue(loadShedder.tryAcquire());
+        loadShedder.dequeued(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(loadShedder.isOverloaded());
+        assertFalse(loadShedder.tryAcquire());
+
+        // an empty queue always admits, so the wait can be measured again
+        loadShedder.dequeued(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(loadShedder.tryAcquire());
+        loadShedder.dequeued(System.nanoTime());
+        assertFalse(loadShedder.isOverloaded());
+    }
+
+    @Test
+    public void rejectedRequestIsAnsweredAndReleased() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        DispatcherHandler dispatcherHandler = new DispatcherHandler(executorService);
+        EmbeddedChannel channel = new EmbeddedChannel(dispatcherHandler);
+
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/slow");
+        channel.writeInbound(request);
+
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, response.status());
+        assertEquals("1", response.headers().get(HttpHeaderNames.RETRY_AFTER));
+        assertTrue(response.content().isReadable());
+        assertEquals(0, request.refCnt());
+        assertEquals(1, dispatcherHandler.getLoadShedder().getShedCount());
+        assertTrue(channel.isOpen());
+        response.release();
+    }
+}
@@ -0,0 +1,75 @@
+package org.springframework.netty.http;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Accept} and {@code Content-Type} parsing through {@link HttpUtils} and its
+ * {@link MediaTypeCache} against parsing every value.
+ * <p>Run with {@code main} from the test classpath.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeCacheBenchmark {
+
+    private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private FullHttpRequest request;
+
+    @Setup
+    public void setup() {
+        request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        request.headers().set(HttpHeaderNames.ACCEPT, ACCEPT);
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+    }
+
+    @Benchmark
+    public List<MediaType> parseAccepts() {
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(request.headers().get(HttpHeaderNames.ACCEPT));
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        return mediaTypes;
+    }
+
+    @Benchmark
+    public List<MediaType> cachedAccepts() {
+        return HttpUtils.getAccepts(request);
+    }
+
+    @Benchmark
+    public MediaType parseContentType() {
+        return MediaType.parseMediaType(request.headers().get(HttpHeaderNames.CONTENT_TYPE));
+    }
+
+    @Benchmark
+    public MediaType cachedContentType() {
+        return HttpUtils.getContentType(request);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MediaTypeCacheBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
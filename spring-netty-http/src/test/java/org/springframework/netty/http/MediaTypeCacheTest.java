@@ -0,0 +1,60 @@
+package org.springframework.netty.http;
+
+import org.junit.Test;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MediaTypeCacheTest {
+
+    @Test
+    public void parsesOnce() {
+        MediaTypeCache cache = new MediaTypeCache();
+        MediaType mediaType = cache.parseMediaType("application/json;charset=UTF-8");
+        assertEquals(MediaType.APPLICATION_JSON_UTF8, mediaType);
+        assertSame(mediaType, cache.parseMediaType(new StringBuilder("application/json;charset=UTF-8")));
+    }
+
+    @Test
+    public void sortsAccept() {
+        MediaTypeCache cache = new MediaTypeCache();
+        List<MediaType> mediaTypes = cache.parseSortedMediaTypes("*/*;q=0.8, text/html, application/json;q=0.9");
+        assertEquals(MediaType.TEXT_HTML, mediaTypes.get(0));
+        assertEquals(MediaType.ALL, mediaTypes.get(2).removeQualityValue());
+        assertSame(mediaTypes, cache.parseSortedMediaTypes("*/*;q=0.8, text/html, application/json;q=0.9"));
+        try {
+            mediaTypes.clear();
+            fail("shared list must be unmodifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void bounded() {
+        MediaTypeCache cache = new MediaTypeCache(2);
+        MediaType first = cache.parseMediaType("text/a");
+        cache.parseMediaType("text/b");
+        cache.parseMediaType("text/c");
+        assertEquals(2, cache.size());
+        assertNotSame("evicted", first, cache.parseMediaType("text/a"));
+    }
+
+    @Test
+    public void invalidNotCached() {
+        MediaTypeCache cache = new MediaTypeCache();
+        try {
+            cache.parseMediaType("not a media type");
+            fail();
+        } catch (InvalidMediaTypeException expected) {
+        }
+        assertEquals(0, cache.size());
+    }
+}
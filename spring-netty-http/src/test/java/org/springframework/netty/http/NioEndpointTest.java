@@ -0,0 +1,83 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class NioEndpointTest {
+
+    @Test
+    public void rejectsAboveMaxConnections() {
+        NioEndpoint endpoint = new NioEndpoint();
+        endpoint.setMaxConnections(2);
+
+        EmbeddedChannel first = channel("10.1.1.1");
+        assertTrue(endpoint.admit(first));
+        assertTrue(endpoint.admit(channel("10.1.1.2")));
+
+        EmbeddedChannel rejected = channel("10.1.1.3");
+        assertFalse(endpoint.admit(rejected));
+        assertFalse(rejected.isOpen());
+        assertEquals(2, endpoint.getAdmittedCount());
+        assertEquals(1, endpoint.getRejectedCount());
+
+        first.close();
+        assertEquals(1, endpoint.getAdmittedCount());
+        assertTrue(endpoint.admit(channel("10.1.1.3")));
+    }
+
+    @Test
+    public void admitsOverflowFromSources() {
+        NioEndpoint endpoint = new NioEndpoint();
+        endpoint.setMaxConnections(1);
+        endpoint.setOverflowConnections(1, "127.0.0.1", "192.168.0.0/16");
+
+        assertTrue(endpoint.admit(channel("10.1.1.1")));
+        assertFalse(endpoint.admit(channel("10.1.1.2")));
+        assertTrue(endpoint.admit(channel("192.168.7.9")));
+        assertFalse("overflow used up", endpoint.admit(channel("127.0.0.1")));
+        assertEquals(2, endpoint.getAdmittedCount());
+    }
+
+    @Test
+    public void rejectsInvalidOverflowPrefix() {
+        NioEndpoint endpoint = new NioEndpoint();
+        for (String source : new String[]{"10.0.0.0/33", "::/200", "10.0.0.0/-1", "10.0.0.0/x", "10.0.0.0/"}) {
+            try {
+                endpoint.setOverflowConnections(1, source);
+                fail(source);
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains(source));
+            }
+        }
+        endpoint.setOverflowConnections(1, "10.0.0.0/0", "::1/128", "192.168.1.1/32");
+    }
+
+    @Test
+    public void unlimitedByDefault() {
+        NioEndpoint endpoint = new NioEndpoint();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(endpoint.admit(channel("10.1.1.1")));
+        }
+        assertEquals(0, endpoint.getRejectedCount());
+    }
+
+    private static EmbeddedChannel channel(String remoteAddress) {
+        final InetSocketAddress address = new InetSocketAddress(remoteAddress, 40000);
+        return new EmbeddedChannel() {
+            @Override
+            protected SocketAddress remoteAddress0() {
+                return address;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package org.springframework.netty.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+import org.springframework.netty.http.context.HttpExchange;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OrderedResponseQueueTest {
+
+    @Test
+    public void writesResponsesInRequestOrder() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+
+        HttpExchange first = queue.newExchange(request("/1"));
+        HttpExchange second = queue.newExchange(request("/2"));
+        HttpExchange third = queue.newExchange(request("/3"));
+
+        queue.write(third, response(HttpResponseStatus.ACCEPTED), false);
+        queue.write(second, response(HttpResponseStatus.CREATED), false);
+        assertNull(channel.readOutbound());
+        assertEquals(3, queue.getInFlight());
+
+        queue.write(first, response(HttpResponseStatus.OK), false);
+        assertEquals(HttpResponseStatus.OK, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(HttpResponseStatus.CREATED, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(HttpResponseStatus.ACCEPTED, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(0, queue.getInFlight());
+    }
+
+    @Test
+    public void skippedExchangeReleasesLaterResponses() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        OrderedResponseQueue queue = OrderedResponseQueue.get(channel.pipeline().firstContext());
+
+        HttpExchange first = queue.newExchange(request("/1"));
+        HttpExchange second = queue.newExchange(request("/2"));
+        queue.write(second, response(HttpResponseStatus.OK), true);
+        queue.skip(first);
+
+        assertEquals(HttpResponseStatus.OK, ((FullHttpResponse) channel.readOutbound()).status());
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void lastResponseFollowsResponsesInFlight() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        OrderedResponseQueue queue = OrderedResponseQueue.get(ctx);
+
+        HttpExchange first = queue.newExchange(request("/1"));
+        OrderedResponseQueue.writeLast(ctx, response(HttpResponseStatus.BAD_REQUEST));
+        assertNull(channel.readOutbound());
+        assertTrue(channel.isOpen());
+
+        queue.write(first, response(HttpResponseStatus.OK), false);
+        assertEquals(HttpResponseStatus.OK, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(HttpResponseStatus.BAD_REQUEST, ((FullHttpResponse) channel.readOutbound()).status());
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void closeAfterResponseClosesWithNextResponse() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        OrderedResponseQueue queue = OrderedResponseQueue.get(channel.pipeline().firstContext());
+
+        HttpExchange exchange = queue.newExchange(request("/1"));
+        assertFalse(queue.closeAfterResponse());
+        assertTrue(channel.isOpen());
+        queue.write(exchange, response(HttpResponseStatus.OK), false);
+
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals("close", response.headers().get(HttpHeaderNames.CONNECTION));
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void closeAfterResponseClosesIdleConnection() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        OrderedResponseQueue queue = OrderedResponseQueue.get(channel.pipeline().firstContext());
+
+        assertTrue(queue.closeAfterResponse());
+        assertFalse(channel.isOpen());
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+
+    private static FullHttpResponse response(HttpResponseStatus status) {
+        return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+    }
+}
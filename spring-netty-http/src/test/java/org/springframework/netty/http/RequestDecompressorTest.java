@@ -0,0 +1,115 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.netty.http.context.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestDecompressorTest {
+
+    private static final int MAX_CONTENT_LENGTH = 1024 * 1024;
+
+    @Test
+    public void decodesGzipBody() throws IOException {
+        EmbeddedChannel channel = channel();
+        String body = "{\"name\":\"netty\"}";
+        channel.writeInbound(request(gzip(body.getBytes(CharsetUtil.UTF_8))));
+
+        FullHttpRequest request = channel.readInbound();
+        assertEquals(body, request.content().toString(CharsetUtil.UTF_8));
+        assertFalse(request.headers().contains(HttpHeaderNames.CONTENT_ENCODING));
+        request.release();
+    }
+
+    @Test
+    public void rejectsBodyAboveMaxContentLength() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new RequestDecompressor(MAX_CONTENT_LENGTH, 0),
+                new HttpObjectAggregator(MAX_CONTENT_LENGTH));
+        channel.writeInbound(request(gzip(new byte[MAX_CONTENT_LENGTH + 1])));
+
+        assertNull(channel.readInbound());
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void rejectsInflationAboveRatio() throws IOException {
+        EmbeddedChannel channel = channel();
+        // zeros inflate about 1000 times
+        channel.writeInbound(request(gzip(new byte[256 * 1024])));
+
+        assertNull(channel.readInbound());
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void rejectionWaitsForPipelinedResponses() throws IOException {
+        EmbeddedChannel channel = channel();
+        FullHttpRequest first = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first");
+        channel.writeInbound(first);
+        FullHttpRequest read = channel.readInbound();
+        // in flight, like the DispatcherHandler does
+        OrderedResponseQueue queue = OrderedResponseQueue.get(channel.pipeline().context(HttpObjectAggregator.class));
+        HttpExchange exchange = queue.newExchange(read);
+
+        channel.writeInbound(request(gzip(new byte[256 * 1024])));
+        assertNull("413 waits for the first response", channel.readOutbound());
+        assertTrue(channel.isOpen());
+
+        queue.write(exchange, new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK), false);
+        assertEquals(HttpResponseStatus.OK, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, ((FullHttpResponse) channel.readOutbound()).status());
+        assertFalse(channel.isOpen());
+        read.release();
+    }
+
+    @Test
+    public void passesIdentityBody() {
+        EmbeddedChannel channel = channel();
+        FullHttpRequest sent = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/",
+                Unpooled.copiedBuffer("plain", CharsetUtil.UTF_8));
+        HttpUtil.setContentLength(sent, 5);
+        channel.writeInbound(sent);
+
+        FullHttpRequest request = channel.readInbound();
+        assertEquals("plain", request.content().toString(CharsetUtil.UTF_8));
+        request.release();
+    }
+
+    private static EmbeddedChannel channel() {
+        return new EmbeddedChannel(new RequestDecompressor(MAX_CONTENT_LENGTH, 100),
+                new HttpObjectAggregator(MAX_CONTENT_LENGTH));
+    }
+
+    private static FullHttpRequest request(byte[] body) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/ingest",
+                Unpooled.wrappedBuffer(body));
+        request.headers().set(HttpHeaderNames.CONTENT_ENCODING, HttpHeaderValues.GZIP);
+        HttpUtil.setContentLength(request, body.length);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data);
+        gzip.close();
+        return out.toByteArray();
+    }
+}
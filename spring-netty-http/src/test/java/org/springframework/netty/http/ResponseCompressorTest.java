@@ -0,0 +1,193 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ResponseCompressorTest {
+
+    private static final String BODY = repeat("{\"name\":\"netty\",\"value\":42},", 200);
+
+    private final ResponseCompressor compressor = new ResponseCompressor();
+
+    @Test
+    public void negotiate() {
+        assertEquals("gzip", ResponseCompressor.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", ResponseCompressor.negotiate("gzip;q=0.5, deflate"));
+        assertEquals("gzip", ResponseCompressor.negotiate("*"));
+        assertEquals("deflate", ResponseCompressor.negotiate("gzip;q=0, *;q=0.3"));
+        assertNull(ResponseCompressor.negotiate("br, identity"));
+        assertNull(ResponseCompressor.negotiate(null));
+    }
+
+    @Test
+    public void gzip() throws IOException {
+        FullHttpResponse response = response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json");
+        assertEquals("gzip", compressor.selectEncoding(request("gzip, deflate"), response, null));
+
+        FullHttpResponse compressed = compressor.compress(response, "gzip", UnpooledByteBufAllocator.DEFAULT);
+        assertEquals(0, response.refCnt());
+        assertEquals("gzip", compressed.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+        assertEquals("Accept-Encoding", compressed.headers().get(HttpHeaderNames.VARY));
+        assertEquals(compressed.content().readableBytes(), compressed.headers().getInt(HttpHeaderNames.CONTENT_LENGTH).intValue());
+        assertEquals(BODY, read(new GZIPInputStream(new ByteBufInputStream(compressed.content(), true))));
+        assertEquals(1, compressor.getCompressedCount());
+        assertEquals(BODY.length() - compressor.getBytesOut(), compressor.getBytesSaved());
+    }
+
+    @Test
+    public void deflateDirectBuffer() throws IOException {
+        ByteBuf content = Unpooled.directBuffer().writeBytes(BODY.getBytes(CharsetUtil.UTF_8));
+        FullHttpResponse compressed = compressor.compress(response(content, "text/plain"), "deflate",
+                UnpooledByteBufAllocator.DEFAULT);
+        assertEquals("deflate", compressed.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+        assertEquals(BODY, read(new InflaterInputStream(new ByteBufInputStream(compressed.content(), true))));
+    }
+
+    @Test
+    public void skipped() {
+        HttpRequest request = request("gzip");
+        assertNull("below threshold", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer("{}", CharsetUtil.UTF_8), "application/json"), null));
+        assertNull("compressed type", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "image/png"), null));
+        assertNull("disabled route", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json"), new UncompressedHandler()));
+
+        FullHttpResponse identity = response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json");
+        identity.headers().set(HttpHeaderNames.CONTENT_ENCODING, HttpHeaderValues.IDENTITY);
+        assertNull("encoded by the handler", compressor.selectEncoding(request, identity, null));
+    }
+
+    @Test
+    public void enabledPerHandlerMethod() throws Exception {
+        HttpRequest request = request("gzip");
+        ReportController controller = new ReportController();
+        assertEquals("gzip", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json"), handlerMethod(controller, "report")));
+        assertNull("disabled method", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json"), handlerMethod(controller, "export")));
+
+        UncompressedController uncompressed = new UncompressedController();
+        assertNull("disabled bean", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json"), handlerMethod(uncompressed, "list")));
+        assertEquals("enabled method of a disabled bean", "gzip", compressor.selectEncoding(request,
+                response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json"), handlerMethod(uncompressed, "report")));
+    }
+
+    @Test
+    public void incompressibleKeptAsIs() {
+        byte[] random = new byte[4096];
+        new Random(1).nextBytes(random);
+        FullHttpResponse response = response(Unpooled.wrappedBuffer(random), "application/json");
+        assertSame(response, compressor.compress(response, "gzip", UnpooledByteBufAllocator.DEFAULT));
+        assertNull(response.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+        assertEquals(0, compressor.getCompressedCount());
+    }
+
+    @Test
+    public void deflatersArePooledAcrossThreads() throws Exception {
+        compressor.setMaxPooledCompressors(1);
+        for (int i = 0; i < 4; i++) {
+            // a new thread per response, like a virtual thread executor
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    FullHttpResponse response = response(Unpooled.copiedBuffer(BODY, CharsetUtil.UTF_8), "application/json");
+                    compressor.compress(response, "gzip", UnpooledByteBufAllocator.DEFAULT).release();
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+        assertEquals(4, compressor.getCompressedCount());
+        assertEquals(1, compressor.getPooledCompressorCount());
+    }
+
+    @ResponseCompression(false)
+    private static class UncompressedHandler {
+    }
+
+    public static class ReportController {
+
+        public String report() {
+            return BODY;
+        }
+
+        @ResponseCompression(false)
+        public String export() {
+            return BODY;
+        }
+    }
+
+    @ResponseCompression(false)
+    public static class UncompressedController {
+
+        public String list() {
+            return BODY;
+        }
+
+        @ResponseCompression
+        public String report() {
+            return BODY;
+        }
+    }
+
+    private static HandlerMethod handlerMethod(Object bean, String name) throws NoSuchMethodException {
+        return new HandlerMethod(bean, bean.getClass().getMethod(name), new String[]{"/" + name},
+                new RequestMethod[0], Collections.<MediaType>emptyList(), Collections.<MediaType>emptyList());
+    }
+
+    private static HttpRequest request(String acceptEncoding) {
+        HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private static FullHttpResponse response(ByteBuf content, String contentType) {
+        FullHttpResponse response = new HttpResponseImpl(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+        return response;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, n);
+        }
+        in.close();
+        return new String(out.toByteArray(), CharsetUtil.UTF_8);
+    }
+
+    private static String repeat(String s, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+}
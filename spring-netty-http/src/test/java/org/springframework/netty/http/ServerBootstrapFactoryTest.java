@@ -0,0 +1,29 @@
+package org.springframework.netty.http;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.MultithreadEventLoopGroup;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ServerBootstrapFactoryTest {
+
+    @Test
+    public void nioKeepsSingleBossThread() {
+        ServerBootstrapFactory factory = new ServerBootstrapFactory();
+        factory.setTransport(ServerBootstrapFactory.TRANSPORT_NIO);
+        factory.setAcceptorCount(4);
+        try {
+            ServerBootstrap bootstrap = factory.newServerBootstrap(1);
+            assertEquals(ServerBootstrapFactory.TRANSPORT_NIO, factory.getSelectedTransport());
+            assertEquals(1, ((MultithreadEventLoopGroup) bootstrap.config().group()).executorCount());
+        } finally {
+            factory.shutdown();
+        }
+    }
+}
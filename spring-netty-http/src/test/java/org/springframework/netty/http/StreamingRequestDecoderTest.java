@@ -0,0 +1,229 @@
+package org.springframework.netty.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.handler.StreamingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StreamingRequestDecoderTest {
+
+    private final List<Runnable> tasks = new ArrayList<Runnable>();
+
+    private final Executor queueingExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+    };
+
+    private final ExecutorService queueingExecutorService = new AbstractExecutorService() {
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    };
+
+    private final Executor directExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void streamsBodyAndPassesOtherRequestsThrough() {
+        CountingHandler handler = new CountingHandler(-1);
+        EmbeddedChannel channel = newChannel(handler, directExecutor);
+
+        HttpRequest other = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/other");
+        channel.writeInbound(other);
+        assertSame(other, channel.readInbound());
+
+        channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/a?x=1"));
+        ByteBuf chunk = Unpooled.copiedBuffer("12345", CharsetUtil.US_ASCII);
+        channel.writeInbound(new DefaultHttpContent(chunk));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("678", CharsetUtil.US_ASCII)));
+        assertNull(channel.readInbound());
+        assertEquals(0, chunk.refCnt());
+
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertEquals("8", response.content().toString(CharsetUtil.US_ASCII));
+        response.release();
+    }
+
+    @Test
+    public void rejectsBodyOverMaxContentLength() {
+        CountingHandler handler = new CountingHandler(4);
+        EmbeddedChannel channel = newChannel(handler, directExecutor);
+
+        channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/a"));
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("12345", CharsetUtil.US_ASCII)));
+
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+        assertNotNull(handler.error);
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void stopsReadingWhileHandlerFallsBehind() {
+        CountingHandler handler = new CountingHandler(-1);
+        StreamingHandlerMapping mapping = new StreamingHandlerMapping();
+        mapping.registerHandler("/upload/*", handler);
+        StreamingRequestDecoder decoder = new StreamingRequestDecoder(mapping, queueingExecutor);
+        decoder.setHighWaterMark(8);
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
+
+        channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/a"));
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("12345", CharsetUtil.US_ASCII)));
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("67890", CharsetUtil.US_ASCII)));
+        assertFalse(channel.config().isAutoRead());
+
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(10, handler.received);
+    }
+
+    @Test
+    public void continueWaitsForEarlierResponses() {
+        EmbeddedChannel channel = newChannel(new CountingHandler(-1), queueingExecutor);
+        OrderedResponseQueue queue = OrderedResponseQueue.get(channel.pipeline().firstContext());
+        HttpExchange earlier = queue.newExchange(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"));
+
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/a");
+        HttpUtil.set100ContinueExpected(request, true);
+        channel.writeInbound(request);
+        assertNull(channel.readOutbound());
+
+        queue.write(earlier, new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK), false);
+        assertEquals(HttpResponseStatus.OK, ((FullHttpResponse) channel.readOutbound()).status());
+        assertEquals(HttpResponseStatus.CONTINUE, ((FullHttpResponse) channel.readOutbound()).status());
+    }
+
+    @Test
+    public void streamedRequestsAreAdmittedLikeDispatches() {
+        DispatcherHandler dispatcherHandler = new DispatcherHandler(queueingExecutorService);
+        LoadShedder loadShedder = new LoadShedder();
+        loadShedder.setMaxQueueDepth(1);
+        dispatcherHandler.setLoadShedder(loadShedder);
+        StreamingHandlerMapping mapping = new StreamingHandlerMapping();
+        mapping.registerHandler("/upload/*", new CountingHandler(-1));
+        EmbeddedChannel channel = new EmbeddedChannel(new StreamingRequestDecoder(mapping, dispatcherHandler));
+        EmbeddedChannel other = new EmbeddedChannel(new StreamingRequestDecoder(mapping, dispatcherHandler));
+
+        channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/a"));
+        assertEquals(1, dispatcherHandler.getActiveDispatchCount());
+        assertEquals(1, loadShedder.getQueueDepth());
+
+        // the queue is full
+        other.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload/b"));
+        FullHttpResponse shed = other.readOutbound();
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, shed.status());
+        shed.release();
+        assertEquals(1, dispatcherHandler.getActiveDispatchCount());
+
+        tasks.remove(0).run();
+        assertEquals(0, loadShedder.getQueueDepth());
+        // still counted while the body is uploaded
+        assertEquals(1, dispatcherHandler.getActiveDispatchCount());
+
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("123", CharsetUtil.US_ASCII)));
+        tasks.remove(0).run();
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        response.release();
+        assertEquals(0, dispatcherHandler.getActiveDispatchCount());
+    }
+
+    private static EmbeddedChannel newChannel(StreamingHttpRequestHandler handler, Executor executor) {
+        StreamingHandlerMapping mapping = new StreamingHandlerMapping();
+        mapping.registerHandler("/upload/*", handler);
+        return new EmbeddedChannel(new StreamingRequestDecoder(mapping, executor));
+    }
+
+
+    private static class CountingHandler implements StreamingHttpRequestHandler {
+
+        private final long maxContentLength;
+
+        private long received;
+
+        private Throwable error;
+
+        CountingHandler(long maxContentLength) {
+            this.maxContentLength = maxContentLength;
+        }
+
+        @Override
+        public StreamingRequestBody handleRequest(ChannelHandlerContext ctx, HttpRequest request) {
+            return new StreamingRequestBody() {
+                @Override
+                public void onContent(ByteBuf content) {
+                    received += content.readableBytes();
+                }
+
+                @Override
+                public FullHttpResponse onComplete(HttpHeaders trailingHeaders) {
+                    return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                            Unpooled.copiedBuffer(String.valueOf(received), CharsetUtil.US_ASCII));
+                }
+
+                @Override
+                public void onError(Throwable cause) {
+                    error = cause;
+                }
+            };
+        }
+
+        @Override
+        public long getMaxContentLength() {
+            return maxContentLength;
+        }
+    }
+}
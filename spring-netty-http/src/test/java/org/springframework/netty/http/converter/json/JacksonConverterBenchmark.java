@@ -0,0 +1,115 @@
+package org.springframework.netty.http.converter.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.netty.http.HttpResponseImpl;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing into a pooled direct buffer against {@code writeValueAsBytes} plus the copy into a
+ * direct buffer at the socket, and parsing the backing array against a {@link ByteBufInputStream}.
+ * <p>Run with {@code main} from the test classpath, the GC profiler reports the allocation per
+ * operation as {@code gc.alloc.rate.norm}.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonConverterBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    private int payloadSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    private List<Map<String, Object>> payload;
+
+    private byte[] json;
+
+    private JavaType javaType;
+
+    @Setup
+    public void setup() throws Exception {
+        payload = new ArrayList<Map<String, Object>>();
+        int size = 2;
+        for (int i = 0; size < payloadSize; i++) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            item.put("price", i * 0.25);
+            item.put("available", i % 2 == 0);
+            payload.add(item);
+            size += objectMapper.writeValueAsBytes(item).length + 1;
+        }
+        json = objectMapper.writeValueAsBytes(payload);
+        javaType = objectMapper.getTypeFactory().constructType(List.class);
+    }
+
+    @Benchmark
+    public int writeValueAsBytes() throws Exception {
+        ByteBuf heap = Unpooled.wrappedBuffer(objectMapper.writeValueAsBytes(payload));
+        // the copy the transport makes of a heap buffer
+        ByteBuf direct = PooledByteBufAllocator.DEFAULT.directBuffer(heap.readableBytes());
+        direct.writeBytes(heap);
+        int written = direct.readableBytes();
+        direct.release();
+        return written;
+    }
+
+    @Benchmark
+    public int pooledDirect() throws Exception {
+        HttpResponseImpl response = new HttpResponseImpl();
+        converter.writeInternal(payload, null, response);
+        int written = response.content().readableBytes();
+        response.release();
+        return written;
+    }
+
+    @Benchmark
+    public Object readStream() throws Exception {
+        return objectMapper.readValue((InputStream) new ByteBufInputStream(Unpooled.wrappedBuffer(json)), javaType);
+    }
+
+    @Benchmark
+    public Object readArray() throws Exception {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/",
+                Unpooled.wrappedBuffer(json));
+        return converter.read((Type) List.class, null, request);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JacksonConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,63 @@
+package org.springframework.netty.http.converter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.HttpResponseImpl;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MappingJackson2HttpMessageConverterTest {
+
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(new ObjectMapper());
+
+    @Test
+    public void writesIntoPooledDirectBuffer() throws Exception {
+        HttpResponseImpl response = new HttpResponseImpl();
+        converter.write(Collections.singletonMap("name", "netty"), MediaType.APPLICATION_JSON, response);
+
+        ByteBuf body = response.getBody();
+        assertTrue(body.isDirect());
+        assertEquals("{\"name\":\"netty\"}", body.toString(CharsetUtil.UTF_8));
+        response.release();
+    }
+
+    @Test
+    public void readsHeapAndCompositeBuffers() throws Exception {
+        byte[] json = "{\"name\":\"netty\"}".getBytes(CharsetUtil.UTF_8);
+        ByteBuf heap = Unpooled.buffer().writeZero(3).writeBytes(json).skipBytes(3);
+        assertEquals("netty", read(heap).get("name"));
+
+        CompositeByteBuf composite = Unpooled.compositeBuffer();
+        composite.addComponent(true, Unpooled.directBuffer().writeBytes(json, 0, 5));
+        composite.addComponent(true, Unpooled.directBuffer().writeBytes(json, 5, json.length - 5));
+        assertEquals("netty", read(composite).get("name"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read(ByteBuf content) throws Exception {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/", content);
+        try {
+            return (Map<String, Object>) converter.read((Type) Map.class, null, request);
+        } finally {
+            request.release();
+        }
+    }
+}
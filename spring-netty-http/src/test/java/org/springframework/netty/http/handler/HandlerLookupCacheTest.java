@@ -0,0 +1,66 @@
+package org.springframework.netty.http.handler;
+
+import org.junit.Test;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HandlerLookupCacheTest {
+
+    @Test
+    public void cachesHandlerAndUriTemplateVariables() throws Exception {
+        SimpleUrlHandlerMapping mapping = newMapping(16);
+        HandlerLookupCache cache = mapping.getLookupCache();
+
+        assertEquals("user", mapping.lookupHandler("/user/7", null, new QueryDecoder("/user/7")));
+        QueryDecoder query = new QueryDecoder("/user/7");
+        assertEquals("user", mapping.lookupHandler(query.path(), null, query));
+        assertEquals("7", query.pathVariable("id"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // negative entry
+        assertNull(mapping.lookupHandler("/wp-login.php", null, new QueryDecoder("/wp-login.php")));
+        assertNull(mapping.lookupHandler("/wp-login.php", null, new QueryDecoder("/wp-login.php")));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void evictsOldestEntries() throws Exception {
+        SimpleUrlHandlerMapping mapping = newMapping(2);
+        HandlerLookupCache cache = mapping.getLookupCache();
+        for (int i = 0; i < 5; i++) {
+            lookup(mapping, "/user/" + i);
+        }
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    @Test
+    public void clearedOnRegistration() throws Exception {
+        SimpleUrlHandlerMapping mapping = newMapping(16);
+        assertNull(lookup(mapping, "/order/1").getHandler());
+        mapping.registerHandler("/order/{id}", "order");
+        assertEquals(0, mapping.getLookupCache().size());
+        assertEquals("order", lookup(mapping, "/order/1").getHandler());
+    }
+
+    private static HandlerLookupCache.Entry lookup(SimpleUrlHandlerMapping mapping, String path) throws Exception {
+        mapping.lookupHandler(path, null, new QueryDecoder(path));
+        return mapping.getLookupCache().get(path);
+    }
+
+    private static SimpleUrlHandlerMapping newMapping(int lookupCacheSize) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        mapping.setLookupCacheSize(lookupCacheSize);
+        mapping.registerHandler("/user/{id}", "user");
+        return mapping;
+    }
+}
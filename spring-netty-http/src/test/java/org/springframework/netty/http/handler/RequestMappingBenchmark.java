@@ -0,0 +1,170 @@
+package org.springframework.netty.http.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.netty.http.HttpRestHandler;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+import org.springframework.netty.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.netty.http.mvc.HandlerMethodInvoker;
+import org.springframework.netty.http.mvc.HttpRequestHandlerAdapter;
+import org.springframework.netty.http.mvc.RequestMappingHandlerAdapter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code GET /users/{id}?verbose=true} dispatched to a {@link HttpRestHandler}, which parses the
+ * path variable and parameter itself, against a {@code @GetMapping} method with generated invoker
+ * and argument resolvers; and the generated invoker alone against {@link Method#invoke}.
+ * <p>Run with {@code main} from the test classpath.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMappingBenchmark {
+
+    private FullHttpRequest request;
+
+    private HttpRequestHandlerAdapter restAdapter;
+
+    private UserRestHandler restHandler;
+
+    private RequestMappingHandlerAdapter handlerMethodAdapter;
+
+    private HandlerMethod handlerMethod;
+
+    private UserController controller;
+
+    private Method method;
+
+    private HandlerMethodInvoker invoker;
+
+    private Object[] args;
+
+    @Setup
+    public void setup() throws Exception {
+        List<HttpMessageConverter<?>> converters = Collections.<HttpMessageConverter<?>>singletonList(
+                new MappingJackson2HttpMessageConverter(new ObjectMapper()));
+        restAdapter = new HttpRequestHandlerAdapter(converters);
+        restHandler = new UserRestHandler();
+        handlerMethodAdapter = new RequestMappingHandlerAdapter(converters);
+
+        controller = new UserController();
+        RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+        mapping.registerHandlerMethods(controller);
+
+        request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/users/42?verbose=true",
+                Unpooled.EMPTY_BUFFER);
+        request.headers().set(HttpHeaderNames.ACCEPT, "application/json");
+        HttpExchange exchange = new HttpExchange(request, 1);
+        RequestContextHolder.setExchange(exchange);
+        handlerMethod = (HandlerMethod) mapping.getHandler(null, request).getHandler();
+        // the route lookup is the same for both
+        QueryDecoder query = exchange.getQuery();
+        query.path();
+        query.parameters();
+
+        method = UserController.class.getMethod("get", long.class, boolean.class);
+        invoker = HandlerMethodInvoker.create(method);
+        args = new Object[]{42L, true};
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetExchange();
+    }
+
+    @Benchmark
+    public Object restHandler() throws Exception {
+        Object response = restAdapter.handle(null, request, restHandler);
+        ReferenceCountUtil.release(response);
+        return response;
+    }
+
+    @Benchmark
+    public Object handlerMethod() throws Exception {
+        Object response = handlerMethodAdapter.handle(null, request, handlerMethod);
+        ReferenceCountUtil.release(response);
+        return response;
+    }
+
+    @Benchmark
+    public Object reflectionInvoke() throws Exception {
+        return method.invoke(controller, args);
+    }
+
+    @Benchmark
+    public Object generatedInvoke() throws Exception {
+        return invoker.invoke(controller, args);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(RequestMappingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private static Map<String, Object> user(long id, boolean verbose) {
+        Map<String, Object> user = new LinkedHashMap<String, Object>();
+        user.put("id", id);
+        user.put("verbose", verbose);
+        return user;
+    }
+
+    @RequestMapping("/users")
+    public static class UserController {
+
+        @GetMapping("/{id}")
+        public Map<String, Object> get(@PathVariable("id") long id,
+                                       @RequestParam(value = "verbose", defaultValue = "false") boolean verbose) {
+            return user(id, verbose);
+        }
+    }
+
+    public static class UserRestHandler extends HttpRestHandler<Object> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R get(ChannelHandlerContext ctx, FullHttpRequest request) {
+            QueryDecoder query = RequestContextHolder.getRequestQuery(ctx);
+            String verbose = query.getParameter("verbose");
+            return (R) user(Long.parseLong(query.pathVariable("id")), verbose != null && Boolean.parseBoolean(verbose));
+        }
+
+        @Override
+        public <R> R post(ChannelHandlerContext ctx, FullHttpRequest request, Object inputBody) {
+            return null;
+        }
+    }
+}
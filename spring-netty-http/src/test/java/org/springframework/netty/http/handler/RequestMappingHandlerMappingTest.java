@@ -0,0 +1,279 @@
+package org.springframework.netty.http.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.netty.http.HandlerExecutionChain;
+import org.springframework.netty.http.HttpResponseImpl;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+import org.springframework.netty.http.converter.HttpMessageNotReadableException;
+import org.springframework.netty.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.netty.http.mvc.HandlerMethod;
+import org.springframework.netty.http.mvc.HandlerMethodInvoker;
+import org.springframework.netty.http.mvc.RequestMappingHandlerAdapter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RequestMappingHandlerMappingTest {
+
+    private final UserController controller = new UserController();
+
+    private final RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+
+    private final RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter(
+            Collections.<HttpMessageConverter<?>>singletonList(new MappingJackson2HttpMessageConverter(new ObjectMapper())));
+
+    {
+        assertEquals(5, mapping.registerHandlerMethods(controller));
+    }
+
+    @After
+    public void resetExchange() {
+        RequestContextHolder.resetExchange();
+    }
+
+    @Test
+    public void selectsByRequestMethodAndMediaType() throws Exception {
+        assertEquals("get", handlerMethod(request(HttpMethod.GET, "/users/7", null, null)).getMethod().getName());
+        assertEquals("get", handlerMethod(request(HttpMethod.HEAD, "/users/7", null, null)).getMethod().getName());
+        assertEquals("update", handlerMethod(request(HttpMethod.PUT, "/users/7", "{}", "application/json")).getMethod().getName());
+        // consumes does not match
+        assertEquals("any", handlerMethod(request(HttpMethod.PUT, "/users/7", "a=1", "application/x-www-form-urlencoded")).getMethod().getName());
+        assertEquals("delete", handlerMethod(request(HttpMethod.DELETE, "/users/7", null, null)).getMethod().getName());
+        // declared request methods are selected before the method mapped for all of them
+        assertEquals("any", handlerMethod(request(HttpMethod.PATCH, "/users/7", null, null)).getMethod().getName());
+        assertEquals("list", handlerMethod(request(HttpMethod.GET, "/users", null, null)).getMethod().getName());
+        // no method of the path matches
+        FullHttpResponse response = reject(request(HttpMethod.POST, "/users", null, null));
+        assertEquals(HttpResponseStatus.METHOD_NOT_ALLOWED, response.status());
+        assertEquals("GET, HEAD", response.headers().get(HttpHeaderNames.ALLOW));
+        assertNull(mapping.getHandler(null, request(HttpMethod.GET, "/orders/7", null, null)));
+    }
+
+    @Test
+    public void rejectsByMediaTypeAndHonoursNegation() throws Exception {
+        RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+        mapping.registerHandlerMethods(new NoteController());
+
+        assertEquals("create", ((HandlerMethod) mapping.getHandler(null,
+                request(HttpMethod.POST, "/notes", "{}", "application/json")).getHandler()).getMethod().getName());
+        FullHttpRequest request = request(HttpMethod.POST, "/notes", "a", "text/plain");
+        assertEquals(HttpResponseStatus.UNSUPPORTED_MEDIA_TYPE, reject(mapping, request).status());
+
+        request = request(HttpMethod.GET, "/notes", null, null);
+        request.headers().set(HttpHeaderNames.ACCEPT, "text/html");
+        assertEquals(HttpResponseStatus.NOT_ACCEPTABLE, reject(mapping, request).status());
+        request.headers().set(HttpHeaderNames.ACCEPT, "text/csv");
+        assertEquals("csv", ((HandlerMethod) mapping.getHandler(null, request).getHandler()).getMethod().getName());
+
+        FullHttpResponse response = reject(mapping, request(HttpMethod.PUT, "/notes", null, null));
+        assertEquals(HttpResponseStatus.METHOD_NOT_ALLOWED, response.status());
+        assertEquals(new HashSet<String>(Arrays.asList("POST", "GET", "HEAD")),
+                StringUtils.commaDelimitedListToSet(response.headers().get(HttpHeaderNames.ALLOW).replace(" ", "")));
+    }
+
+    @Test
+    public void resolvesArgumentsAndWritesReturnValue() throws Exception {
+        assertEquals("{\"id\":7,\"verbose\":true}", body(handle(request(HttpMethod.GET, "/users/7?verbose=true", null, null))));
+        assertEquals("{\"id\":8,\"verbose\":false}", body(handle(request(HttpMethod.GET, "/users/8", null, null))));
+        assertEquals("\"7:3\"", body(handle(request(HttpMethod.PUT, "/users/7", "{\"age\":3}", "application/json"))));
+
+        HttpResponseImpl response = handle(request(HttpMethod.DELETE, "/users/7", null, null));
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertEquals(0, response.content().readableBytes());
+        assertEquals(7L, controller.deleted);
+
+        response = handle(request(HttpMethod.GET, "/users?name=a&name=b", null, null));
+        assertEquals(HttpResponseStatus.ACCEPTED, response.status());
+        assertEquals("a,b", response.headers().get("X-Names"));
+        assertEquals("[\"a\",\"b\"]", body(response));
+    }
+
+    @Test(expected = HttpMessageNotReadableException.class)
+    public void missingRequiredBody() throws Exception {
+        handle(request(HttpMethod.PUT, "/users/7", "", "application/json"));
+    }
+
+    @Test
+    public void invokersAreGenerated() throws Exception {
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(UserController.class.getMethod("get", long.class, boolean.class));
+        assertEquals("{id=1, verbose=false}", invoker.invoke(controller, new Object[]{1L, false}).toString());
+        // void methods go through a method handle
+        invoker = HandlerMethodInvoker.create(UserController.class.getMethod("delete", long.class));
+        assertNull(invoker.invoke(controller, new Object[]{9L}));
+        assertEquals(9L, controller.deleted);
+    }
+
+    @Test
+    public void beanOfChildClassLoaderIsInvokedThroughMethodHandle() throws Exception {
+        Class<?> beanClass = new ChildClassLoader(getClass().getClassLoader()).loadClass(IsolatedBean.class.getName());
+        assertNotSame(IsolatedBean.class, beanClass);
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.create(beanClass.getMethod("echo", String.class));
+        assertEquals("echo:a", invoker.invoke(beanClass.newInstance(), new Object[]{"a"}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unsupportedParameterFailsAtRegistration() {
+        mapping.registerHandlerMethods(new Object() {
+            @RequestMapping("/broken")
+            public String broken(List<Thread> threads) {
+                return null;
+            }
+        });
+    }
+
+    private HandlerMethod handlerMethod(FullHttpRequest request) throws Exception {
+        HandlerExecutionChain chain = mapping.getHandler(null, request);
+        return (HandlerMethod) chain.getHandler();
+    }
+
+    private FullHttpResponse reject(FullHttpRequest request) throws Exception {
+        return reject(mapping, request);
+    }
+
+    private static FullHttpResponse reject(RequestMappingHandlerMapping mapping, FullHttpRequest request) throws Exception {
+        HandlerMethod handlerMethod = (HandlerMethod) mapping.getHandler(null, request).getHandler();
+        return (FullHttpResponse) handlerMethod.invoke(new Object[0]);
+    }
+
+    private HttpResponseImpl handle(FullHttpRequest request) throws Exception {
+        RequestContextHolder.setExchange(new HttpExchange(request, 1));
+        return (HttpResponseImpl) adapter.handle(null, request, handlerMethod(request));
+    }
+
+    private static String body(HttpResponseImpl response) {
+        return response.content().toString(CharsetUtil.UTF_8);
+    }
+
+    private static FullHttpRequest request(HttpMethod method, String uri, String body, String contentType) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri,
+                Unpooled.copiedBuffer(body != null ? body : "", CharsetUtil.UTF_8));
+        if (contentType != null) {
+            request.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        }
+        return request;
+    }
+
+    public static class IsolatedBean {
+
+        public String echo(String value) {
+            return "echo:" + value;
+        }
+    }
+
+    /**
+     * Defines {@link IsolatedBean} itself, like a restart class loader, and delegates everything else.
+     */
+    static class ChildClassLoader extends ClassLoader {
+
+        ChildClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(IsolatedBean.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    try {
+                        byte[] bytes = StreamUtils.copyToByteArray(getParent().getResourceAsStream(
+                                ClassUtils.convertClassNameToResourcePath(name) + ClassUtils.CLASS_FILE_SUFFIX));
+                        type = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException ex) {
+                        throw new ClassNotFoundException(name, ex);
+                    }
+                }
+                return type;
+            }
+        }
+    }
+
+    @RequestMapping("/notes")
+    public static class NoteController {
+
+        @PostMapping(consumes = "!text/plain")
+        public String create() {
+            return "created";
+        }
+
+        @GetMapping(produces = "application/json")
+        public String list() {
+            return "[]";
+        }
+
+        @GetMapping(produces = "text/csv")
+        public String csv() {
+            return "";
+        }
+    }
+
+    @RequestMapping("/users")
+    public static class UserController {
+
+        long deleted;
+
+        @GetMapping("/{id}")
+        public Map<String, Object> get(@PathVariable("id") long id,
+                                       @RequestParam(value = "verbose", defaultValue = "false") boolean verbose) {
+            Map<String, Object> user = new LinkedHashMap<String, Object>();
+            user.put("id", id);
+            user.put("verbose", verbose);
+            return user;
+        }
+
+        @PutMapping(value = "/{id}", consumes = "application/json")
+        public String update(@PathVariable("id") Long id, @RequestBody Map<String, Integer> body) {
+            return id + ":" + body.get("age");
+        }
+
+        @DeleteMapping("/{id}")
+        public void delete(@PathVariable("id") long id) {
+            deleted = id;
+        }
+
+        @RequestMapping("/{id}")
+        public String any(QueryDecoder query) {
+            return query.pathVariable("id");
+        }
+
+        @GetMapping
+        public ResponseEntity<List<String>> list(@RequestParam("name") List<String> names) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).header("X-Names",
+                    names.get(0) + "," + names.get(1)).body(names);
+        }
+    }
+}
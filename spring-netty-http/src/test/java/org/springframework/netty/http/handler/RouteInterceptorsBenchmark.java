@@ -0,0 +1,75 @@
+package org.springframework.netty.http.handler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.netty.http.HandlerExecutionChain;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler execution chain with interceptors compiled per route against per-request interceptor matching.
+ * <p>Run with {@code main} from the test classpath.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteInterceptorsBenchmark {
+
+    @Param({"5", "20"})
+    private int interceptors;
+
+    private SimpleUrlHandlerMapping mapping;
+
+    private Object handler;
+
+    private QueryDecoder compiledQuery;
+
+    private QueryDecoder perRequestQuery;
+
+    @Setup
+    public void setup() throws Exception {
+        mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        Object[] mappedInterceptors = new Object[interceptors];
+        for (int i = 0; i < interceptors; i++) {
+            String[] includePatterns = (i % 2 == 0 ? new String[]{"/api/**"} : new String[]{"/module" + i + "/**"});
+            mappedInterceptors[i] = new MappedInterceptor(includePatterns, new String[]{"/api/internal/**"},
+                    new HandlerInterceptorAdapter());
+        }
+        mapping.setInterceptors(mappedInterceptors);
+        mapping.initInterceptors();
+        mapping.registerHandler("/api/user/{id}", "user");
+
+        String path = "/api/user/42";
+        compiledQuery = new QueryDecoder(path);
+        handler = mapping.lookupHandler(path, null, compiledQuery);
+        perRequestQuery = new QueryDecoder(path);
+    }
+
+    @Benchmark
+    public HandlerExecutionChain compiled() {
+        return mapping.getHandlerExecutionChain(handler, null, compiledQuery);
+    }
+
+    @Benchmark
+    public HandlerExecutionChain perRequest() {
+        return mapping.getHandlerExecutionChain(handler, null, perRequestQuery);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(RouteInterceptorsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
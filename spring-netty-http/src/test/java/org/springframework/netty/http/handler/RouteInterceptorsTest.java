@@ -0,0 +1,88 @@
+package org.springframework.netty.http.handler;
+
+import org.junit.Test;
+import org.springframework.netty.http.HandlerExecutionChain;
+import org.springframework.netty.http.HandlerInterceptor;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RouteInterceptorsTest {
+
+    private static final String[] PATTERNS = {
+            "/api/user/{id}", "/api/order/**", "/admin/{page}", "/static/*.js", "/health", "/{version}/info"
+    };
+
+    private static final String[] PATHS = {
+            "/api/user/1", "/api/order", "/api/order/1/items", "/admin/users", "/static/app.js",
+            "/health", "/v1/info", "/api/info"
+    };
+
+    @Test
+    public void sameInterceptorsAsPerRequestMatching() throws Exception {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        mapping.setInterceptors(
+                new NamedInterceptor("global"),
+                new MappedInterceptor(new String[]{"/api/**"}, new NamedInterceptor("api")),
+                new MappedInterceptor(new String[]{"/**"}, new String[]{"/admin/**"}, new NamedInterceptor("notAdmin")),
+                new MappedInterceptor(new String[]{"/*/info"}, new NamedInterceptor("info")),
+                new MappedInterceptor(new String[]{"/health"}, new NamedInterceptor("health")));
+        mapping.initInterceptors();
+        for (String pattern : PATTERNS) {
+            mapping.registerHandler(pattern, pattern);
+        }
+
+        for (String path : PATHS) {
+            QueryDecoder query = new QueryDecoder(path);
+            Object handler = mapping.lookupHandler(path, null, query);
+            assertNotNull(path, query.getBestMatchingPattern());
+            HandlerExecutionChain compiled = mapping.getHandlerExecutionChain(handler, null, query);
+
+            query.setBestMatchingPattern(null);
+            HandlerExecutionChain perRequest = mapping.getHandlerExecutionChain(handler, null, query);
+            assertEquals(path, Arrays.toString(perRequest.getInterceptors()), Arrays.toString(compiled.getInterceptors()));
+        }
+    }
+
+    @Test
+    public void sharesDecidedInterceptors() throws Exception {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        mapping.setInterceptors(new MappedInterceptor(new String[]{"/api/**"}, new NamedInterceptor("api")));
+        mapping.initInterceptors();
+        mapping.registerHandler("/api/user/{id}", "user");
+
+        HandlerInterceptor[] first = chain(mapping, "/api/user/1").getInterceptors();
+        HandlerInterceptor[] second = chain(mapping, "/api/user/2").getInterceptors();
+        assertEquals(1, first.length);
+        assertSame(first, second);
+    }
+
+    private static HandlerExecutionChain chain(SimpleUrlHandlerMapping mapping, String path) throws Exception {
+        QueryDecoder query = new QueryDecoder(path);
+        return mapping.getHandlerExecutionChain(mapping.lookupHandler(path, null, query), null, query);
+    }
+
+
+    private static class NamedInterceptor extends HandlerInterceptorAdapter {
+
+        private final String name;
+
+        NamedInterceptor(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.springframework.netty.http.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.netty.http.OrderedResponseQueue;
+import org.springframework.netty.http.codec.QueryDecoder;
+import org.springframework.netty.http.context.HttpExchange;
+import org.springframework.netty.http.context.RequestContextHolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StaticResourceHandlerTest {
+
+    private File directory;
+
+    private StaticResourceHandler handler;
+
+    private EmbeddedChannel channel;
+
+    private ChannelHandlerContext ctx;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("static").toFile();
+        try (FileOutputStream out = new FileOutputStream(new File(directory, "hello.txt"))) {
+            out.write("hello static world".getBytes(StandardCharsets.US_ASCII));
+        }
+        handler = new StaticResourceHandler(directory);
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ctx = channel.pipeline().firstContext();
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetExchange();
+        channel.finishAndReleaseAll();
+        new File(directory, "hello.txt").delete();
+        directory.delete();
+    }
+
+    @Test
+    public void servesFileRegion() throws Exception {
+        handle(request("/static/hello.txt"));
+        HttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertEquals("18", response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+        assertEquals("text/plain; charset=UTF-8", response.headers().get(HttpHeaderNames.CONTENT_TYPE));
+        FileRegion region = channel.readOutbound();
+        assertEquals(0, region.position());
+        assertEquals(18, region.count());
+        region.release();
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, channel.readOutbound());
+    }
+
+    @Test
+    public void servesRange() throws Exception {
+        FullHttpRequest request = request("/static/hello.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=6-11");
+        handle(request);
+        HttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.PARTIAL_CONTENT, response.status());
+        assertEquals("bytes 6-11/18", response.headers().get(HttpHeaderNames.CONTENT_RANGE));
+        FileRegion region = channel.readOutbound();
+        assertEquals(6, region.position());
+        assertEquals(6, region.count());
+        region.release();
+    }
+
+    @Test
+    public void notModifiedForMatchingETag() throws Exception {
+        handle(request("/static/hello.txt"));
+        HttpResponse response = channel.readOutbound();
+        String eTag = response.headers().get(HttpHeaderNames.ETAG);
+        ReferenceCountUtil.release(channel.readOutbound());
+        channel.readOutbound();
+
+        FullHttpRequest request = request("/static/hello.txt");
+        request.headers().set(HttpHeaderNames.IF_NONE_MATCH, eTag);
+        handle(request);
+        FullHttpResponse notModified = channel.readOutbound();
+        assertEquals(HttpResponseStatus.NOT_MODIFIED, notModified.status());
+        notModified.release();
+    }
+
+    @Test
+    public void rejectsPathOutsideBaseDirectory() throws Exception {
+        handle(request("/static/../../etc/passwd"));
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.NOT_FOUND, response.status());
+        response.release();
+    }
+
+    @Test
+    public void parsesRanges() {
+        assertArrayEquals(new long[]{0, 9}, StaticResourceHandler.parseRange("bytes=0-", 10));
+        assertArrayEquals(new long[]{7, 9}, StaticResourceHandler.parseRange("bytes=-3", 10));
+        assertArrayEquals(new long[]{2, 9}, StaticResourceHandler.parseRange("bytes=2-100", 10));
+        assertNull(StaticResourceHandler.parseRange("bytes=10-", 10));
+        assertEquals(0, StaticResourceHandler.parseRange("bytes=0-1,4-5", 10).length);
+    }
+
+    private void handle(FullHttpRequest request) throws Exception {
+        HttpExchange exchange = OrderedResponseQueue.get(ctx).newExchange(request);
+        QueryDecoder query = new QueryDecoder(request.uri());
+        query.setBestMatchingPattern("/static/**");
+        exchange.setQuery(query);
+        RequestContextHolder.setExchange(exchange);
+        assertNull(handler.handleRequest(ctx, request, null));
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+}
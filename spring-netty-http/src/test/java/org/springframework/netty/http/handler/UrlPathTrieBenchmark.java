@@ -0,0 +1,88 @@
+package org.springframework.netty.http.handler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern lookup with the segment trie against the linear pattern scan.
+ * <p>Run with {@code main} from the test classpath.
+ *
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlPathTrieBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int routes;
+
+    private SimpleUrlHandlerMapping trie;
+
+    private SimpleUrlHandlerMapping scan;
+
+    private String[] paths;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        trie = newMapping(true);
+        scan = newMapping(false);
+        int prefixes = routes / 4;
+        paths = new String[]{
+                "/api" + (prefixes / 2) + "/user/42",
+                "/api" + (prefixes - 1) + "/order/7/item/3",
+                "/api0/static/app.js",
+                "/api" + (prefixes / 3) + "/missing/path"
+        };
+    }
+
+    @Benchmark
+    public Object trie() throws Exception {
+        String path = nextPath();
+        return trie.lookupHandler(path, null, new QueryDecoder(path));
+    }
+
+    @Benchmark
+    public Object patternScan() throws Exception {
+        String path = nextPath();
+        return scan.lookupHandlerByPatternScan(path, new QueryDecoder(path));
+    }
+
+    private String nextPath() {
+        return paths[(index++ & Integer.MAX_VALUE) % paths.length];
+    }
+
+    private SimpleUrlHandlerMapping newMapping(boolean usePathTrie) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        mapping.setUsePathTrie(usePathTrie);
+        // four patterns per prefix
+        for (int i = 0; i < routes / 4; i++) {
+            String prefix = "/api" + i;
+            mapping.registerHandler(prefix + "/user/{id}", "user");
+            mapping.registerHandler(prefix + "/order/{orderId}/item/{itemId}", "item");
+            mapping.registerHandler(prefix + "/static/*.js", "static");
+            mapping.registerHandler(prefix + "/files/**", "files");
+        }
+        return mapping;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(UrlPathTrieBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
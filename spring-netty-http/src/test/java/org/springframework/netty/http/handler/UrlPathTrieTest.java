@@ -0,0 +1,115 @@
+package org.springframework.netty.http.handler;
+
+import org.junit.Test;
+import org.springframework.netty.http.codec.QueryDecoder;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UrlPathTrieTest {
+
+    private static final String[] PATTERNS = {
+            "/user/{id}", "/user/{id}/profile", "/user/list", "/user/*/settings", "/user/{id:\\d+}/orders",
+            "/files/**", "/files/{name}.{ext}", "/static/*.js", "/a/b/c", "/a/{x}/c", "/a/*/*", "/a/**/d",
+            "/order/{orderId}/item/{itemId}", "/order/?", "/**/health", "/report/", "/report/{year}/"
+    };
+
+    private static final String[] PATHS = {
+            "/user/10", "/user/10/", "/user/10/profile", "/user/list", "/user/list/", "/user/10/settings",
+            "/user/10/orders", "/user/abc/orders", "/files", "/files/", "/files/a/b", "/files/readme.txt",
+            "/static/app.js", "/static/app.css", "/a/b/c", "/a/x/c", "/a/x/y", "/a/x/y/z/d", "/a/",
+            "/order/1/item/2", "/order/1", "/order/12", "/x/y/health", "/report", "/report/", "/report/2020",
+            "/report/2020/", "/unknown", "/", "//user//10"
+    };
+
+    @Test
+    public void matchesLikePatternScan() throws Exception {
+        for (boolean trailingSlashMatch : new boolean[]{false, true}) {
+            SimpleUrlHandlerMapping trie = newMapping(true, trailingSlashMatch);
+            SimpleUrlHandlerMapping scan = newMapping(false, trailingSlashMatch);
+            for (String path : PATHS) {
+                QueryDecoder trieQuery = new QueryDecoder(path);
+                QueryDecoder scanQuery = new QueryDecoder(path);
+                Object expected = scan.lookupHandlerByPatternScan(path, scanQuery);
+                Object actual = trie.lookupHandler(path, null, trieQuery);
+                String message = path + " (trailingSlashMatch=" + trailingSlashMatch + ")";
+                assertEquals(message, expected, actual);
+                assertEquals(message, variables(scanQuery), variables(trieQuery));
+            }
+        }
+    }
+
+    @Test
+    public void registeredTrailingSlashPatternRanksAboveVariant() throws Exception {
+        String[][] registrationOrders = {{"/{x}/", "/{y}"}, {"/{y}", "/{x}/"}};
+        for (String[] patterns : registrationOrders) {
+            for (boolean usePathTrie : new boolean[]{false, true}) {
+                SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+                mapping.setLazyInitHandlers(true);
+                mapping.setUsePathTrie(usePathTrie);
+                mapping.setUseTrailingSlashMatch(true);
+                for (String pattern : patterns) {
+                    mapping.registerHandler(pattern, pattern);
+                }
+                QueryDecoder query = new QueryDecoder("/1/");
+                Object handler = (usePathTrie ? mapping.lookupHandler("/1/", null, query) :
+                        mapping.lookupHandlerByPatternScan("/1/", query));
+                String message = patterns[0] + " first (usePathTrie=" + usePathTrie + ")";
+                assertEquals(message, "/{x}/", handler);
+                assertEquals(message, "/{x}/", query.getBestMatchingPattern());
+                assertEquals(message, Collections.singletonMap("x", "1"), variables(query));
+
+                query = new QueryDecoder("/1");
+                handler = (usePathTrie ? mapping.lookupHandler("/1", null, query) :
+                        mapping.lookupHandlerByPatternScan("/1", query));
+                assertEquals(message, "/{y}", handler);
+            }
+        }
+    }
+
+    @Test
+    public void bindsUriTemplateVariables() throws Exception {
+        SimpleUrlHandlerMapping mapping = newMapping(true, false);
+        QueryDecoder query = new QueryDecoder("/order/7/item/42");
+        assertEquals("/order/{orderId}/item/{itemId}", mapping.lookupHandler(query.path(), null, query));
+        assertEquals("7", query.pathVariable("orderId"));
+        assertEquals("42", query.pathVariable("itemId"));
+
+        query = new QueryDecoder("/files/readme.txt");
+        assertEquals("/files/{name}.{ext}", mapping.lookupHandler(query.path(), null, query));
+        assertEquals("readme", query.pathVariable("name"));
+        assertEquals("txt", query.pathVariable("ext"));
+    }
+
+    @Test
+    public void rebuildsAfterRegistration() throws Exception {
+        SimpleUrlHandlerMapping mapping = newMapping(true, false);
+        assertNull(mapping.lookupHandler("/new/1", null, new QueryDecoder("/new/1")));
+        mapping.registerHandler("/new/{id}", "/new/{id}");
+        assertEquals("/new/{id}", mapping.lookupHandler("/new/1", null, new QueryDecoder("/new/1")));
+    }
+
+    private static SimpleUrlHandlerMapping newMapping(boolean usePathTrie, boolean trailingSlashMatch) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setLazyInitHandlers(true);
+        mapping.setUsePathTrie(usePathTrie);
+        mapping.setUseTrailingSlashMatch(trailingSlashMatch);
+        for (String pattern : PATTERNS) {
+            // the pattern itself is the handler, so mismatches are easy to read
+            mapping.registerHandler(pattern, pattern);
+        }
+        return mapping;
+    }
+
+    private static Map<String, String> variables(QueryDecoder query) {
+        Map<String, String> variables = query.pathVariable();
+        return (variables != null ? variables : Collections.<String, String>emptyMap());
+    }
+}
@@ -0,0 +1,113 @@
+package org.springframework.netty.http.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.HttpRequestHandler;
+import org.springframework.netty.http.HttpResponseImpl;
+import org.springframework.netty.http.converter.FormHttpMessageConverter;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+import org.springframework.netty.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HandlerMetadataRegistryTest {
+
+    private static final MediaType ECHO_JSON = MediaType.parseMediaType("application/x-echo+json");
+
+    private final MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter(new ObjectMapper());
+
+    private final List<HttpMessageConverter<?>> converters = Arrays.<HttpMessageConverter<?>>asList(
+            jsonConverter, new FormHttpMessageConverter());
+
+    @Test
+    public void resolvedAtStartup() {
+        EchoHandler handler = new EchoHandler();
+        HandlerMetadataRegistry registry = new HandlerMetadataRegistry(Arrays.asList(handler, new Object()), converters);
+        assertEquals(1, registry.size());
+
+        HandlerMetadata metadata = registry.getMetadata(handler);
+        assertSame(metadata, registry.getMetadata(new EchoHandler()));
+        assertEquals(Map.class, metadata.getInputClass());
+        assertEquals("java.util.Map<java.lang.String, java.lang.String>", metadata.getInputType().toString());
+        assertSame(jsonConverter, metadata.getPreferredConverter());
+        assertEquals(String.class, metadata.getJavaType().getContentType().getRawClass());
+        assertEquals(Collections.singletonList(MediaType.APPLICATION_JSON), metadata.getConsumes());
+        assertEquals(Collections.singletonList(ECHO_JSON), metadata.getProduces());
+
+        assertTrue(metadata.isPreferredFor(MediaType.parseMediaType("application/json;charset=UTF-8")));
+        assertFalse(metadata.isPreferredFor(MediaType.APPLICATION_FORM_URLENCODED));
+        assertFalse(metadata.isPreferredFor(null));
+    }
+
+    @Test
+    public void resolvedThroughSubclass() {
+        HandlerMetadataRegistry registry = new HandlerMetadataRegistry(Collections.emptyList(), converters);
+        HandlerMetadata metadata = registry.getMetadata(new EchoHandler() {
+        });
+        assertEquals(Map.class, metadata.getInputClass());
+        assertEquals(Collections.singletonList(ECHO_JSON), metadata.getProduces());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void adapterReadsWithPreferredConverterAndProduces() throws Exception {
+        EchoHandler handler = new EchoHandler();
+        HttpRequestHandlerAdapter adapter = new HttpRequestHandlerAdapter();
+        adapter.setHandlerMetadataRegistry(new HandlerMetadataRegistry(Collections.singletonList(handler), converters));
+        adapter.setMessageConverters(converters);
+
+        FullHttpRequest request = request("{\"n\":1}", "application/json");
+        HttpResponseImpl response = (HttpResponseImpl) adapter.handle(null, request, handler);
+        // the declared value type, not the Integer of a raw Map
+        assertEquals("\"1\"", response.content().toString(CharsetUtil.UTF_8));
+        assertTrue(response.headers().get(HttpHeaderNames.CONTENT_TYPE).startsWith("application/x-echo+json"));
+        response.release();
+        request.release();
+
+        // not the preferred converter, read by the converter scan
+        request = request("n=2", "application/x-www-form-urlencoded");
+        response = (HttpResponseImpl) adapter.handle(null, request, handler);
+        assertEquals("\"2\"", response.content().toString(CharsetUtil.UTF_8));
+        response.release();
+        request.release();
+    }
+
+    private static FullHttpRequest request(String body, String contentType) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/echo",
+                Unpooled.copiedBuffer(body, CharsetUtil.UTF_8));
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        request.headers().set(HttpHeaderNames.ACCEPT, "*/*");
+        return request;
+    }
+
+    @RequestMapping(value = "/echo", consumes = "application/json", produces = "application/x-echo+json")
+    static class EchoHandler implements HttpRequestHandler<Map<String, String>> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R handleRequest(ChannelHandlerContext ctx, FullHttpRequest request, Map<String, String> inputBody) {
+            Object n = inputBody.get("n");
+            return (R) (n instanceof String ? n : "not a string: " + n);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.springframework.netty.http.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.netty.http.HttpResponseImpl;
+import org.springframework.netty.http.converter.HttpMessageConverter;
+import org.springframework.netty.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MessageConverterMethodProcessorTest {
+
+    private final CountingConverter converter = new CountingConverter();
+
+    private final MessageConverterMethodProcessor processor = new MessageConverterMethodProcessor(
+            Collections.<HttpMessageConverter<?>>singletonList(converter));
+
+    @Test
+    public void readConverterResolvedOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            FullHttpRequest request = request("{\"n\":" + i + "}");
+            request.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json");
+            Map<?, ?> body = (Map<?, ?>) processor.readWithMessageConverters(null, request, Map.class);
+            assertEquals(i, body.get("n"));
+            request.release();
+        }
+        assertEquals(1, converter.canReadCount);
+    }
+
+    @Test
+    public void writeSelectionResolvedOnce() throws Exception {
+        String first = null;
+        for (int i = 0; i < 3; i++) {
+            FullHttpRequest request = request("");
+            request.headers().set(HttpHeaderNames.ACCEPT, "application/json, */*;q=0.5");
+            HttpResponseImpl response = new HttpResponseImpl();
+            processor.writeWithMessageConverters(Collections.singletonMap("n", i), request, response);
+            assertEquals("{\"n\":" + i + "}", response.content().toString(CharsetUtil.UTF_8));
+            String contentType = response.headers().get(HttpHeaderNames.CONTENT_TYPE);
+            if (first == null) {
+                first = contentType;
+            }
+            assertEquals(first, contentType);
+            response.release();
+            request.release();
+        }
+        assertEquals("application/json;charset=UTF-8", first);
+        // producible media types and the selected converter, on the first request only
+        assertEquals(2, converter.canWriteCount);
+    }
+
+    @Test
+    public void notAcceptableNotCached() throws Exception {
+        FullHttpRequest request = request("");
+        request.headers().set(HttpHeaderNames.ACCEPT, "text/html");
+        try {
+            processor.writeWithMessageConverters(Collections.singletonMap("n", 1), request, new HttpResponseImpl());
+            fail("Expected HttpMediaTypeNotAcceptableException");
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            assertEquals(0, processor.getCacheSize());
+        } finally {
+            request.release();
+        }
+    }
+
+    @Test
+    public void distinctAcceptValuesEvictOldestSelections() throws Exception {
+        for (int i = 0; i < AbstractMessageConverterMethodProcessor.MAX_CACHE_SIZE + 10; i++) {
+            write("application/json;v=" + i);
+        }
+        assertEquals(AbstractMessageConverterMethodProcessor.MAX_CACHE_SIZE, processor.getCacheSize());
+
+        // a new negotiation is still cached
+        write("application/json");
+        int canWriteCount = converter.canWriteCount;
+        write("application/json");
+        assertEquals(canWriteCount, converter.canWriteCount);
+    }
+
+    private void write(String accept) throws Exception {
+        FullHttpRequest request = request("");
+        request.headers().set(HttpHeaderNames.ACCEPT, accept);
+        HttpResponseImpl response = new HttpResponseImpl();
+        processor.writeWithMessageConverters(Collections.singletonMap("n", 1), request, response);
+        response.release();
+        request.release();
+    }
+
+    private static FullHttpRequest request(String body) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/",
+                Unpooled.copiedBuffer(body, CharsetUtil.UTF_8));
+    }
+
+    private static class CountingConverter extends MappingJackson2HttpMessageConverter {
+
+        int canReadCount;
+
+        int canWriteCount;
+
+        CountingConverter() {
+            super(new ObjectMapper());
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            canReadCount++;
+            return super.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            canWriteCount++;
+            return super.canWrite(clazz, mediaType);
+        }
+    }
+}
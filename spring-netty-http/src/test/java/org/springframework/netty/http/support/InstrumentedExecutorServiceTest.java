@@ -0,0 +1,74 @@
+package org.springframework.netty.http.support;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author thinking
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class InstrumentedExecutorServiceTest {
+
+    @Test
+    public void countsSubmittedCompletedAndInFlight() throws Exception {
+        InstrumentedExecutorService executor = new InstrumentedExecutorService(Executors.newFixedThreadPool(2));
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        assertEquals(3, executor.getSubmittedCount());
+        assertEquals(3, executor.getInFlightCount());
+        assertEquals(0, executor.getCompletedCount());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getInFlightCount());
+        assertEquals(3, executor.getCompletedCount());
+    }
+
+    @Test
+    public void rejectedTaskIsNotInFlight() {
+        ExecutorService delegate = Executors.newSingleThreadExecutor();
+        delegate.shutdown();
+        InstrumentedExecutorService executor = new InstrumentedExecutorService(delegate);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            fail("expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        }
+        assertEquals(0, executor.getSubmittedCount());
+        assertEquals(0, executor.getInFlightCount());
+    }
+
+    @Test
+    public void virtualThreadsOnlyWhenSupported() throws Exception {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        assertEquals(VirtualThreads.isSupported(), executor != null);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}